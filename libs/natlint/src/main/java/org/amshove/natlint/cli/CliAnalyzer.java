@@ -8,6 +8,7 @@ import org.amshove.natlint.editorconfig.EditorConfigParser;
 import org.amshove.natlint.linter.LinterContext;
 import org.amshove.natlint.linter.NaturalLinter;
 import org.amshove.natparse.IDiagnostic;
+import org.amshove.natparse.ParsePhase;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.infrastructure.ActualFilesystem;
 import org.amshove.natparse.lexing.Lexer;
@@ -24,6 +25,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public class CliAnalyzer
 {
@@ -97,13 +99,14 @@ public class CliAnalyzer
 	private final AtomicInteger totalDiagnostics = new AtomicInteger();
 	private final AtomicInteger exceptions = new AtomicInteger();
 	private final AtomicLong linesOfCode = new AtomicLong();
+	private final AtomicLongArray parsePhaseNanos = new AtomicLongArray(ParsePhase.values().length);
 	private long maxMemoryInBytes = 0L;
 
 	private int analyze(Path projectFilePath)
 	{
 		var indexStartTime = System.currentTimeMillis();
 		var project = new BuildFileProjectReader(filesystem).getNaturalProject(projectFilePath);
-		new NaturalProjectFileIndexer().indexProject(project);
+		new NaturalProjectFileIndexer().indexProjectInParallel(project);
 		var indexEndTime = System.currentTimeMillis();
 
 		var startCheck = System.currentTimeMillis();
@@ -202,6 +205,12 @@ public class CliAnalyzer
 		System.out.println("Slowest parsed module: " + slowestParsedModule);
 		System.out.println("Slowest linted module: " + (disableLinting ? "disabled" : slowestLintedModule));
 		System.out.println();
+		System.out.println("Parse phases:");
+		for (var phase : ParsePhase.values())
+		{
+			System.out.printf("  %-20s %d ms%n", phase, parsePhaseNanos.get(phase.ordinal()) / 1_000_000);
+		}
+		System.out.println();
 		System.out.printf("Peak memory usage: %.2f Mib%n", maxMemoryInBytes / 1024.0 / 1024.0);
 		var gcs = 0L;
 		var gcTime = 0L;
@@ -230,9 +239,9 @@ public class CliAnalyzer
 	{
 		try
 		{
-			var lexer = new Lexer();
+			var lexer = new Lexer().internSymbolsIn(file.getSymbolPool());
 			var lexStart = System.currentTimeMillis();
-			var tokens = lexer.lex(filesystem.readFile(file.getPath()), file.getPath());
+			var tokens = lexer.lex(filesystem.readSource(file.getPath()), file.getPath());
 			var lexEnd = System.currentTimeMillis();
 			countLinesOfCode(tokens);
 			if (slowestLexedModule.milliseconds < lexEnd - lexStart)
@@ -283,6 +292,7 @@ public class CliAnalyzer
 			{
 				slowestParsedModule = new SlowestModule(parseEnd - parseStart, file.getProjectRelativePath().toString());
 			}
+			module.parsePhaseTimings().durations().forEach((phase, duration) -> parsePhaseNanos.addAndGet(phase.ordinal(), duration.toNanos()));
 
 			var diagnostics = filterDiagnostics(module.diagnostics());
 			fileStatusSink.printDiagnostics(file.getPath(), MessageType.PARSE_FAILED, diagnostics);
@@ -1,6 +1,7 @@
 package org.amshove.natlint.linter;
 
 import org.amshove.natlint.api.LinterDiagnostic;
+import org.amshove.natparse.ICancellationToken;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.natural.*;
 
@@ -9,6 +10,15 @@ import java.util.ArrayList;
 public class NaturalLinter
 {
 	public ReadOnlyList<LinterDiagnostic> lint(INaturalModule module)
+	{
+		return lint(module, ICancellationToken.NONE);
+	}
+
+	/**
+	 * Lints the module like {@link #lint(INaturalModule)}, but stops with a
+	 * {@link java.util.concurrent.CancellationException} as soon as the token requests cancellation.
+	 */
+	public ReadOnlyList<LinterDiagnostic> lint(INaturalModule module, ICancellationToken cancellationToken)
 	{
 		var linterContext = LinterContext.INSTANCE;
 		var diagnostics = new ArrayList<LinterDiagnostic>();
@@ -18,29 +28,34 @@ public class NaturalLinter
 		linterContext.beforeAnalyzing(analyzeContext);
 
 		linterContext.analyzeModule(module, analyzeContext);
-		analyze(module.syntaxTree(), analyzeContext, linterContext);
+		analyze(module.syntaxTree(), analyzeContext, linterContext, cancellationToken);
 
 		linterContext.afterAnalyzing(analyzeContext);
 
 		return ReadOnlyList.from(diagnostics);
 	}
 
-	private void analyze(ISyntaxTree syntaxTree, AnalyzeContext analyzeContext, LinterContext linterContext)
+	private void analyze(ISyntaxTree syntaxTree, AnalyzeContext analyzeContext, LinterContext linterContext, ICancellationToken cancellationToken)
 	{
 		for (var descendant : syntaxTree.descendants())
 		{
+			if (descendant instanceof IStatementNode)
+			{
+				cancellationToken.throwIfCancellationRequested();
+			}
+
 			linterContext.analyze(descendant, analyzeContext);
 			var hasDescended = false;
 			if (!(descendant instanceof ITokenNode)) // perf: TokenNodes don't have descendants
 			{
 				hasDescended = true;
-				analyze(descendant, analyzeContext, linterContext);
+				analyze(descendant, analyzeContext, linterContext, cancellationToken);
 			}
 
 			if (descendant instanceof IGroupNode // But groups do have descendants :-)
 				&& !hasDescended)
 			{
-				analyze(descendant, analyzeContext, linterContext);
+				analyze(descendant, analyzeContext, linterContext, cancellationToken);
 			}
 		}
 	}
@@ -21,7 +21,8 @@ public record CodeCompletionContext(
 {
 	public static CodeCompletionContext create(LanguageServerFile file, Position position)
 	{
-		var module = file.module();
+		var snapshot = file.snapshot();
+		var module = snapshot.module();
 		var semanticPosition = SemanticPosition.STATEMENTS;
 		if (module instanceof IHasDefineData hasDefineData && hasDefineData.defineData() != null
 			&& hasDefineData.defineData().enclosesPosition(position.getLine(), position.getCharacter()))
@@ -29,7 +30,7 @@ public record CodeCompletionContext(
 			semanticPosition = SemanticPosition.DEFINE_DATA;
 		}
 
-		var tokens = file.tokens().toList();
+		var tokens = snapshot.tokens().stream().toList();
 		var tokenAtPosition = NodeUtil.findTokenOnOrBeforePosition(tokens, position.getLine(), position.getCharacter());
 		var previousToken = NodeUtil.findTokenOnOrBeforePosition(tokens, tokenAtPosition.line(), tokenAtPosition.offsetInLine() - 1);
 		if (tokenAtPosition.line() < position.getLine())
@@ -112,7 +112,7 @@ public class NaturalLanguageService implements LanguageClientAware
 
 		progressMonitor.progress("Indexing Natural files", 40);
 		var indexer = new NaturalProjectFileIndexer();
-		indexer.indexProject(project);
+		indexer.indexProjectInParallel(project);
 		this.project = project;
 		languageServerProject = LanguageServerProject.fromProject(project);
 		if (!getConfig().getInitialization().isAsync())
@@ -305,14 +305,12 @@ public class NaturalLanguageService implements LanguageClientAware
 
 	public LanguageServerFile findNaturalFile(TextDocumentIdentifier identifier)
 	{
-		var naturalFile = project.findModule(LspUtil.uriToPath(identifier.getUri()));
-		return naturalFile == null ? null : languageServerProject.findFile(naturalFile);
+		return languageServerProject.findFileByUri(identifier.getUri());
 	}
 
 	public LanguageServerFile findNaturalFile(Path path)
 	{
-		var naturalFile = project.findModule(path);
-		return naturalFile == null ? null : languageServerProject.findFile(naturalFile);
+		return languageServerProject.findFile(path);
 	}
 
 	public void publishDiagnostics(LanguageServerFile file)
@@ -1,11 +1,13 @@
 package org.amshove.natls.project;
 
+import org.amshove.natlint.api.LinterDiagnostic;
 import org.amshove.natlint.linter.NaturalLinter;
 import org.amshove.natls.DiagnosticOriginalUri;
 import org.amshove.natls.DiagnosticTool;
 import org.amshove.natls.languageserver.LspUtil;
 import org.amshove.natls.progress.IProgressMonitor;
 import org.amshove.natls.progress.NullProgressMonitor;
+import org.amshove.natparse.ICancellationToken;
 import org.amshove.natparse.IDiagnostic;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.lexing.Lexer;
@@ -16,11 +18,12 @@ import org.amshove.natparse.natural.ddm.IDataDefinitionModule;
 import org.amshove.natparse.natural.project.NaturalFile;
 import org.amshove.natparse.natural.project.NaturalFileType;
 import org.amshove.natparse.natural.project.NaturalProgrammingMode;
+import org.amshove.natparse.parsing.DdmCache;
+import org.amshove.natparse.parsing.DefineDataCache;
 import org.amshove.natparse.parsing.DefineDataParser;
 import org.amshove.natparse.parsing.IModuleProvider;
 import org.amshove.natparse.parsing.NaturalModuleBuilder;
 import org.amshove.natparse.parsing.NaturalParser;
-import org.amshove.natparse.parsing.ddm.DdmParser;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
@@ -34,6 +37,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
 public class LanguageServerFile implements IModuleProvider
@@ -41,14 +48,26 @@ public class LanguageServerFile implements IModuleProvider
 	private static final Logger log = LoggerFactory.getLogger(LanguageServerFile.class);
 	private final NaturalFile file;
 	private final Map<String, List<Diagnostic>> diagnosticsByTool = new HashMap<>();
-	private INaturalModule module;
+	private volatile ModuleSnapshot snapshot = ModuleSnapshot.EMPTY;
+	/**
+	 * Incremented by every parse, so that a parse that is still running notices that it has been superseded.
+	 */
+	private final AtomicLong parseGeneration = new AtomicLong();
+	/**
+	 * Every parse takes over the module published by the one before, so parses of the same file must not run at the
+	 * same time.
+	 */
+	private final ReentrantLock parseLock = new ReentrantLock();
 	private LanguageServerLibrary library;
-	private final Set<LanguageServerFile> outgoingReferences = new HashSet<>();
-	private final Set<LanguageServerFile> incomingReferences = new HashSet<>();
-	private TokenList tokens;
+	private final Set<LanguageServerFile> outgoingReferences = ConcurrentHashMap.newKeySet();
+	private final Set<LanguageServerFile> incomingReferences = ConcurrentHashMap.newKeySet();
 
 	private byte[] defineDataHash;
 	private boolean hasBeenAnalyzed;
+	/**
+	 * Only open files are edited, so only their tokens keep what the lexer needs to relex changed lines.
+	 */
+	private volatile boolean isOpen;
 
 	public LanguageServerFile(NaturalFile file)
 	{
@@ -107,6 +126,7 @@ public class LanguageServerFile implements IModuleProvider
 
 	public void open()
 	{
+		isOpen = true;
 		// Always reparse on open. In the past, some files weren't analyzed correctly because
 		// they've been parsed on another path. This resulted in diagnostics not showing up.
 		parse(ParseStrategy.WITHOUT_CALLERS);
@@ -119,6 +139,7 @@ public class LanguageServerFile implements IModuleProvider
 
 	public void close()
 	{
+		isOpen = false;
 		//		module = null;
 		//		clearDiagnosticsByTool(DiagnosticTool.NATPARSE);
 	}
@@ -174,7 +195,7 @@ public class LanguageServerFile implements IModuleProvider
 	private boolean hasToReparseCallers(String newSource)
 	{
 		var tooManyCallers = incomingReferences.size() > 20;
-		if (!tooManyCallers && module.file().getFiletype() == NaturalFileType.COPYCODE)
+		if (!tooManyCallers && file.getFiletype() == NaturalFileType.COPYCODE)
 		{
 			return true;
 		}
@@ -190,8 +211,9 @@ public class LanguageServerFile implements IModuleProvider
 	{
 		try
 		{
-			var previousCallers = module != null ? module.callers() : ReadOnlyList.<IModuleReferencingNode> from(List.of());
-			reparseWithoutAnalyzing(source);
+			var previousModule = snapshot.module();
+			var previousCallers = previousModule != null ? previousModule.callers() : ReadOnlyList.<IModuleReferencingNode> from(List.of());
+			reparseWithoutAnalyzing(source, ICancellationToken.NONE);
 
 			analyze();
 			hasBeenAnalyzed = true;
@@ -202,12 +224,17 @@ public class LanguageServerFile implements IModuleProvider
 			}
 			else
 			{
+				var module = snapshot.module();
 				for (var previousCaller : previousCallers)
 				{
 					module.addCaller(previousCaller);
 				}
 			}
 		}
+		catch (CancellationException e)
+		{
+			// A newer parse has started, which takes care of the diagnostics
+		}
 		catch (Exception e)
 		{
 			log.error("Error during parseAndAnalyze <%s>".formatted(file.getPath()), e);
@@ -227,14 +254,32 @@ public class LanguageServerFile implements IModuleProvider
 	private void analyze()
 	{
 		clearDiagnosticsByTool(DiagnosticTool.NATLINT);
+		var module = snapshot.module();
+		if (module == null)
+		{
+			// The parse has been cancelled
+			return;
+		}
+
 		if (module.programmingMode() == NaturalProgrammingMode.REPORTING)
 		{
 			// Reporting mode not supported by natparse
 			return;
 		}
 
+		// The diagnostics are outdated as soon as the file gets parsed again, which also analyzes it
+		var generation = parseGeneration.get();
 		var linter = new NaturalLinter();
-		var linterDiagnostics = linter.lint(module);
+		ReadOnlyList<LinterDiagnostic> linterDiagnostics;
+		try
+		{
+			linterDiagnostics = linter.lint(module, () -> parseGeneration.get() != generation);
+		}
+		catch (CancellationException e)
+		{
+			return;
+		}
+
 		for (var linterDiagnostic : linterDiagnostics)
 		{
 			addDiagnostic(DiagnosticTool.NATLINT, linterDiagnostic);
@@ -249,8 +294,8 @@ public class LanguageServerFile implements IModuleProvider
 	public void reparseCallers(IProgressMonitor monitor)
 	{
 		monitor.progress("Parsing callers", 0);
+		// The callers register themselves again when they're reparsed, or keep their references when cancelled
 		var callers = new ArrayList<>(incomingReferences);
-		incomingReferences.clear();
 		// TODO: Add LSP Progress
 		for (var languageServerFile : callers)
 		{
@@ -269,7 +314,11 @@ public class LanguageServerFile implements IModuleProvider
 
 			try
 			{
-				languageServerFile.reparseWithoutAnalyzing();
+				languageServerFile.reparseWithoutAnalyzing(monitor::isCancellationRequested);
+			}
+			catch (CancellationException e)
+			{
+				break;
 			}
 			catch (Exception e)
 			{
@@ -288,18 +337,36 @@ public class LanguageServerFile implements IModuleProvider
 		}
 	}
 
-	private void reparseWithoutAnalyzing() throws IOException
+	private void reparseWithoutAnalyzing(ICancellationToken cancellationToken) throws IOException
 	{
-		reparseWithoutAnalyzing(Files.readString(file.getPath()));
+		reparseWithoutAnalyzing(Files.readString(file.getPath()), cancellationToken);
 	}
 
-	private void reparseWithoutAnalyzing(String source)
+	/**
+	 * Parses the source and publishes the result. The parse is cancelled when the token requests it or when another
+	 * parse of this file starts in the meantime, because then its result isn't needed anymore. A cancelled parse
+	 * destroys what it has parsed so far and leaves the published module as it is.
+	 */
+	private void reparseWithoutAnalyzing(String source, ICancellationToken cancellationToken)
 	{
-		hasBeenAnalyzed = false;
-		if (module != null)
+		var generation = parseGeneration.incrementAndGet();
+		ICancellationToken supersededOrCancelled = () -> parseGeneration.get() != generation || cancellationToken.isCancellationRequested();
+		parseLock.lock();
+		try
+		{
+			// A newer parse might have been started while waiting for the previous one to finish
+			supersededOrCancelled.throwIfCancellationRequested();
+			parseAndPublish(source, generation, supersededOrCancelled);
+		}
+		finally
 		{
-			destroyPresentNodes();
+			parseLock.unlock();
 		}
+	}
+
+	private void parseAndPublish(String source, long generation, ICancellationToken cancellationToken)
+	{
+		hasBeenAnalyzed = false;
 
 		// Evict ourselves from cached module references, as we're about to parse outgoing
 		// references by parsed Nodes.
@@ -309,41 +376,131 @@ public class LanguageServerFile implements IModuleProvider
 			ModuleReferenceCache.evictMyReferences(this);
 		}
 
-		outgoingReferences.forEach(ref -> ref.removeIncomingReference(this));
-		outgoingReferences.clear(); // Will be re-added during parse
-		clearDiagnosticsByTool(DiagnosticTool.NATPARSE);
-
-		var lexer = new Lexer();
-		tokens = lexer.lex(source, file.getPath());
-		var parser = new NaturalParser(this);
+		var previous = snapshot;
+		// Perf: Only relex the changed lines if we've already lexed this file before. Files that aren't open keep no
+		// relex state, as it would cost memory for every module of the workspace.
+		var lexer = Lexer.pooled().internSymbolsIn(file.getSymbolPool());
+		TokenList tokens;
+		if (!isOpen)
+		{
+			tokens = lexer.lex(source, file.getPath());
+		}
+		else
+			if (previous.tokens() != null && previous.tokens().filePath().equals(file.getPath()))
+			{
+				tokens = lexer.relex(previous.tokens(), source);
+			}
+			else
+			{
+				tokens = lexer.keepRelexState().lex(source, file.getPath());
+			}
+		// The references and diagnostics of the published module are only replaced when its successor is published
+		var calledFiles = ConcurrentHashMap.<LanguageServerFile> newKeySet();
+		var parser = new NaturalParser(collectingCalledFilesInto(calledFiles), cancellationToken);
+
+		// Perf: Reparsing takes over the DEFINE DATA of the previous module if it hasn't changed.
+		// The previous module is only destroyed after the new one is published, because requests might still read it.
+		// A finished parse is published even if a newer one has started, because the newer one continues from it.
+		var module = previous.module() != null
+			? parser.reparse(file, tokens, previous.module(), m -> publish(m, tokens))
+			: parser.parse(file, tokens);
+		if (previous.module() == null)
+		{
+			publish(module, tokens);
+		}
 
-		module = parser.parse(file, tokens);
+		replaceOutgoingReferences(calledFiles);
+		clearDiagnosticsByTool(DiagnosticTool.NATPARSE);
 		for (var diagnostic : module.diagnostics())
 		{
 			addDiagnostic(DiagnosticTool.NATPARSE, diagnostic);
 		}
+
+		if (parseGeneration.get() != generation)
+		{
+			// The newer parse takes care of analyzing
+			throw new CancellationException();
+		}
 	}
 
-	private void destroyPresentNodes()
+	/**
+	 * Returns a module provider for parsing this file, which records the called files instead of registering them as
+	 * references right away.
+	 */
+	private IModuleProvider collectingCalledFilesInto(Set<LanguageServerFile> calledFiles)
 	{
-		if (module instanceof IHasDefineData hasDefineData && hasDefineData.defineData() != null)
+		return new IModuleProvider()
 		{
-			hasDefineData.defineData().descendants().forEach(ISyntaxNode::destroy);
+			@Override
+			public INaturalModule findNaturalModule(String referableName, NaturalFileType requestedType)
+			{
+				var calledFile = library.provideNaturalModule(referableName, true, requestedType);
+				if (calledFile == null)
+				{
+					return null;
+				}
+
+				calledFiles.add(calledFile);
+				return calledFile.parseDefineDataOnly();
+			}
+
+			@Override
+			public INaturalModule peekNaturalModule(String referableName, NaturalFileType requestedType)
+			{
+				return LanguageServerFile.this.peekNaturalModule(referableName, requestedType);
+			}
+
+			@Override
+			public IDataDefinitionModule findDdm(String referableName)
+			{
+				return LanguageServerFile.this.findDdm(referableName);
+			}
+		};
+	}
+
+	private void replaceOutgoingReferences(Set<LanguageServerFile> calledFiles)
+	{
+		for (var previouslyCalledFile : outgoingReferences)
+		{
+			if (!calledFiles.contains(previouslyCalledFile))
+			{
+				previouslyCalledFile.removeIncomingReference(this);
+				outgoingReferences.remove(previouslyCalledFile);
+			}
 		}
 
-		if (module instanceof IModuleWithBody hasBody && hasBody.body() != null)
+		for (var calledFile : calledFiles)
 		{
-			hasBody.body().destroy();
+			addOutgoingReference(calledFile);
+			calledFile.addIncomingReference(this);
+			calledFile.removeDestroyedCallersFrom(this);
 		}
 	}
 
-	public INaturalModule module(ParseStrategy strategy)
+	/**
+	 * Returns the current snapshot of this file, which is parsed first if it hasn't been parsed completely yet.<br/>
+	 * Prefer this over calling {@link #module()} and {@link #tokens()} one after another when both are needed, because a
+	 * parse might publish a new snapshot in between.
+	 */
+	public ModuleSnapshot snapshot(ParseStrategy strategy)
 	{
-		if (module == null || module.syntaxTree() == null) // TODO: Use parsed flag to determine if its only partial parsed. SyntaxTree is conveniently null currently, but that's not reliable
+		var current = snapshot;
+		if (current.module() == null || current.module().syntaxTree() == null) // TODO: Use parsed flag to determine if its only partial parsed. SyntaxTree is conveniently null currently, but that's not reliable
 		{
 			parse(strategy);
+			current = snapshot;
 		}
-		return module;
+		return current;
+	}
+
+	public ModuleSnapshot snapshot()
+	{
+		return snapshot(ParseStrategy.WITH_CALLERS);
+	}
+
+	public INaturalModule module(ParseStrategy strategy)
+	{
+		return snapshot(strategy).module();
 	}
 
 	public INaturalModule module()
@@ -351,27 +508,52 @@ public class LanguageServerFile implements IModuleProvider
 		return module(ParseStrategy.WITH_CALLERS);
 	}
 
+	private synchronized void publish(INaturalModule module, TokenList tokens)
+	{
+		if (tokens != null)
+		{
+			// Materializing tokens writes to the token list, which readers of the snapshot must not do concurrently
+			tokens.allTokens();
+		}
+		snapshot = snapshot.next(module, tokens);
+	}
+
+	/**
+	 * Publishes the module, unless another one has been published since {@code expected} was read.
+	 */
+	private synchronized boolean publishIfCurrent(ModuleSnapshot expected, INaturalModule module, TokenList tokens)
+	{
+		if (snapshot != expected)
+		{
+			return false;
+		}
+
+		publish(module, tokens);
+		return true;
+	}
+
 	// TODO(cyclic-dependencies):
 	//   Currently necessary for dependency loops which would cause a stack overflow. e.g. MOD1 -> MOD2 -> MOD1 ...
 	//   Solution might be to instantiate modules while indexing, only replacing stuff with the parser
 	private INaturalModule parseDefineDataOnly()
 	{
-		if (module != null)
+		var current = snapshot;
+		if (current.module() != null)
 		{
-			return module;
+			return current.module();
 		}
 
 		try
 		{
-			var source = Files.readString(file.getPath());
-			var lexer = new Lexer();
-			tokens = lexer.lex(source, file.getPath());
+			// Only the tokens up to END-DEFINE are lexed, so they're not kept as the tokens of this file
+			var defineDataTokens = DefineDataCache.of(file).defineDataTokens(file);
 			var defineDataParser = new DefineDataParser(this);
-			var definedata = defineDataParser.parse(tokens);
+			var definedata = defineDataParser.parse(defineDataTokens);
 			var moduleBuilder = new NaturalModuleBuilder(file);
 			moduleBuilder.setDefineData(definedata.result());
-			moduleBuilder.setComments(tokens.comments());
-			this.module = moduleBuilder.build();
+			moduleBuilder.setComments(defineDataTokens.comments());
+			// A parse might have published the whole module in the meantime, which must not be replaced
+			publishIfCurrent(current, moduleBuilder.build(), current.tokens());
 		}
 		catch (Exception e)
 		{
@@ -388,7 +570,7 @@ public class LanguageServerFile implements IModuleProvider
 			);
 		}
 
-		return module;
+		return snapshot.module();
 	}
 
 	void setLibrary(LanguageServerLibrary library)
@@ -425,6 +607,16 @@ public class LanguageServerFile implements IModuleProvider
 		return calledFile.parseDefineDataOnly();
 	}
 
+	/**
+	 * Returns the module of the file that is currently published, without parsing it or registering any reference.
+	 */
+	@Override
+	public INaturalModule peekNaturalModule(String referableName, NaturalFileType requestedType)
+	{
+		var calledFile = library.provideNaturalModule(referableName, true, requestedType);
+		return calledFile != null ? calledFile.snapshot.module() : null;
+	}
+
 	@Override
 	public IDataDefinitionModule findDdm(String referableName)
 	{
@@ -436,7 +628,8 @@ public class LanguageServerFile implements IModuleProvider
 
 		try
 		{
-			return new DdmParser().parseDdm(Files.readString(calledFile.getPath()));
+			var ddmFile = calledFile.getNaturalFile();
+			return DdmCache.of(ddmFile).ddm(ddmFile);
 		}
 		catch (IOException e)
 		{
@@ -452,6 +645,7 @@ public class LanguageServerFile implements IModuleProvider
 
 	private void removeIncomingReference(LanguageServerFile caller)
 	{
+		var module = snapshot.module();
 		if (module != null)
 		{
 			for (var callerNode : module.callers())
@@ -466,6 +660,27 @@ public class LanguageServerFile implements IModuleProvider
 		incomingReferences.remove(caller);
 	}
 
+	/**
+	 * Removes the nodes of a replaced module of the caller, which the published module of this file might have taken
+	 * over from its predecessor. Destroyed nodes don't reference a module anymore.
+	 */
+	private void removeDestroyedCallersFrom(LanguageServerFile caller)
+	{
+		var module = snapshot.module();
+		if (module == null)
+		{
+			return;
+		}
+
+		for (var callerNode : module.callers())
+		{
+			if (callerNode.reference() == null && callerNode.referencingToken().filePath().equals(caller.file.getPath()))
+			{
+				module.removeCaller(callerNode);
+			}
+		}
+	}
+
 	void addOutgoingReference(LanguageServerFile calledModule)
 	{
 		outgoingReferences.add(calledModule);
@@ -515,12 +730,14 @@ public class LanguageServerFile implements IModuleProvider
 	 */
 	public Stream<SyntaxToken> tokens()
 	{
-		if (tokens == null)
+		var current = snapshot;
+		if (current.tokens() == null)
 		{
 			parse(ParseStrategy.WITHOUT_CALLERS);
+			current = snapshot;
 		}
 
-		return tokens.stream();
+		return current.tokens().stream();
 	}
 
 	public ReadOnlyList<Diagnostic> diagnosticsInFileOfType(String id)
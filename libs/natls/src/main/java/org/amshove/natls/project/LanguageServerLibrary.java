@@ -3,12 +3,15 @@ package org.amshove.natls.project;
 import org.amshove.natparse.natural.project.NaturalFile;
 import org.amshove.natparse.natural.project.NaturalFileType;
 import org.amshove.natparse.natural.project.NaturalLibrary;
+import org.amshove.natparse.natural.project.ResolutionTable;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class LanguageServerLibrary
@@ -17,13 +20,24 @@ public class LanguageServerLibrary
 	private final Map<String, List<LanguageServerFile>> filesByReferableName;
 	private final Map<String, LanguageServerFile> ddmsByReferableName;
 	private final List<LanguageServerLibrary> stepLibs = new ArrayList<>();
+	// Contains the same files as filesByReferableName, which lets files() return them without copying
+	private final Map<Path, LanguageServerFile> filesByPath = new ConcurrentHashMap<>();
+	private LanguageServerProject project;
+	// Libraries that have this library as steplib, which have to forget resolved names when files of this library change
+	private final List<LanguageServerLibrary> dependentLibraries = new ArrayList<>();
+	private final ResolutionTable<LanguageServerFile> moduleResolution = new ResolutionTable<>();
+	private final ResolutionTable<LanguageServerFile> ddmResolution = new ResolutionTable<>();
 
 	public LanguageServerLibrary(NaturalLibrary library, Map<String, List<LanguageServerFile>> filesByReferableName, Map<String, LanguageServerFile> ddmsByReferableName)
 	{
 		this.library = library;
 		this.filesByReferableName = filesByReferableName;
 		this.ddmsByReferableName = ddmsByReferableName;
-		filesByReferableName.values().forEach(files -> files.forEach(f -> f.setLibrary(this)));
+		filesByReferableName.values().forEach(files -> files.forEach(f ->
+		{
+			f.setLibrary(this);
+			filesByPath.put(f.getPath(), f);
+		}));
 	}
 
 	public String name()
@@ -68,12 +82,31 @@ public class LanguageServerLibrary
 		return filesOfType;
 	}
 
+	/**
+	 * Returns all files of this library except DDMs. The returned collection can't be modified, but reflects files
+	 * being added, removed and renamed.
+	 */
 	public Collection<LanguageServerFile> files()
 	{
-		return filesByReferableName.values().stream().flatMap(Collection::stream).toList();
+		return Collections.unmodifiableCollection(filesByPath.values());
+	}
+
+	void setProject(LanguageServerProject project)
+	{
+		this.project = project;
 	}
 
 	LanguageServerFile provideNaturalModule(String referableName, boolean includeStepLibs, NaturalFileType requestedType)
+	{
+		if (includeStepLibs)
+		{
+			return moduleResolution.resolve(referableName, requestedType, (name, type) -> resolveNaturalModule(name, true, type));
+		}
+
+		return resolveNaturalModule(referableName, false, requestedType);
+	}
+
+	private LanguageServerFile resolveNaturalModule(String referableName, boolean includeStepLibs, NaturalFileType requestedType)
 	{
 		if (filesByReferableName.containsKey(referableName))
 		{
@@ -106,6 +139,16 @@ public class LanguageServerLibrary
 	}
 
 	LanguageServerFile provideDdm(String referableName, boolean includeStepLibs)
+	{
+		if (includeStepLibs)
+		{
+			return ddmResolution.resolve(referableName, NaturalFileType.DDM, (name, __) -> resolveDdm(name, true));
+		}
+
+		return resolveDdm(referableName, false);
+	}
+
+	private LanguageServerFile resolveDdm(String referableName, boolean includeStepLibs)
 	{
 		if (ddmsByReferableName.containsKey(referableName))
 		{
@@ -131,8 +174,15 @@ public class LanguageServerLibrary
 	{
 		for (var stepLib : library.getStepLibs())
 		{
-			stepLibs.add(libraries.get(stepLib.getName()));
+			var languageServerStepLib = libraries.get(stepLib.getName());
+			stepLibs.add(languageServerStepLib);
+			if (languageServerStepLib != null)
+			{
+				languageServerStepLib.dependentLibraries.add(this);
+			}
 		}
+		moduleResolution.clear();
+		ddmResolution.clear();
 	}
 
 	public List<LanguageServerLibrary> getStepLibs()
@@ -153,8 +203,48 @@ public class LanguageServerLibrary
 	{
 		filesByReferableName.computeIfAbsent(languageServerFile.getReferableName(), __ -> new ArrayList<>())
 			.add(languageServerFile);
+		filesByPath.put(languageServerFile.getPath(), languageServerFile);
 		languageServerFile.setLibrary(this);
 		library.addFile(languageServerFile.getNaturalFile());
+		invalidateResolution(languageServerFile.getReferableName());
+		if (project != null)
+		{
+			project.fileAdded(languageServerFile);
+		}
+	}
+
+	private void removeFilesByReferableName(String referableName)
+	{
+		var removedFiles = filesByReferableName.remove(referableName);
+		if (removedFiles == null)
+		{
+			return;
+		}
+
+		invalidateResolution(referableName);
+
+		for (var removedFile : removedFiles)
+		{
+			filesByPath.remove(removedFile.getPath(), removedFile);
+			if (project != null)
+			{
+				project.fileRemoved(removedFile);
+			}
+		}
+	}
+
+	/**
+	 * Lets this library and the libraries having it as steplib resolve the name again.
+	 */
+	private void invalidateResolution(String referableName)
+	{
+		moduleResolution.invalidate(referableName);
+		ddmResolution.invalidate(referableName);
+		for (var dependentLibrary : dependentLibraries)
+		{
+			dependentLibrary.moduleResolution.invalidate(referableName);
+			dependentLibrary.ddmResolution.invalidate(referableName);
+		}
 	}
 
 	NaturalLibrary getLibrary()
@@ -169,7 +259,8 @@ public class LanguageServerLibrary
 
 	public List<LanguageServerFile> findFilesByReferableName(String referableName)
 	{
-		return filesByReferableName.computeIfAbsent(referableName, __ -> new ArrayList<>());
+		// Doesn't add an empty list for unknown names, because modules with that name would then not be resolved from steplibs
+		return filesByReferableName.getOrDefault(referableName, List.of());
 	}
 
 	public void rename(LanguageServerFile oldFile, Path newPath)
@@ -177,7 +268,7 @@ public class LanguageServerLibrary
 
 		var newName = newPath.getFileName().toString().split("\\.")[0];
 		var oldFilesLsLibrary = oldFile.getLibrary();
-		oldFilesLsLibrary.filesByReferableName.remove(oldFile.getReferableName());
+		oldFilesLsLibrary.removeFilesByReferableName(oldFile.getReferableName());
 		var oldNaturalLibrary = oldFilesLsLibrary.getLibrary();
 		var newNaturalFile = new NaturalFile(newName, newPath, oldFile.getType(), oldNaturalLibrary);
 		oldNaturalLibrary.removeFile(oldFile.getNaturalFile());
@@ -188,7 +279,7 @@ public class LanguageServerLibrary
 	public void rename(LanguageServerFile oldFile, String newReferableName)
 	{
 		var oldFilesLsLibrary = oldFile.getLibrary();
-		oldFilesLsLibrary.filesByReferableName.remove(oldFile.getReferableName());
+		oldFilesLsLibrary.removeFilesByReferableName(oldFile.getReferableName());
 		var oldNaturalLibrary = oldFilesLsLibrary.getLibrary();
 		var newNaturalFile = new NaturalFile(newReferableName, oldFile.getPath(), oldFile.getType(), oldNaturalLibrary);
 		oldNaturalLibrary.removeFile(oldFile.getNaturalFile());
@@ -199,6 +290,6 @@ public class LanguageServerLibrary
 	public void remove(LanguageServerFile file)
 	{
 		file.getLibrary().library.removeFile(file.getNaturalFile());
-		file.getLibrary().filesByReferableName.remove(file.getReferableName());
+		file.getLibrary().removeFilesByReferableName(file.getReferableName());
 	}
 }
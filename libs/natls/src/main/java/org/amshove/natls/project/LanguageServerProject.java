@@ -1,6 +1,7 @@
 package org.amshove.natls.project;
 
 import org.amshove.natls.languageserver.LspUtil;
+import org.amshove.natparse.lexing.text.SymbolPool;
 import org.amshove.natparse.natural.project.NaturalFile;
 import org.amshove.natparse.natural.project.NaturalProject;
 import org.amshove.natparse.natural.project.NaturalProjectFileIndexer;
@@ -9,6 +10,7 @@ import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -16,6 +18,9 @@ public class LanguageServerProject
 {
 	private final NaturalProject project;
 	private final Map<String, LanguageServerLibrary> libraries;
+	// Kept up to date by the libraries when files are added, removed or renamed
+	private final Map<Path, LanguageServerFile> filesByPath = new ConcurrentHashMap<>();
+	private final Map<String, LanguageServerFile> filesByUri = new ConcurrentHashMap<>();
 
 	private LanguageServerProject(NaturalProject project, List<LanguageServerLibrary> libraries)
 	{
@@ -24,6 +29,8 @@ public class LanguageServerProject
 		for (var lib : this.libraries.values())
 		{
 			lib.referenceStepLibs(this.libraries);
+			lib.setProject(this);
+			lib.files().forEach(this::fileAdded);
 		}
 	}
 
@@ -39,19 +46,34 @@ public class LanguageServerProject
 
 	public LanguageServerFile findFile(Path filePath)
 	{
-		// TODO(perf): We could inspect the path and skip libraries
-		for (var library : libraries.values())
-		{
-			for (var file : library.files())
-			{
-				if (file.getPath().equals(filePath))
-				{
-					return file;
-				}
-			}
-		}
+		return filesByPath.get(normalize(filePath));
+	}
 
-		return null;
+	/**
+	 * Finds the file by the URI of a request. URIs which are encoded differently than {@link LanguageServerFile#getUri()}
+	 * are resolved by their path.
+	 */
+	public LanguageServerFile findFileByUri(String uri)
+	{
+		var file = filesByUri.get(uri);
+		return file != null ? file : findFile(LspUtil.uriToPath(uri));
+	}
+
+	void fileAdded(LanguageServerFile file)
+	{
+		filesByPath.put(normalize(file.getPath()), file);
+		filesByUri.put(file.getUri(), file);
+	}
+
+	void fileRemoved(LanguageServerFile file)
+	{
+		filesByPath.remove(normalize(file.getPath()), file);
+		filesByUri.remove(file.getUri(), file);
+	}
+
+	private static Path normalize(Path path)
+	{
+		return path.toAbsolutePath().normalize();
 	}
 
 	// Used in tests only
@@ -91,7 +113,7 @@ public class LanguageServerProject
 
 	public long countAllFiles()
 	{
-		return provideAllFiles().count();
+		return libraries.values().stream().mapToLong(l -> l.files().size()).sum();
 	}
 
 	public LanguageServerFile addFile(Path path)
@@ -113,15 +135,23 @@ public class LanguageServerProject
 		return project.getRootPath();
 	}
 
+	/**
+	 * Returns the pool that identifiers of all files within this project are interned in.
+	 */
+	public SymbolPool symbolPool()
+	{
+		return project.getSymbolPool();
+	}
+
 	public void renameFile(String oldUri, String newUri)
 	{
-		var oldFile = findFile(LspUtil.uriToPath(oldUri));
+		var oldFile = findFileByUri(oldUri);
 		oldFile.getLibrary().rename(oldFile, LspUtil.uriToPath(newUri));
 	}
 
 	public void renameReferableModule(String uri, String newReferableName)
 	{
-		var oldFile = findFile(LspUtil.uriToPath(uri));
+		var oldFile = findFileByUri(uri);
 		oldFile.getLibrary().rename(oldFile, newReferableName);
 	}
 }
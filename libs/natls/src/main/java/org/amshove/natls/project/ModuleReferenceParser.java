@@ -3,7 +3,7 @@ package org.amshove.natls.project;
 import org.amshove.natparse.IPosition;
 import org.amshove.natparse.lexing.Lexer;
 import org.amshove.natparse.lexing.SyntaxKind;
-import org.amshove.natparse.lexing.TokenList;
+import org.amshove.natparse.lexing.TokenStream;
 import org.amshove.natparse.natural.project.NaturalFileType;
 
 import java.io.IOException;
@@ -23,7 +23,7 @@ public class ModuleReferenceParser
 		var path = file.getPath();
 		try
 		{
-			var tokens = lexer.lex(Files.readString(path), path);
+			var tokens = lexer.stream(Files.readString(path), path);
 			var calledModules = processReferences(tokens);
 			for (var calledModule : calledModules)
 			{
@@ -45,7 +45,7 @@ public class ModuleReferenceParser
 		}
 	}
 
-	private Set<FoundReference> processReferences(TokenList tokens)
+	private Set<FoundReference> processReferences(TokenStream tokens)
 	{
 		var calledModules = new HashSet<FoundReference>();
 		var definedSubroutines = new HashSet<String>();
@@ -92,7 +92,7 @@ public class ModuleReferenceParser
 		return calledModules;
 	}
 
-	private FoundReference processFunction(TokenList tokens)
+	private FoundReference processFunction(TokenStream tokens)
 	{
 		if (tokens.peek().kind().isIdentifier())
 		{
@@ -102,7 +102,7 @@ public class ModuleReferenceParser
 		return null;
 	}
 
-	private FoundReference processCopycode(TokenList tokens)
+	private FoundReference processCopycode(TokenStream tokens)
 	{
 		tokens.advance(); // include
 		if (tokens.peek().kind().isIdentifier())
@@ -113,7 +113,7 @@ public class ModuleReferenceParser
 		return null;
 	}
 
-	private FoundReference processFetch(TokenList tokens)
+	private FoundReference processFetch(TokenStream tokens)
 	{
 		tokens.advance(); // fetch
 		if (tokens.peek().kind() == SyntaxKind.RETURN || tokens.peek().kind() == SyntaxKind.REPEAT)
@@ -127,7 +127,7 @@ public class ModuleReferenceParser
 		return null; // variable
 	}
 
-	private FoundReference processCallnat(TokenList tokens)
+	private FoundReference processCallnat(TokenStream tokens)
 	{
 		tokens.advance(); // callnat
 		if (tokens.peek().kind() == SyntaxKind.STRING_LITERAL)
@@ -137,7 +137,7 @@ public class ModuleReferenceParser
 		return null; // variable
 	}
 
-	private String processSubroutine(TokenList tokens)
+	private String processSubroutine(TokenStream tokens)
 	{
 		tokens.advance(); // define
 		if (tokens.peek().kind() == SyntaxKind.SUBROUTINE)
@@ -147,7 +147,7 @@ public class ModuleReferenceParser
 		return tokens.peek().symbolName();
 	}
 
-	private FoundReference processUsingOrPerform(TokenList tokens)
+	private FoundReference processUsingOrPerform(TokenStream tokens)
 	{
 		var token = tokens.advance(); // using/perform
 		var fileTypeHint = token.kind() == SyntaxKind.PERFORM
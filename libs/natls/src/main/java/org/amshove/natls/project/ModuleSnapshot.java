@@ -0,0 +1,24 @@
+package org.amshove.natls.project;
+
+import org.amshove.natparse.lexing.TokenList;
+import org.amshove.natparse.natural.INaturalModule;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The state of a {@link LanguageServerFile} after a parse.<br/>
+ * Every parse publishes a new snapshot with a higher version instead of changing the current one. Requests that run
+ * concurrently to a parse keep working on the module and tokens of the snapshot they started with, so the body and
+ * the tokens they see always come from the same parse.<br/>
+ * Not everything reachable from a snapshot is frozen, though: a reparse takes over an unchanged DEFINE DATA of the
+ * previous module, and the references of its variables as well as the callers of the module change whenever other
+ * modules are parsed. Those are safe to read concurrently, but can differ between two reads of the same snapshot.
+ */
+public record ModuleSnapshot(long version, @Nullable INaturalModule module, @Nullable TokenList tokens)
+{
+	static final ModuleSnapshot EMPTY = new ModuleSnapshot(0, null, null);
+
+	ModuleSnapshot next(@Nullable INaturalModule newModule, @Nullable TokenList newTokens)
+	{
+		return new ModuleSnapshot(version + 1, newModule, newTokens);
+	}
+}
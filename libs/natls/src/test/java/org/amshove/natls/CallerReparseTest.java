@@ -1,5 +1,6 @@
 package org.amshove.natls;
 
+import org.amshove.natls.progress.NullProgressMonitor;
 import org.amshove.natls.testlifecycle.LanguageServerTest;
 import org.amshove.natls.testlifecycle.LspProjectName;
 import org.amshove.natls.testlifecycle.LspTestContext;
@@ -92,4 +93,51 @@ class CallerReparseTest extends LanguageServerTest
 			.as("Diagnostic shouldn't be present anymore")
 			.noneMatch(d -> d.getCode().getLeft().equals(ParserError.UNRESOLVED_REFERENCE.id()));
 	}
+
+	@Test
+	void keepTheDiagnosticsAndReferencesOfACallerWhenItsReparseIsCancelled(@LspProjectName("emptyproject") LspTestContext context)
+	{
+		testContext = context;
+
+		var calledFile = createOrSaveLanguageServerFile("LIBONE", "CALLED.NSN", """
+			DEFINE DATA
+			PARAMETER 1 #P (A10)
+			END-DEFINE
+			END
+		""");
+
+		var callingFile = createOrSaveLanguageServerFile("LIBONE", "CALLING.NSN", """
+			DEFINE DATA
+			LOCAL 1 #VAR (A10)
+			END-DEFINE
+			CALLNAT 'CALLED' #VAR
+			WRITE #UNDECLARED
+			WRITE #VAR
+			END
+		""");
+
+		assertThat(callingFile.allDiagnostics())
+			.as("Expected diagnostic not found")
+			.anyMatch(d -> d.getCode().getLeft().equals(ParserError.UNRESOLVED_REFERENCE.id()));
+		assertThat(callingFile.getOutgoingReferences()).contains(calledFile);
+
+		// Cancels the reparse of the caller while its statements are parsed.
+		// The first two checks happen before the parse starts.
+		calledFile.reparseCallers(new NullProgressMonitor()
+		{
+			private int checks;
+
+			@Override
+			public boolean isCancellationRequested()
+			{
+				return ++checks > 2;
+			}
+		});
+
+		assertThat(callingFile.allDiagnostics())
+			.as("Diagnostic of the still published module is missing")
+			.anyMatch(d -> d.getCode().getLeft().equals(ParserError.UNRESOLVED_REFERENCE.id()));
+		assertThat(callingFile.getOutgoingReferences()).contains(calledFile);
+		assertThat(calledFile.getIncomingReferences()).contains(callingFile);
+	}
 }
@@ -0,0 +1,67 @@
+package org.amshove.natls.project;
+
+import org.amshove.natls.testlifecycle.LanguageServerTest;
+import org.amshove.natls.testlifecycle.LspProjectName;
+import org.amshove.natls.testlifecycle.LspTestContext;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class LanguageServerProjectShould extends LanguageServerTest
+{
+	private static LspTestContext testContext;
+
+	@Override
+	protected LspTestContext getContext()
+	{
+		return testContext;
+	}
+
+	@Test
+	void findFilesByPathAndUriUntilTheyAreRemoved(@LspProjectName("emptyproject") LspTestContext context)
+	{
+		testContext = context;
+		var project = context.project();
+
+		var file = createOrSaveLanguageServerFile("LIBONE", "FINDME.NSN", """
+			DEFINE DATA LOCAL
+			END-DEFINE
+			END
+			""");
+
+		assertThat(project.findFile(file.getPath())).isSameAs(file);
+		assertThat(project.findFile(file.getPath().getParent().resolve("..").resolve("LIBONE").resolve("FINDME.NSN"))).isSameAs(file);
+		assertThat(project.findFileByUri(file.getUri())).isSameAs(file);
+		assertThat(file.getLibrary().files()).contains(file);
+		assertThat(context.languageService().findNaturalFile(file.getPath())).isSameAs(file);
+
+		project.removeFile(file);
+
+		assertThat(project.findFile(file.getPath())).isNull();
+		assertThat(project.findFileByUri(file.getUri())).isNull();
+		assertThat(project.libraries().stream().flatMap(l -> l.files().stream()).toList()).doesNotContain(file);
+	}
+
+	@Test
+	void findRenamedFilesByTheirNewPath(@LspProjectName("emptyproject") LspTestContext context)
+	{
+		testContext = context;
+		var project = context.project();
+
+		var file = createOrSaveLanguageServerFile("LIBONE", "OLDNAME.NSN", """
+			DEFINE DATA LOCAL
+			END-DEFINE
+			END
+			""");
+		var newPath = file.getPath().resolveSibling("NEWNAME.NSN");
+
+		project.renameFile(file.getUri(), newPath.toUri().toString());
+
+		assertThat(project.findFile(file.getPath())).isNull();
+		var renamedFile = project.findFile(newPath);
+		assertThat(renamedFile).isNotNull();
+		assertThat(renamedFile.getReferableName()).isEqualTo("NEWNAME");
+		assertThat(project.findFileByUri(newPath.toUri().toString())).isSameAs(renamedFile);
+		assertThat(renamedFile.getLibrary().files()).contains(renamedFile).doesNotContain(file);
+	}
+}
@@ -0,0 +1,50 @@
+package org.amshove.natls.project;
+
+import org.amshove.natls.testlifecycle.LanguageServerTest;
+import org.amshove.natls.testlifecycle.LspProjectName;
+import org.amshove.natls.testlifecycle.LspTestContext;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class ModuleSnapshotShould extends LanguageServerTest
+{
+	private static LspTestContext testContext;
+
+	@Override
+	protected LspTestContext getContext()
+	{
+		return testContext;
+	}
+
+	@Test
+	void beReplacedByANewerSnapshotWhenTheFileChanges(@LspProjectName("emptyproject") LspTestContext context)
+	{
+		testContext = context;
+
+		var file = createOrSaveLanguageServerFile("LIBONE", "SNAPSHOT.NSN", """
+			DEFINE DATA LOCAL
+			1 #VAR (A10)
+			END-DEFINE
+			WRITE #VAR
+			END
+			""");
+
+		var snapshot = file.snapshot();
+		var tokenCount = snapshot.tokens().size();
+
+		file.changed("""
+			DEFINE DATA LOCAL
+			1 #VAR (A10)
+			END-DEFINE
+			WRITE #VAR #VAR
+			END
+			""");
+
+		var newSnapshot = file.snapshot();
+		assertThat(newSnapshot.version()).isGreaterThan(snapshot.version());
+		assertThat(newSnapshot.module()).isNotSameAs(snapshot.module());
+		assertThat(newSnapshot.tokens().size()).isEqualTo(tokenCount + 1);
+		assertThat(snapshot.tokens().size()).isEqualTo(tokenCount);
+	}
+}
@@ -0,0 +1,30 @@
+package org.amshove.natparse;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Lets long-running work like parsing or linting a module stop early when its result isn't needed anymore, e.g.
+ * because the source has changed again in the meantime.<br/>
+ * The work checks the token regularly and aborts with a {@link CancellationException}.
+ */
+@FunctionalInterface
+public interface ICancellationToken
+{
+	/**
+	 * A token that never requests cancellation.
+	 */
+	ICancellationToken NONE = () -> false;
+
+	boolean isCancellationRequested();
+
+	/**
+	 * Throws a {@link CancellationException} if cancellation has been requested.
+	 */
+	default void throwIfCancellationRequested()
+	{
+		if (isCancellationRequested())
+		{
+			throw new CancellationException();
+		}
+	}
+}
@@ -9,6 +9,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
 
 public class NodeUtil
 {
@@ -26,8 +27,17 @@ public class NodeUtil
 			&& module.file().getPath().equals(node.position().filePath());
 	}
 
+	/**
+	 * Returns the last token that starts on or before the given position.<br/>
+	 * The tokens have to be in the order they've been lexed in.
+	 */
 	public static SyntaxToken findTokenOnOrBeforePosition(List<SyntaxToken> tokens, int line, int column)
 	{
+		if (tokens instanceof RandomAccess)
+		{
+			return findTokenOnOrBeforePositionBinary(tokens, line, column);
+		}
+
 		SyntaxToken lastToken = null;
 		for (var token : tokens)
 		{
@@ -46,6 +56,28 @@ public class NodeUtil
 		return lastToken;
 	}
 
+	private static SyntaxToken findTokenOnOrBeforePositionBinary(List<SyntaxToken> tokens, int line, int column)
+	{
+		// searches the first token that starts after the position
+		var low = 0;
+		var high = tokens.size();
+		while (low < high)
+		{
+			var middle = (low + high) >>> 1;
+			var token = tokens.get(middle);
+			if (token.line() > line || (token.line() == line && token.offsetInLine() > column))
+			{
+				high = middle;
+			}
+			else
+			{
+				low = middle + 1;
+			}
+		}
+
+		return low == 0 ? null : tokens.get(low - 1);
+	}
+
 	/**
 	 * Checks whether the module contains the given node. The comparison is done by the DiagnosticPosition, which is
 	 * e.g. the copy code name in an INCLUDE.
@@ -73,6 +105,12 @@ public class NodeUtil
 			return null;
 		}
 
+		var positionIndex = syntaxTree.positionIndex(filePath);
+		if (positionIndex != null)
+		{
+			return positionIndex.findTokenNode(line, character);
+		}
+
 		for (var node : syntaxTree)
 		{
 			if (!node.position().filePath().equals(filePath))
@@ -108,6 +146,13 @@ public class NodeUtil
 	 * contains the {@link ITokenNode}.
 	 */
 	public static @Nullable ISyntaxNode findNodeAtPosition(Path filePath, int line, int character, ISyntaxTree syntaxTree)
+	{
+		return syntaxTree == null
+			? null
+			: findNodeAtPosition(filePath, line, character, syntaxTree, syntaxTree.positionIndex(filePath));
+	}
+
+	private static @Nullable ISyntaxNode findNodeAtPosition(Path filePath, int line, int character, ISyntaxTree syntaxTree, @Nullable PositionIndex positionIndex)
 	{
 		if (syntaxTree == null)
 		{
@@ -116,8 +161,12 @@ public class NodeUtil
 
 		ISyntaxNode previousNode = null;
 
-		for (var node : syntaxTree)
+		var descendants = syntaxTree.descendants();
+		// Descendants in lines before the searched line are only remembered as previous node, so most of them can be skipped
+		var firstDescendant = positionIndex != null ? positionIndex.firstRelevantDescendant(syntaxTree, line) : 0;
+		for (var i = firstDescendant; i < descendants.size(); i++)
 		{
+			var node = descendants.get(i);
 			if (!node.position().filePath().equals(filePath))
 			{
 				continue;
@@ -127,7 +176,7 @@ public class NodeUtil
 			{
 				if (node instanceof IStatementListNode statementListNode)
 				{
-					var descendantFoundNode = findNodeAtPosition(filePath, line, character, statementListNode);
+					var descendantFoundNode = findNodeAtPosition(filePath, line, character, statementListNode, positionIndex);
 					if (descendantFoundNode != null)
 					{
 						return descendantFoundNode;
@@ -145,11 +194,11 @@ public class NodeUtil
 			{
 				if (node instanceof IStatementListNode)
 				{
-					return findNodeAtPosition(filePath, line, character, node);
+					return findNodeAtPosition(filePath, line, character, node, positionIndex);
 				}
 				if (node.descendants().hasItems())
 				{
-					var descendant = findNodeAtPosition(filePath, line, character, node);
+					var descendant = findNodeAtPosition(filePath, line, character, node, positionIndex);
 					if (descendant != null && !(descendant instanceof ITokenNode))
 					{
 						return descendant;
@@ -160,7 +209,7 @@ public class NodeUtil
 
 			if (node.position().line() > line)
 			{
-				return findNodeAtPosition(filePath, line, character, previousNode);
+				return findNodeAtPosition(filePath, line, character, previousNode, positionIndex);
 			}
 
 			previousNode = node;
@@ -177,13 +226,13 @@ public class NodeUtil
 		if (previousNode != null
 			&& previousNode.position().line() < line)
 		{
-			return findNodeAtPosition(filePath, line, character, previousNode);
+			return findNodeAtPosition(filePath, line, character, previousNode, positionIndex);
 		}
 
 		if (previousNode != null
 			&& previousNode.position().line() == line)
 		{
-			return findNodeAtPosition(filePath, line, character, previousNode);
+			return findNodeAtPosition(filePath, line, character, previousNode, positionIndex);
 		}
 
 		return null;
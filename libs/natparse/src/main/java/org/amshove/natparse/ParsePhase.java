@@ -0,0 +1,37 @@
+package org.amshove.natparse;
+
+/**
+ * The phases a module passes through when it gets parsed, in the order they run. Each phase runs at most once per
+ * module, phases that don't apply to a module (e.g. the body phases for data areas) are skipped.
+ */
+public enum ParsePhase
+{
+	/**
+	 * Parsing the DEFINE DATA (and DEFINE FUNCTION) or taking it over from the previous module on a reparse.
+	 */
+	DEFINE_DATA,
+	/**
+	 * Parsing the statements of the body, including the INCLUDEd copycodes.
+	 */
+	STATEMENTS,
+	/**
+	 * Resolving PERFORMs to the subroutines declared in the module or to external subroutines.
+	 */
+	PERFORM_RESOLUTION,
+	/**
+	 * Resolving the variable references of the body to the variables of the DEFINE DATA.
+	 */
+	VARIABLE_RESOLUTION,
+	/**
+	 * Type checking the DEFINE DATA and the body.
+	 */
+	TYPE_CHECK,
+	/**
+	 * Checking the parameters passed to called modules against their DEFINE DATA.
+	 */
+	PARAMETER_CHECK,
+	/**
+	 * Shrinking the syntax tree to the memory it needs.
+	 */
+	COMPACTION
+}
@@ -0,0 +1,64 @@
+package org.amshove.natparse;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The time each {@link ParsePhase} took while parsing a module. Phases that didn't run are not contained.<br/>
+ * The time of a phase doesn't include the time of other phases running within it, e.g. resolving PERFORMs of an
+ * INCLUDEd copycode while parsing the statements.
+ */
+public record ParsePhaseTimings(Map<ParsePhase, Duration> durations)
+{
+	public static final ParsePhaseTimings EMPTY = new ParsePhaseTimings(Map.of());
+
+	public ParsePhaseTimings
+	{
+		var copy = new EnumMap<ParsePhase, Duration>(ParsePhase.class);
+		copy.putAll(durations);
+		durations = Collections.unmodifiableMap(copy);
+	}
+
+	/**
+	 * The phases that ran, in the order they run.
+	 */
+	public Set<ParsePhase> phases()
+	{
+		return durations.keySet();
+	}
+
+	/**
+	 * Returns the time the given phase took or {@link Duration#ZERO} if it didn't run.
+	 */
+	public Duration duration(ParsePhase phase)
+	{
+		return durations.getOrDefault(phase, Duration.ZERO);
+	}
+
+	public Duration total()
+	{
+		return durations.values().stream().reduce(Duration.ZERO, Duration::plus);
+	}
+
+	/**
+	 * Returns the phase that took the longest or null if no phase ran.
+	 */
+	@Nullable
+	public ParsePhase slowestPhase()
+	{
+		ParsePhase slowest = null;
+		for (var entry : durations.entrySet())
+		{
+			if (slowest == null || entry.getValue().compareTo(durations.get(slowest)) > 0)
+			{
+				slowest = entry.getKey();
+			}
+		}
+		return slowest;
+	}
+}
@@ -0,0 +1,187 @@
+package org.amshove.natparse;
+
+import org.amshove.natparse.natural.IStatementListNode;
+import org.amshove.natparse.natural.ISyntaxNode;
+import org.amshove.natparse.natural.ISyntaxTree;
+import org.amshove.natparse.natural.ITokenNode;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index over the nodes of a syntax tree that are located in one file, which lets {@link NodeUtil} look up nodes by
+ * their position without walking through the whole tree.<br/>
+ * It contains all {@link ITokenNode}s ordered by line and, for every node with a lot of descendants, the lines of
+ * these descendants. Nodes of other files (e.g. the body of an INCLUDE) and their descendants are left out, the same as
+ * the lookups in {@link NodeUtil} skip them.<br/>
+ * The index has to be built after the tree is complete, because it doesn't notice changes to the tree.
+ */
+public final class PositionIndex
+{
+	/**
+	 * Descendants of nodes with fewer descendants are just iterated.
+	 */
+	private static final int MIN_DESCENDANTS_TO_INDEX = 16;
+
+	private final Path filePath;
+	private final ITokenNode[] tokenNodes;
+	private final int[] tokenNodeLines;
+	private final Map<ISyntaxTree, DescendantLines> descendantLines = new IdentityHashMap<>();
+
+	private PositionIndex(Path filePath, ISyntaxTree tree)
+	{
+		this.filePath = filePath;
+		var collectedTokenNodes = new ArrayList<ITokenNode>();
+		index(tree, collectedTokenNodes);
+
+		// stable sort, so that token nodes of the same line stay in tree order
+		collectedTokenNodes.sort(Comparator.comparingInt(n -> n.position().line()));
+		tokenNodes = collectedTokenNodes.toArray(new ITokenNode[0]);
+		tokenNodeLines = new int[tokenNodes.length];
+		for (var i = 0; i < tokenNodes.length; i++)
+		{
+			tokenNodeLines[i] = tokenNodes[i].position().line();
+		}
+	}
+
+	public static PositionIndex build(Path filePath, ISyntaxTree tree)
+	{
+		return new PositionIndex(filePath, tree);
+	}
+
+	public Path filePath()
+	{
+		return filePath;
+	}
+
+	/**
+	 * Returns the first {@link ITokenNode} in tree order that spans the given position.
+	 */
+	@Nullable
+	public ITokenNode findTokenNode(int line, int character)
+	{
+		for (var i = firstIndexOfLine(tokenNodeLines, tokenNodeLines.length, line); i < tokenNodes.length && tokenNodeLines[i] == line; i++)
+		{
+			var position = tokenNodes[i].position();
+			if (position.offsetInLine() <= character && position.endOffset() >= character)
+			{
+				return tokenNodes[i];
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the index of the descendant of the given tree from which on a search for the given line has to look at
+	 * the descendants. All descendants of this file before that index are located in lines before the given line, except
+	 * for the last one, which is the descendant at the returned index.<br/>
+	 * Returns 0 if the descendants of the tree aren't indexed.
+	 */
+	int firstRelevantDescendant(ISyntaxTree tree, int line)
+	{
+		var lines = descendantLines.get(tree);
+		if (lines == null)
+		{
+			return 0;
+		}
+
+		var firstOnOrAfterLine = firstIndexOfLine(lines.lines(), lines.lines().length, line);
+		return firstOnOrAfterLine == 0 ? 0 : lines.descendantIndices()[firstOnOrAfterLine - 1];
+	}
+
+	private void index(ISyntaxTree tree, List<ITokenNode> collectedTokenNodes)
+	{
+		var descendants = tree.descendants();
+		var indexDescendants = descendants.size() >= MIN_DESCENDANTS_TO_INDEX;
+		var descendantIndices = indexDescendants ? new int[descendants.size()] : null;
+		var lines = indexDescendants ? new int[descendants.size()] : null;
+		var indexedDescendants = 0;
+		var linesAreSorted = true;
+
+		for (var i = 0; i < descendants.size(); i++)
+		{
+			var node = descendants.get(i);
+			if (!isInFile(node))
+			{
+				continue;
+			}
+
+			var line = node.position().line();
+			if (indexDescendants)
+			{
+				linesAreSorted &= indexedDescendants == 0 || lines[indexedDescendants - 1] <= line;
+				descendantIndices[indexedDescendants] = i;
+				lines[indexedDescendants] = line;
+				indexedDescendants++;
+			}
+
+			if (node instanceof ITokenNode tokenNode)
+			{
+				collectedTokenNodes.add(tokenNode);
+			}
+
+			index(node, collectedTokenNodes);
+		}
+
+		// Skipping descendants by binary search only works if they're ordered
+		if (indexDescendants && linesAreSorted)
+		{
+			descendantLines.put(tree, new DescendantLines(truncate(descendantIndices, indexedDescendants), truncate(lines, indexedDescendants)));
+		}
+	}
+
+	private boolean isInFile(ISyntaxNode node)
+	{
+		if (node == null || node instanceof IStatementListNode && node.descendants().isEmpty())
+		{
+			// an empty statement list, e.g. the body of a recursive INCLUDE, has no position
+			return false;
+		}
+
+		return node.position() != null && filePath.equals(node.position().filePath());
+	}
+
+	/**
+	 * Returns the index of the first element within {@code [0, length)} of the ascending {@code lines} that is greater
+	 * than or equal to {@code line}, or {@code length} if there is none.
+	 */
+	private static int firstIndexOfLine(int[] lines, int length, int line)
+	{
+		var low = 0;
+		var high = length;
+		while (low < high)
+		{
+			var middle = (low + high) >>> 1;
+			if (lines[middle] < line)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static int[] truncate(int[] array, int length)
+	{
+		if (array.length == length)
+		{
+			return array;
+		}
+
+		var truncated = new int[length];
+		System.arraycopy(array, 0, truncated, 0, length);
+		return truncated;
+	}
+
+	private record DescendantLines(int[] descendantIndices, int[] lines)
+	{}
+}
@@ -39,6 +39,24 @@ public class ReadOnlyList<T> implements Iterable<T>
 		return new ReadOnlyList<>(collection, true);
 	}
 
+	/**
+	 * Creates a ReadOnlyList which doesn't copy the given list but is an unmodifiable view of it.<br/>
+	 * This is meant for accessors of lists which are owned by the accessed object, e.g. the descendants of a syntax
+	 * node, where callers only read. Callers must neither rely on seeing nor on not seeing later changes of the list.
+	 * <br/>
+	 * Only use this for lists that are either no longer changed once other threads can read them, or that are safe to
+	 * iterate while being changed, like a {@link java.util.concurrent.CopyOnWriteArrayList}. Lists which are changed
+	 * by parsing other modules, like the references of a variable, have to be copied.
+	 */
+	public static <T> ReadOnlyList<T> view(List<? extends T> collection)
+	{
+		if (collection == null || collection.isEmpty())
+		{
+			return empty();
+		}
+		return new ReadOnlyList<>(Collections.unmodifiableList(collection), false);
+	}
+
 	@SuppressWarnings("unchecked")
 	public static <T> ReadOnlyList<T> empty()
 	{
@@ -195,7 +213,8 @@ public class ReadOnlyList<T> implements Iterable<T>
 		@Override
 		public Function<ArrayList<T>, ReadOnlyList<T>> finisher()
 		{
-			return ReadOnlyList::from;
+			// The list has been created by this collector and can't be referenced by anyone else
+			return list -> new ReadOnlyList<>(list, false);
 		}
 
 		@Override
@@ -5,6 +5,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -16,6 +17,11 @@ public class ActualFilesystem implements IFilesystem
 		".natural", "_naturalBuild"
 	};
 
+	/**
+	 * Reads the whole file at once, which is also used for {@link #readSource(Path)}. The bytes of ASCII files become
+	 * the String without being copied again. Mapping the file instead would keep it open until the mapped buffer is
+	 * garbage collected, which locks the file on Windows.
+	 */
 	public String readFile(Path path)
 	{
 		try
@@ -34,6 +40,19 @@ public class ActualFilesystem implements IFilesystem
 		return path.toFile().exists();
 	}
 
+	@Override
+	public BasicFileAttributes readAttributes(Path path)
+	{
+		try
+		{
+			return Files.readAttributes(path, BasicFileAttributes.class);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	public List<Path> listDirectories(Path path)
 	{
 		try (var files = Files.list(path))
@@ -52,8 +71,8 @@ public class ActualFilesystem implements IFilesystem
 	{
 		try
 		{
-			return Files.walk(startPath, Integer.MAX_VALUE, FileVisitOption.FOLLOW_LINKS)
-				.filter(p -> p.toFile().isFile());
+			// The attributes are the ones read by the walk, so this doesn't need another stat per file
+			return Files.find(startPath, Integer.MAX_VALUE, (path, attributes) -> attributes.isRegularFile(), FileVisitOption.FOLLOW_LINKS);
 		}
 		catch (IOException e)
 		{
@@ -1,6 +1,7 @@
 package org.amshove.natparse.infrastructure;
 
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -9,8 +10,23 @@ public interface IFilesystem
 {
 	String readFile(Path path);
 
+	/**
+	 * Reads the file as source text which is only meant to be scanned, e.g. by the
+	 * {@link org.amshove.natparse.lexing.Lexer}. Implementations are free to return a text that isn't backed by a
+	 * String.
+	 */
+	default CharSequence readSource(Path path)
+	{
+		return readFile(path);
+	}
+
 	boolean exists(Path path);
 
+	/**
+	 * Reads the attributes of the file, e.g. to find out whether it has changed since it has been read.
+	 */
+	BasicFileAttributes readAttributes(Path path);
+
 	List<Path> listDirectories(Path path);
 
 	Stream<Path> streamFilesRecursively(Path startPath);
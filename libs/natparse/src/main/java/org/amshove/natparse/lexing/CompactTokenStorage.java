@@ -0,0 +1,507 @@
+package org.amshove.natparse.lexing;
+
+import org.amshove.natparse.IPosition;
+import org.amshove.natparse.ReadOnlyList;
+import org.amshove.natparse.lexing.text.StringPool;
+import org.amshove.natparse.lexing.text.SymbolPool;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Stores tokens as struct of arrays over the source text they have been lexed from.<br/>
+ * {@link SyntaxToken}s are only created when they're requested and are cached afterwards, so that every index always
+ * returns the same instance. Consumers that only look at the kinds (e.g. when searching for a specific token) don't
+ * create any token at all.<br/>
+ * Once {@link #all()} is requested, e.g. by the parser, every token gets created and the arrays are dropped, so that
+ * the tokens aren't kept twice. The source is dropped as well, unless the line starts needed for relexing have been
+ * recorded. From then on the storage doesn't change anymore and can be read by multiple threads. Before that, it must
+ * only be used by one thread.
+ */
+class CompactTokenStorage implements ITokenStorage
+{
+	private static final SyntaxKind[] KINDS = SyntaxKind.values();
+
+	private CharSequence source;
+	private Path filePath;
+	private IPosition diagnosticPosition;
+	private SymbolPool symbolPool;
+
+	// All null once every token is materialized
+	private short[] kinds;
+	private int[] offsets;
+	private int[] offsetsInLine;
+	private int[] lines;
+	private int[] lengths;
+	private int size;
+
+	private SyntaxToken[] materializedTokens;
+	private ReadOnlyList<SyntaxToken> allTokens;
+
+	// The state of the lexer at the start of every line, used to relex only parts of a changed source
+	private int[] lineStartOffsets = new int[0];
+	private int[] lineNumbers = new int[0];
+	private int[] lineStartTokens = new int[0];
+	private byte[] lineStates = new byte[0];
+	private int lineCount;
+
+	private CompactTokenStorage()
+	{}
+
+	/**
+	 * Creates an empty storage. {@link #reset(CharSequence, Path, IPosition)} has to be called before tokens can be
+	 * added.
+	 */
+	CompactTokenStorage(int initialCapacity)
+	{
+		allocate(initialCapacity);
+	}
+
+	/**
+	 * Removes all tokens and prepares the storage for the tokens of a new source. The arrays are kept, so that a
+	 * storage which is reused for lexing doesn't allocate once it has grown to the size of the lexed modules.
+	 *
+	 * @param source the source text the offsets of the tokens point to. Sources of tokens are sliced from it when the
+	 *     token is materialized.
+	 * @param diagnosticPosition the diagnostic position of every token. Only differs from the token position if the
+	 *     tokens were lexed for an INCLUDE.
+	 * @param symbolPool the pool for sources and symbol names of identifiers or null if they should only be pooled
+	 *     by the {@link StringPool}
+	 */
+	void reset(CharSequence source, Path filePath, IPosition diagnosticPosition, SymbolPool symbolPool)
+	{
+		this.source = source;
+		this.filePath = filePath;
+		this.diagnosticPosition = diagnosticPosition;
+		this.symbolPool = symbolPool;
+		var expectedTokens = source.length() / 6;
+		if (isFullyMaterialized() || kinds.length < expectedTokens)
+		{
+			allocate(expectedTokens);
+		}
+		else
+			if (materializedTokens != null)
+			{
+				Arrays.fill(materializedTokens, 0, Math.min(size, materializedTokens.length), null);
+			}
+		allTokens = null;
+		size = 0;
+		lineCount = 0;
+	}
+
+	/**
+	 * Drops the references to the source and the materialized tokens while keeping the arrays for the next
+	 * {@link #reset(CharSequence, Path, IPosition, SymbolPool)}. Called once the lexed tokens have been copied, so that
+	 * a reused storage doesn't keep the last lexed module alive.
+	 */
+	void release()
+	{
+		if (materializedTokens != null)
+		{
+			Arrays.fill(materializedTokens, 0, Math.min(size, materializedTokens.length), null);
+		}
+		source = null;
+		filePath = null;
+		diagnosticPosition = null;
+		symbolPool = null;
+		allTokens = null;
+		size = 0;
+		lineCount = 0;
+	}
+
+	void add(SyntaxKind kind, int offset, int offsetInLine, int line, int length)
+	{
+		if (size == kinds.length)
+		{
+			grow();
+		}
+
+		kinds[size] = (short) kind.ordinal();
+		offsets[size] = offset;
+		offsetsInLine[size] = offsetInLine;
+		lines[size] = line;
+		lengths[size] = length;
+		size++;
+	}
+
+	/**
+	 * Creates a copy of this storage with all arrays trimmed to the actual amount of tokens. Called when lexing is
+	 * done.
+	 */
+	CompactTokenStorage trimmedCopy()
+	{
+		var copy = new CompactTokenStorage();
+		copy.source = source;
+		copy.filePath = filePath;
+		copy.diagnosticPosition = diagnosticPosition;
+		copy.symbolPool = symbolPool;
+		copy.kinds = Arrays.copyOf(kinds, size);
+		copy.offsets = Arrays.copyOf(offsets, size);
+		copy.offsetsInLine = Arrays.copyOf(offsetsInLine, size);
+		copy.lines = Arrays.copyOf(lines, size);
+		copy.lengths = Arrays.copyOf(lengths, size);
+		if (materializedTokens != null)
+		{
+			copy.materializedTokens = Arrays.copyOf(materializedTokens, size);
+		}
+		copy.size = size;
+		copy.lineStartOffsets = Arrays.copyOf(lineStartOffsets, lineCount);
+		copy.lineNumbers = Arrays.copyOf(lineNumbers, lineCount);
+		copy.lineStartTokens = Arrays.copyOf(lineStartTokens, lineCount);
+		copy.lineStates = Arrays.copyOf(lineStates, lineCount);
+		copy.lineCount = lineCount;
+		return copy;
+	}
+
+	/**
+	 * Drops the source text after the given length, so that a storage of a partially lexed source doesn't keep the
+	 * whole source alive.
+	 */
+	void truncateSource(int length)
+	{
+		if (length < source.length())
+		{
+			source = source.subSequence(0, length).toString();
+		}
+	}
+
+	/**
+	 * Creates a storage that shares the token arrays with this one, but materializes its own {@link SyntaxToken}s.
+	 * Must only be called on storages that don't change anymore, e.g. the result of {@link #trimmedCopy()}.
+	 */
+	@Override
+	public CompactTokenStorage independentCopy()
+	{
+		return relocatedCopy(diagnosticPosition);
+	}
+
+	/**
+	 * Like {@link #independentCopy()}, but the tokens of the copy are materialized with the given diagnostic position.
+	 */
+	@Override
+	public CompactTokenStorage relocatedCopy(IPosition diagnosticPosition)
+	{
+		var copy = new CompactTokenStorage();
+		copy.source = source;
+		copy.filePath = filePath;
+		copy.diagnosticPosition = diagnosticPosition;
+		copy.symbolPool = symbolPool;
+		if (isFullyMaterialized())
+		{
+			copy.materializedTokens = new SyntaxToken[size];
+			for (var i = 0; i < size; i++)
+			{
+				var token = materializedTokens[i];
+				copy.materializedTokens[i] = copy.createToken(token.kind(), token.offset(), token.offsetInLine(), token.line(), token.source());
+			}
+			copy.size = size;
+			copy.allTokens = ReadOnlyList.view(Arrays.asList(copy.materializedTokens));
+		}
+		else
+		{
+			copy.kinds = kinds;
+			copy.offsets = offsets;
+			copy.offsetsInLine = offsetsInLine;
+			copy.lines = lines;
+			copy.lengths = lengths;
+			copy.size = size;
+		}
+		copy.lineStartOffsets = lineStartOffsets;
+		copy.lineNumbers = lineNumbers;
+		copy.lineStartTokens = lineStartTokens;
+		copy.lineStates = lineStates;
+		copy.lineCount = lineCount;
+		return copy;
+	}
+
+	/**
+	 * Appends the tokens from {@code start} (inclusive) to {@code end} (exclusive) of another storage, moving them by
+	 * the given amount of characters and lines.
+	 */
+	void addFrom(CompactTokenStorage other, int start, int end, int offsetDelta, int lineDelta)
+	{
+		for (var i = start; i < end; i++)
+		{
+			add(other.kind(i), other.offset(i) + offsetDelta, other.offsetInLine(i), other.line(i) + lineDelta, other.length(i));
+		}
+	}
+
+	/**
+	 * Records the state of the lexer at the start of a line. The start is associated with the next token that will be
+	 * added.
+	 *
+	 * @param state the state of the lexer or -1 if lexing can't be resumed at this line
+	 */
+	void addLineStart(int offset, int line, byte state)
+	{
+		addLineStart(offset, line, size, state);
+	}
+
+	private void addLineStart(int offset, int line, int firstToken, byte state)
+	{
+		if (lineCount == lineStates.length)
+		{
+			var newCapacity = lineCount + (lineCount >> 1) + 16;
+			lineStartOffsets = Arrays.copyOf(lineStartOffsets, newCapacity);
+			lineNumbers = Arrays.copyOf(lineNumbers, newCapacity);
+			lineStartTokens = Arrays.copyOf(lineStartTokens, newCapacity);
+			lineStates = Arrays.copyOf(lineStates, newCapacity);
+		}
+
+		lineStartOffsets[lineCount] = offset;
+		lineNumbers[lineCount] = line;
+		lineStartTokens[lineCount] = firstToken;
+		lineStates[lineCount] = state;
+		lineCount++;
+	}
+
+	/**
+	 * Appends the line starts from {@code start} (inclusive) to {@code end} (exclusive) of another storage, moving
+	 * them by the given amount of characters, lines and tokens.
+	 */
+	void addLineStartsFrom(CompactTokenStorage other, int start, int end, int offsetDelta, int lineDelta, int tokenDelta)
+	{
+		for (var i = start; i < end; i++)
+		{
+			addLineStart(
+				other.lineStartOffsets[i] + offsetDelta,
+				other.lineNumbers[i] + lineDelta,
+				other.lineStartTokens[i] + tokenDelta,
+				other.lineStates[i]
+			);
+		}
+	}
+
+	int lineCount()
+	{
+		return lineCount;
+	}
+
+	int lineStartOffset(int lineIndex)
+	{
+		return lineStartOffsets[lineIndex];
+	}
+
+	int lineNumber(int lineIndex)
+	{
+		return lineNumbers[lineIndex];
+	}
+
+	int lineStartToken(int lineIndex)
+	{
+		return lineStartTokens[lineIndex];
+	}
+
+	byte lineState(int lineIndex)
+	{
+		return lineStates[lineIndex];
+	}
+
+	/**
+	 * Returns the index of the last recorded line start which is at or before the given offset.
+	 */
+	int lineIndexAt(int offset)
+	{
+		var index = Arrays.binarySearch(lineStartOffsets, 0, lineCount, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	/**
+	 * Returns the index of the recorded line start at exactly the given offset or -1 if there is none.
+	 */
+	int lineIndexStartingAt(int offset)
+	{
+		var index = Arrays.binarySearch(lineStartOffsets, 0, lineCount, offset);
+		return index >= 0 ? index : -1;
+	}
+
+	CharSequence source()
+	{
+		return source;
+	}
+
+	/**
+	 * Removes the first {@code count} tokens and moves the remaining ones to the front. Used when streaming tokens,
+	 * where tokens that have been handed out are no longer needed.
+	 */
+	void discardFirst(int count)
+	{
+		var remaining = size - count;
+		System.arraycopy(kinds, count, kinds, 0, remaining);
+		System.arraycopy(offsets, count, offsets, 0, remaining);
+		System.arraycopy(offsetsInLine, count, offsetsInLine, 0, remaining);
+		System.arraycopy(lines, count, lines, 0, remaining);
+		System.arraycopy(lengths, count, lengths, 0, remaining);
+		if (materializedTokens != null)
+		{
+			System.arraycopy(materializedTokens, count, materializedTokens, 0, remaining);
+			Arrays.fill(materializedTokens, remaining, materializedTokens.length, null);
+		}
+		size = remaining;
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	@Override
+	public SyntaxKind kind(int index)
+	{
+		return isFullyMaterialized() ? materializedTokens[index].kind() : KINDS[kinds[index]];
+	}
+
+	int offset(int index)
+	{
+		return isFullyMaterialized() ? materializedTokens[index].offset() : offsets[index];
+	}
+
+	private int offsetInLine(int index)
+	{
+		return isFullyMaterialized() ? materializedTokens[index].offsetInLine() : offsetsInLine[index];
+	}
+
+	private int line(int index)
+	{
+		return isFullyMaterialized() ? materializedTokens[index].line() : lines[index];
+	}
+
+	int length(int index)
+	{
+		return isFullyMaterialized() ? materializedTokens[index].length() : lengths[index];
+	}
+
+	/**
+	 * Returns the offset directly after the token at the given index.
+	 */
+	int totalEndOffset(int index)
+	{
+		return offset(index) + length(index);
+	}
+
+	@Override
+	public SyntaxToken get(int index)
+	{
+		if (isFullyMaterialized())
+		{
+			return materializedTokens[index];
+		}
+
+		if (materializedTokens == null)
+		{
+			materializedTokens = new SyntaxToken[kinds.length];
+		}
+		else
+			if (materializedTokens.length < kinds.length)
+			{
+				materializedTokens = Arrays.copyOf(materializedTokens, kinds.length);
+			}
+
+		var token = materializedTokens[index];
+		if (token == null)
+		{
+			var tokenSource = source.subSequence(offsets[index], offsets[index] + lengths[index]).toString();
+			token = createToken(kind(index), offsets[index], offsetsInLine[index], lines[index], tokenSource);
+			materializedTokens[index] = token;
+		}
+
+		return token;
+	}
+
+	private SyntaxToken createToken(SyntaxKind kind, int offset, int offsetInLine, int line, String tokenSource)
+	{
+		var isPooledSymbol = symbolPool != null && (kind == SyntaxKind.IDENTIFIER || kind.canBeIdentifier());
+		var token = new SyntaxToken(
+			kind,
+			offset,
+			offsetInLine,
+			line,
+			isPooledSymbol ? symbolPool.intern(tokenSource) : StringPool.intern(tokenSource),
+			filePath
+		);
+		if (isPooledSymbol)
+		{
+			token.setPooledSymbolName(symbolPool.symbolName(token.source()));
+		}
+		token.setDiagnosticPosition(diagnosticPosition);
+		return token;
+	}
+
+	/**
+	 * Materializes all tokens and drops the arrays, because the tokens would otherwise be kept twice. The source is
+	 * only kept if it can be relexed.
+	 */
+	@Override
+	public ReadOnlyList<SyntaxToken> all()
+	{
+		if (allTokens == null)
+		{
+			for (var i = 0; i < size; i++)
+			{
+				get(i);
+			}
+
+			materializedTokens = size == 0 ? new SyntaxToken[0] : Arrays.copyOf(materializedTokens, size);
+			kinds = null;
+			offsets = null;
+			offsetsInLine = null;
+			lines = null;
+			lengths = null;
+			if (lineCount == 0)
+			{
+				source = null;
+			}
+			allTokens = ReadOnlyList.view(Arrays.asList(materializedTokens));
+		}
+
+		return allTokens;
+	}
+
+	@Override
+	public ReadOnlyList<SyntaxToken> subrange(int start, int end)
+	{
+		if (start < 0 || end > size || start > end)
+		{
+			throw new IndexOutOfBoundsException("Range [%d, %d) out of bounds for length %d".formatted(start, end, size));
+		}
+
+		var tokens = new ArrayList<SyntaxToken>(end - start);
+		for (var i = start; i < end; i++)
+		{
+			tokens.add(get(i));
+		}
+		return ReadOnlyList.from(tokens);
+	}
+
+	private boolean isFullyMaterialized()
+	{
+		return kinds == null;
+	}
+
+	private void allocate(int capacity)
+	{
+		kinds = new short[capacity];
+		offsets = new int[capacity];
+		offsetsInLine = new int[capacity];
+		lines = new int[capacity];
+		lengths = new int[capacity];
+		materializedTokens = null;
+	}
+
+	private void grow()
+	{
+		var newCapacity = kinds.length + (kinds.length >> 1) + 1;
+		kinds = Arrays.copyOf(kinds, newCapacity);
+		offsets = Arrays.copyOf(offsets, newCapacity);
+		offsetsInLine = Arrays.copyOf(offsetsInLine, newCapacity);
+		lines = Arrays.copyOf(lines, newCapacity);
+		lengths = Arrays.copyOf(lengths, newCapacity);
+	}
+}
@@ -0,0 +1,39 @@
+package org.amshove.natparse.lexing;
+
+import org.amshove.natparse.IPosition;
+import org.amshove.natparse.ReadOnlyList;
+
+/**
+ * Backing storage of a {@link TokenList}.
+ */
+interface ITokenStorage
+{
+	int size();
+
+	/**
+	 * Returns the kind of the token at the given index without the need of having a {@link SyntaxToken} for it.
+	 */
+	SyntaxKind kind(int index);
+
+	SyntaxToken get(int index);
+
+	ReadOnlyList<SyntaxToken> all();
+
+	/**
+	 * Returns all tokens from start to end.
+	 *
+	 * @param start Inclusive index of the first token.
+	 * @param end Exclusive index of the last token.
+	 */
+	ReadOnlyList<SyntaxToken> subrange(int start, int end);
+
+	/**
+	 * Returns a storage with the same tokens which can be used independently of this one, e.g. on another thread.
+	 */
+	ITokenStorage independentCopy();
+
+	/**
+	 * Returns an independent storage with the same tokens, which all have the given diagnostic position.
+	 */
+	ITokenStorage relocatedCopy(IPosition diagnosticPosition);
+}
@@ -1,632 +1,718 @@
 package org.amshove.natparse.lexing;
 
-import java.util.Locale;
-
+/**
+ * Maps the case-insensitive source text of keywords to their {@link SyntaxKind}.<br/>
+ * The lookup works on a range of characters within the source text, so that identifiers which are no keywords can be
+ * classified without creating a String or a lower-cased copy of them.
+ */
 public class KeywordTable
 {
+	private static final int TABLE_SIZE = 2048; // power of two, less than a third filled
+	private static final int TABLE_MASK = TABLE_SIZE - 1;
+	private static final char[][] KEYWORDS = new char[TABLE_SIZE][];
+	private static final SyntaxKind[] KINDS = new SyntaxKind[TABLE_SIZE];
+	private static int longestKeyword;
+
+	static
+	{
+		keyword("abs", SyntaxKind.ABS);
+		keyword("absolute", SyntaxKind.ABSOLUTE);
+		keyword("accept", SyntaxKind.ACCEPT);
+		keyword("action", SyntaxKind.ACTION);
+		keyword("activation", SyntaxKind.ACTIVATION);
+		keyword("ad", SyntaxKind.AD);
+		keyword("add", SyntaxKind.ADD);
+		keyword("adjust", SyntaxKind.ADJUST);
+		keyword("after", SyntaxKind.AFTER);
+		keyword("al", SyntaxKind.AL);
+		keyword("alarm", SyntaxKind.ALARM);
+		keyword("all", SyntaxKind.ALL);
+		keyword("alpha", SyntaxKind.ALPHA);
+		keyword("alphabetically", SyntaxKind.ALPHABETICALLY);
+		keyword("and", SyntaxKind.AND);
+		keyword("any", SyntaxKind.ANY);
+		keyword("appl", SyntaxKind.APPL);
+		keyword("application", SyntaxKind.APPLICATION);
+		keyword("array", SyntaxKind.ARRAY);
+		keyword("as", SyntaxKind.AS);
+		keyword("asc", SyntaxKind.ASC);
+		keyword("ascending", SyntaxKind.ASCENDING);
+		keyword("assign", SyntaxKind.ASSIGN);
+		keyword("assigning", SyntaxKind.ASSIGNING);
+		keyword("async", SyntaxKind.ASYNC);
+		keyword("at", SyntaxKind.AT);
+		keyword("atn", SyntaxKind.ATN);
+		keyword("att", SyntaxKind.ATT);
+		keyword("attributes", SyntaxKind.ATTRIBUTES);
+		keyword("auth", SyntaxKind.AUTH);
+		keyword("authorization", SyntaxKind.AUTHORIZATION);
+		keyword("auto", SyntaxKind.AUTO);
+		keyword("aver", SyntaxKind.AVER);
+		keyword("avg", SyntaxKind.AVG);
+		keyword("backout", SyntaxKind.BACKOUT);
+		keyword("backward", SyntaxKind.BACKWARD);
+		keyword("base", SyntaxKind.BASE);
+		keyword("before", SyntaxKind.BEFORE);
+		keyword("between", SyntaxKind.BETWEEN);
+		keyword("block", SyntaxKind.BLOCK);
+		keyword("bot", SyntaxKind.BOT);
+		keyword("bottom", SyntaxKind.BOTTOM);
+		keyword("break", SyntaxKind.BREAK);
+		keyword("browse", SyntaxKind.BROWSE);
+		keyword("but", SyntaxKind.BUT);
+		keyword("bx", SyntaxKind.BX);
+		keyword("by", SyntaxKind.BY);
+		keyword("cabinet", SyntaxKind.CABINET);
+		keyword("call", SyntaxKind.CALL);
+		keyword("calldbproc", SyntaxKind.CALLDBPROC);
+		keyword("calling", SyntaxKind.CALLING);
+		keyword("callnat", SyntaxKind.CALLNAT);
+		keyword("cap", SyntaxKind.CAP);
+		keyword("capt", SyntaxKind.CAPT);
+		keyword("captioned", SyntaxKind.CAPTIONED);
+		keyword("case", SyntaxKind.CASE);
+		keyword("cc", SyntaxKind.CC);
+		keyword("cd", SyntaxKind.CD);
+		keyword("cdid", SyntaxKind.CDID);
+		keyword("cf", SyntaxKind.CF);
+		keyword("char", SyntaxKind.CHAR);
+		keyword("charlength", SyntaxKind.CHARLENGTH);
+		keyword("charposition", SyntaxKind.CHARPOSITION);
+		keyword("child", SyntaxKind.CHILD);
+		keyword("ciph", SyntaxKind.CIPH);
+		keyword("cipher", SyntaxKind.CIPHER);
+		keyword("class", SyntaxKind.CLASS);
+		keyword("close", SyntaxKind.CLOSE);
+		keyword("coalesce", SyntaxKind.COALESCE);
+		keyword("codepage", SyntaxKind.CODEPAGE);
+		keyword("command", SyntaxKind.COMMAND);
+		keyword("commit", SyntaxKind.COMMIT);
+		keyword("compose", SyntaxKind.COMPOSE);
+		keyword("compress", SyntaxKind.COMPRESS);
+		keyword("compute", SyntaxKind.COMPUTE);
+		keyword("concat", SyntaxKind.CONCAT);
+		keyword("condition", SyntaxKind.CONDITION);
+		keyword("const", SyntaxKind.CONST);
+		keyword("constant", SyntaxKind.CONSTANT);
+		keyword("context", SyntaxKind.CONTEXT);
+		keyword("control", SyntaxKind.CONTROL);
+		keyword("conversation", SyntaxKind.CONVERSATION);
+		keyword("copies", SyntaxKind.COPIES);
+		keyword("copy", SyntaxKind.COPY);
+		keyword("cos", SyntaxKind.COS);
+		keyword("count", SyntaxKind.COUNT);
+		keyword("coupled", SyntaxKind.COUPLED);
+		keyword("cs", SyntaxKind.CS);
+		keyword("current", SyntaxKind.CURRENT);
+		keyword("cursor", SyntaxKind.CURSOR);
+		keyword("data", SyntaxKind.DATA);
+		keyword("dataarea", SyntaxKind.DATAAREA);
+		keyword("date", SyntaxKind.DATE);
+		keyword("day", SyntaxKind.DAY);
+		keyword("days", SyntaxKind.DAYS);
+		keyword("dc", SyntaxKind.DC);
+		keyword("decide", SyntaxKind.DECIDE);
+		keyword("decimal", SyntaxKind.DECIMAL);
+		keyword("define", SyntaxKind.DEFINE);
+		keyword("definition", SyntaxKind.DEFINITION);
+		keyword("del", SyntaxKind.DEL);
+		keyword("delete", SyntaxKind.DELETE);
+		keyword("delimited", SyntaxKind.DELIMITED);
+		keyword("delimiter", SyntaxKind.DELIMITER);
+		keyword("delimiters", SyntaxKind.DELIMITERS);
+		keyword("desc", SyntaxKind.DESC);
+		keyword("descending", SyntaxKind.DESCENDING);
+		keyword("df", SyntaxKind.DF);
+		keyword("dialog", SyntaxKind.DIALOG);
+		keyword("dialog-id", SyntaxKind.DIALOG_ID);
+		keyword("digits", SyntaxKind.DIGITS);
+		keyword("direction", SyntaxKind.DIRECTION);
+		keyword("disabled", SyntaxKind.DISABLED);
+		keyword("disp", SyntaxKind.DISP);
+		keyword("display", SyntaxKind.DISPLAY);
+		keyword("distinct", SyntaxKind.DISTINCT);
+		keyword("divide", SyntaxKind.DIVIDE);
+		keyword("dl", SyntaxKind.DL);
+		keyword("dlogoff", SyntaxKind.DLOGOFF);
+		keyword("dlogon", SyntaxKind.DLOGON);
+		keyword("dnative", SyntaxKind.DNATIVE);
+		keyword("dnret", SyntaxKind.DNRET);
+		keyword("do", SyntaxKind.DO);
+		keyword("document", SyntaxKind.DOCUMENT);
+		keyword("doend", SyntaxKind.DOEND);
+		keyword("download", SyntaxKind.DOWNLOAD);
+		keyword("du", SyntaxKind.DU);
+		keyword("dy", SyntaxKind.DY);
+		keyword("dynamic", SyntaxKind.DYNAMIC);
+		keyword("edited", SyntaxKind.EDITED);
+		keyword("ej", SyntaxKind.EJ);
+		keyword("eject", SyntaxKind.EJECT);
+		keyword("else", SyntaxKind.ELSE);
+		keyword("em", SyntaxKind.EM);
+		keyword("emu", SyntaxKind.EMU);
+		keyword("encoded", SyntaxKind.ENCODED);
+		keyword("end", SyntaxKind.END);
+		keyword("end-all", SyntaxKind.END_ALL);
+		keyword("end-before", SyntaxKind.END_BEFORE);
+		keyword("end-break", SyntaxKind.END_BREAK);
+		keyword("end-browse", SyntaxKind.END_BROWSE);
+		keyword("end-class", SyntaxKind.END_CLASS);
+		keyword("end-decide", SyntaxKind.END_DECIDE);
+		keyword("end-define", SyntaxKind.END_DEFINE);
+		keyword("end-enddata", SyntaxKind.END_ENDDATA);
+		keyword("end-endfile", SyntaxKind.END_ENDFILE);
+		keyword("end-endpage", SyntaxKind.END_ENDPAGE);
+		keyword("end-error", SyntaxKind.END_ERROR);
+		keyword("end-file", SyntaxKind.END_FILE);
+		keyword("end-find", SyntaxKind.END_FIND);
+		keyword("end-for", SyntaxKind.END_FOR);
+		keyword("end-function", SyntaxKind.END_FUNCTION);
+		keyword("end-histogram", SyntaxKind.END_HISTOGRAM);
+		keyword("endhoc", SyntaxKind.ENDHOC);
+		keyword("end-if", SyntaxKind.END_IF);
+		keyword("end-interface", SyntaxKind.END_INTERFACE);
+		keyword("end-loop", SyntaxKind.END_LOOP);
+		keyword("end-method", SyntaxKind.END_METHOD);
+		keyword("end-norec", SyntaxKind.END_NOREC);
+		keyword("end-parameters", SyntaxKind.END_PARAMETERS);
+		keyword("end-parse", SyntaxKind.END_PARSE);
+		keyword("end-process", SyntaxKind.END_PROCESS);
+		keyword("end-property", SyntaxKind.END_PROPERTY);
+		keyword("end-prototype", SyntaxKind.END_PROTOTYPE);
+		keyword("end-read", SyntaxKind.END_READ);
+		keyword("end-repeat", SyntaxKind.END_REPEAT);
+		keyword("end-result", SyntaxKind.END_RESULT);
+		keyword("end-select", SyntaxKind.END_SELECT);
+		keyword("end-sort", SyntaxKind.END_SORT);
+		keyword("end-start", SyntaxKind.END_START);
+		keyword("end-subroutine", SyntaxKind.END_SUBROUTINE);
+		keyword("end-toppage", SyntaxKind.END_TOPPAGE);
+		keyword("end-work", SyntaxKind.END_WORK);
+		keyword("ending", SyntaxKind.ENDING);
+		keyword("enter", SyntaxKind.ENTER);
+		keyword("entire", SyntaxKind.ENTIRE);
+		keyword("eq", SyntaxKind.EQ);
+		keyword("equal", SyntaxKind.EQUAL);
+		keyword("erase", SyntaxKind.ERASE);
+		keyword("error", SyntaxKind.ERROR);
+		keyword("errors", SyntaxKind.ERRORS);
+		keyword("es", SyntaxKind.ES);
+		keyword("escape", SyntaxKind.ESCAPE);
+		keyword("even", SyntaxKind.EVEN);
+		keyword("event", SyntaxKind.EVENT);
+		keyword("every", SyntaxKind.EVERY);
+		keyword("examine", SyntaxKind.EXAMINE);
+		keyword("except", SyntaxKind.EXCEPT);
+		keyword("exists", SyntaxKind.EXISTS);
+		keyword("exit", SyntaxKind.EXIT);
+		keyword("exp", SyntaxKind.EXP);
+		keyword("expand", SyntaxKind.EXPAND);
+		keyword("export", SyntaxKind.EXPORT);
+		keyword("external", SyntaxKind.EXTERNAL);
+		keyword("extracting", SyntaxKind.EXTRACTING);
+		keyword("false", SyntaxKind.FALSE);
+		keyword("fc", SyntaxKind.FC);
+		keyword("fetch", SyntaxKind.FETCH);
+		keyword("field", SyntaxKind.FIELD);
+		keyword("fields", SyntaxKind.FIELDS);
+		keyword("file", SyntaxKind.FILE);
+		keyword("fill", SyntaxKind.FILL);
+		keyword("filler", SyntaxKind.FILLER);
+		keyword("final", SyntaxKind.FINAL);
+		keyword("find", SyntaxKind.FIND);
+		keyword("first", SyntaxKind.FIRST);
+		keyword("fl", SyntaxKind.FL);
+		keyword("float", SyntaxKind.FLOAT);
+		keyword("for", SyntaxKind.FOR);
+		keyword("form", SyntaxKind.FORM);
+		keyword("format", SyntaxKind.FORMAT);
+		keyword("formatted", SyntaxKind.FORMATTED);
+		keyword("formatting", SyntaxKind.FORMATTING);
+		keyword("forms", SyntaxKind.FORMS);
+		keyword("forward", SyntaxKind.FORWARD);
+		keyword("found", SyntaxKind.FOUND);
+		keyword("frac", SyntaxKind.FRAC);
+		keyword("framed", SyntaxKind.FRAMED);
+		keyword("from", SyntaxKind.FROM);
+		keyword("fs", SyntaxKind.FS);
+		keyword("full", SyntaxKind.FULL);
+		keyword("function", SyntaxKind.FUNCTION);
+		keyword("functions", SyntaxKind.FUNCTIONS);
+		keyword("gc", SyntaxKind.GC);
+		keyword("ge", SyntaxKind.GE);
+		keyword("gen", SyntaxKind.GEN);
+		keyword("generated", SyntaxKind.GENERATED);
+		keyword("get", SyntaxKind.GET);
+		keyword("gfid", SyntaxKind.GFID);
+		keyword("give", SyntaxKind.GIVE);
+		keyword("giving", SyntaxKind.GIVING);
+		keyword("global", SyntaxKind.GLOBAL);
+		keyword("globals", SyntaxKind.GLOBALS);
+		keyword("greater", SyntaxKind.GREATER);
+		keyword("gt", SyntaxKind.GT);
+		keyword("gui", SyntaxKind.GUI);
+		keyword("handle", SyntaxKind.HANDLE);
+		keyword("having", SyntaxKind.HAVING);
+		keyword("hc", SyntaxKind.HC);
+		keyword("hd", SyntaxKind.HD);
+		keyword("he", SyntaxKind.HE);
+		keyword("header", SyntaxKind.HEADER);
+		keyword("help", SyntaxKind.HELP);
+		keyword("hex", SyntaxKind.HEX);
+		keyword("histogram", SyntaxKind.HISTOGRAM);
+		keyword("hold", SyntaxKind.HOLD);
+		keyword("horiz", SyntaxKind.HORIZ);
+		keyword("horizontally", SyntaxKind.HORIZONTALLY);
+		keyword("hour", SyntaxKind.HOUR);
+		keyword("hours", SyntaxKind.HOURS);
+		keyword("hw", SyntaxKind.HW);
+		keyword("ia", SyntaxKind.IA);
+		keyword("ic", SyntaxKind.IC);
+		keyword("icu", SyntaxKind.ICU);
+		keyword("id", SyntaxKind.ID);
+		keyword("identical", SyntaxKind.IDENTICAL);
+		keyword("if", SyntaxKind.IF);
+		keyword("ignore", SyntaxKind.IGNORE);
+		keyword("im", SyntaxKind.IM);
+		keyword("immediate", SyntaxKind.IMMEDIATE);
+		keyword("import", SyntaxKind.IMPORT);
+		keyword("in", SyntaxKind.IN);
+		keyword("inc", SyntaxKind.INC);
+		keyword("inccont", SyntaxKind.INCCONT);
+		keyword("incdic", SyntaxKind.INCDIC);
+		keyword("incdir", SyntaxKind.INCDIR);
+		keyword("include", SyntaxKind.INCLUDE);
+		keyword("included", SyntaxKind.INCLUDED);
+		keyword("including", SyntaxKind.INCLUDING);
+		keyword("incmac", SyntaxKind.INCMAC);
+		keyword("independent", SyntaxKind.INDEPENDENT);
+		keyword("index", SyntaxKind.INDEX);
+		keyword("indexed", SyntaxKind.INDEXED);
+		keyword("indicator", SyntaxKind.INDICATOR);
+		keyword("init", SyntaxKind.INIT);
+		keyword("initial", SyntaxKind.INITIAL);
+		keyword("inner", SyntaxKind.INNER);
+		keyword("input", SyntaxKind.INPUT);
+		keyword("insensitive", SyntaxKind.INSENSITIVE);
+		keyword("insert", SyntaxKind.INSERT);
+		keyword("int", SyntaxKind.INT);
+		keyword("integer", SyntaxKind.INTEGER);
+		keyword("intercepted", SyntaxKind.INTERCEPTED);
+		keyword("interface", SyntaxKind.INTERFACE);
+		keyword("interface4", SyntaxKind.INTERFACE4);
+		keyword("intermediate", SyntaxKind.INTERMEDIATE);
+		keyword("intersect", SyntaxKind.INTERSECT);
+		keyword("into", SyntaxKind.INTO);
+		keyword("inverted", SyntaxKind.INVERTED);
+		keyword("investigate", SyntaxKind.INVESTIGATE);
+		keyword("ip", SyntaxKind.IP);
+		keyword("is", SyntaxKind.IS);
+		keyword("isn", SyntaxKind.KW_ISN);
+		keyword("join", SyntaxKind.JOIN);
+		keyword("json", SyntaxKind.JSON);
+		keyword("just", SyntaxKind.JUST);
+		keyword("justified", SyntaxKind.JUSTIFIED);
+		keyword("kd", SyntaxKind.KD);
+		keyword("keep", SyntaxKind.KEEP);
+		keyword("key", SyntaxKind.KEY);
+		keyword("keys", SyntaxKind.KEYS);
+		keyword("language", SyntaxKind.LANGUAGE);
+		keyword("last", SyntaxKind.LAST);
+		keyword("lc", SyntaxKind.LC);
+		keyword("lcu", SyntaxKind.LCU);
+		keyword("le", SyntaxKind.LE);
+		keyword("leading", SyntaxKind.LEADING);
+		keyword("leave", SyntaxKind.LEAVE);
+		keyword("leaving", SyntaxKind.LEAVING);
+		keyword("left", SyntaxKind.LEFT);
+		keyword("length", SyntaxKind.LENGTH);
+		keyword("less", SyntaxKind.LESS);
+		keyword("level", SyntaxKind.LEVEL);
+		keyword("lib", SyntaxKind.LIB);
+		keyword("libpw", SyntaxKind.LIBPW);
+		keyword("library", SyntaxKind.LIBRARY);
+		keyword("library-password", SyntaxKind.LIBRARY_PASSWORD);
+		keyword("like", SyntaxKind.LIKE);
+		keyword("limit", SyntaxKind.LIMIT);
+		keyword("lindicator", SyntaxKind.LINDICATOR);
+		keyword("lines", SyntaxKind.LINES);
+		keyword("listed", SyntaxKind.LISTED);
+		keyword("local", SyntaxKind.LOCAL);
+		keyword("locks", SyntaxKind.LOCKS);
+		keyword("log", SyntaxKind.LOG);
+		keyword("log-ls", SyntaxKind.LOG_LS);
+		keyword("log-ps", SyntaxKind.LOG_PS);
+		keyword("logical", SyntaxKind.LOGICAL);
+		keyword("loop", SyntaxKind.LOOP);
+		keyword("lower", SyntaxKind.LOWER);
+		keyword("ls", SyntaxKind.LS);
+		keyword("lt", SyntaxKind.LT);
+		keyword("macroarea", SyntaxKind.MACROAREA);
+		keyword("map", SyntaxKind.MAP);
+		keyword("mark", SyntaxKind.MARK);
+		keyword("mask", SyntaxKind.MASK);
+		keyword("max", SyntaxKind.MAX);
+		keyword("mc", SyntaxKind.MC);
+		keyword("mcg", SyntaxKind.MCG);
+		keyword("messages", SyntaxKind.MESSAGES);
+		keyword("method", SyntaxKind.METHOD);
+		keyword("mgid", SyntaxKind.MGID);
+		keyword("microsecond", SyntaxKind.MICROSECOND);
+		keyword("min", SyntaxKind.MIN);
+		keyword("minute", SyntaxKind.MINUTE);
+		keyword("modal", SyntaxKind.MODAL);
+		keyword("mode", SyntaxKind.MODE);
+		keyword("modified", SyntaxKind.MODIFIED);
+		keyword("module", SyntaxKind.MODULE);
+		keyword("month", SyntaxKind.MONTH);
+		keyword("more", SyntaxKind.MORE);
+		keyword("move", SyntaxKind.MOVE);
+		keyword("moving", SyntaxKind.MOVING);
+		keyword("mp", SyntaxKind.MP);
+		keyword("ms", SyntaxKind.MS);
+		keyword("mt", SyntaxKind.MT);
+		keyword("multi-fetch", SyntaxKind.MULTI_FETCH);
+		keyword("multiply", SyntaxKind.MULTIPLY);
+		keyword("name", SyntaxKind.NAME);
+		keyword("named", SyntaxKind.NAMED);
+		keyword("namespace", SyntaxKind.NAMESPACE);
+		keyword("native", SyntaxKind.NATIVE);
+		keyword("naver", SyntaxKind.NAVER);
+		keyword("nc", SyntaxKind.NC);
+		keyword("ncount", SyntaxKind.NCOUNT);
+		keyword("ne", SyntaxKind.NE);
+		keyword("newpage", SyntaxKind.NEWPAGE);
+		keyword("nl", SyntaxKind.NL);
+		keyword("nmin", SyntaxKind.NMIN);
+		keyword("no", SyntaxKind.NO);
+		keyword("node", SyntaxKind.NODE);
+		keyword("nohdr", SyntaxKind.NOHDR);
+		keyword("none", SyntaxKind.NONE);
+		keyword("normalize", SyntaxKind.NORMALIZE);
+		keyword("normalized", SyntaxKind.NORMALIZED);
+		keyword("not", SyntaxKind.NOT);
+		keyword("notequal", SyntaxKind.NOTEQUAL);
+		keyword("notit", SyntaxKind.NOTIT);
+		keyword("notitle", SyntaxKind.NOTITLE);
+		keyword("null", SyntaxKind.NULL);
+		keyword("null-handle", SyntaxKind.NULL_HANDLE);
+		keyword("number", SyntaxKind.KW_NUMBER);
+		keyword("numeric", SyntaxKind.NUMERIC);
+		keyword("object", SyntaxKind.OBJECT);
+		keyword("obtain", SyntaxKind.OBTAIN);
+		keyword("occurrences", SyntaxKind.OCCURRENCES);
+		keyword("of", SyntaxKind.OF);
+		keyword("off", SyntaxKind.OFF);
+		keyword("offset", SyntaxKind.OFFSET);
+		keyword("old", SyntaxKind.OLD);
+		keyword("on", SyntaxKind.ON);
+		keyword("once", SyntaxKind.ONCE);
+		keyword("only", SyntaxKind.ONLY);
+		keyword("open", SyntaxKind.OPEN);
+		keyword("optimize", SyntaxKind.OPTIMIZE);
+		keyword("optional", SyntaxKind.OPTIONAL);
+		keyword("options", SyntaxKind.OPTIONS);
+		keyword("or", SyntaxKind.OR);
+		keyword("order", SyntaxKind.ORDER);
+		keyword("outer", SyntaxKind.OUTER);
+		keyword("output", SyntaxKind.OUTPUT);
+		keyword("packageset", SyntaxKind.PACKAGESET);
+		keyword("page", SyntaxKind.PAGE);
+		keyword("pages", SyntaxKind.PAGES);
+		keyword("parameter", SyntaxKind.PARAMETER);
+		keyword("parameters", SyntaxKind.PARAMETERS);
+		keyword("parent", SyntaxKind.PARENT);
+		keyword("parse", SyntaxKind.PARSE);
+		keyword("pass", SyntaxKind.PASS);
+		keyword("passw", SyntaxKind.PASSW);
+		keyword("password", SyntaxKind.PASSWORD);
+		keyword("path", SyntaxKind.PATH);
+		keyword("pattern", SyntaxKind.PATTERN);
+		keyword("pc", SyntaxKind.PC);
+		keyword("pd", SyntaxKind.PD);
+		keyword("pen", SyntaxKind.PEN);
+		keyword("perform", SyntaxKind.PERFORM);
+		keyword("pgdn", SyntaxKind.PGDN);
+		keyword("pgup", SyntaxKind.PGUP);
+		keyword("pgm", SyntaxKind.PGM);
+		keyword("physical", SyntaxKind.PHYSICAL);
+		keyword("pm", SyntaxKind.PM);
+		keyword("policy", SyntaxKind.POLICY);
+		keyword("pos", SyntaxKind.POS);
+		keyword("position", SyntaxKind.POSITION);
+		keyword("prefix", SyntaxKind.PREFIX);
+		keyword("print", SyntaxKind.PRINT);
+		keyword("printer", SyntaxKind.PRINTER);
+		keyword("process", SyntaxKind.PROCESS);
+		keyword("processing", SyntaxKind.PROCESSING);
+		keyword("profile", SyntaxKind.PROFILE);
+		keyword("program", SyntaxKind.PROGRAM);
+		keyword("property", SyntaxKind.PROPERTY);
+		keyword("prototype", SyntaxKind.PROTOTYPE);
+		keyword("prty", SyntaxKind.PRTY);
+		keyword("ps", SyntaxKind.PS);
+		keyword("pt", SyntaxKind.PT);
+		keyword("pw", SyntaxKind.PW);
+		keyword("quarter", SyntaxKind.QUARTER);
+		keyword("queryno", SyntaxKind.QUERYNO);
+		keyword("rd", SyntaxKind.RD);
+		keyword("read", SyntaxKind.READ);
+		keyword("readonly", SyntaxKind.READONLY);
+		keyword("rec", SyntaxKind.REC);
+		keyword("record", SyntaxKind.RECORD);
+		keyword("records", SyntaxKind.RECORDS);
+		keyword("recursively", SyntaxKind.RECURSIVELY);
+		keyword("redefine", SyntaxKind.REDEFINE);
+		keyword("reduce", SyntaxKind.REDUCE);
+		keyword("referenced", SyntaxKind.REFERENCED);
+		keyword("referencing", SyntaxKind.REFERENCING);
+		keyword("reinput", SyntaxKind.REINPUT);
+		keyword("reject", SyntaxKind.REJECT);
+		keyword("rel", SyntaxKind.REL);
+		keyword("relation", SyntaxKind.RELATION);
+		keyword("relationship", SyntaxKind.RELATIONSHIP);
+		keyword("release", SyntaxKind.RELEASE);
+		keyword("remainder", SyntaxKind.REMAINDER);
+		keyword("repeat", SyntaxKind.REPEAT);
+		keyword("replace", SyntaxKind.REPLACE);
+		keyword("report", SyntaxKind.REPORT);
+		keyword("reporter", SyntaxKind.REPORTER);
+		keyword("reposition", SyntaxKind.REPOSITION);
+		keyword("request", SyntaxKind.REQUEST);
+		keyword("required", SyntaxKind.REQUIRED);
+		keyword("reset", SyntaxKind.RESET);
+		keyword("resetting", SyntaxKind.RESETTING);
+		keyword("resize", SyntaxKind.RESIZE);
+		keyword("response", SyntaxKind.RESPONSE);
+		keyword("restore", SyntaxKind.RESTORE);
+		keyword("result", SyntaxKind.RESULT);
+		keyword("ret", SyntaxKind.RET);
+		keyword("retain", SyntaxKind.RETAIN);
+		keyword("retained", SyntaxKind.RETAINED);
+		keyword("retry", SyntaxKind.RETRY);
+		keyword("return", SyntaxKind.RETURN);
+		keyword("returns", SyntaxKind.RETURNS);
+		keyword("reversed", SyntaxKind.REVERSED);
+		keyword("rg", SyntaxKind.RG);
+		keyword("right", SyntaxKind.RIGHT);
+		keyword("rollback", SyntaxKind.ROLLBACK);
+		keyword("rounded", SyntaxKind.ROUNDED);
+		keyword("routine", SyntaxKind.ROUTINE);
+		keyword("row", SyntaxKind.ROW);
+		keyword("rows", SyntaxKind.ROWS);
+		keyword("rr", SyntaxKind.RR);
+		keyword("rs", SyntaxKind.RS);
+		keyword("rulevar", SyntaxKind.RULEVAR);
+		keyword("run", SyntaxKind.RUN);
+		keyword("sa", SyntaxKind.SA);
+		keyword("same", SyntaxKind.SAME);
+		keyword("scan", SyntaxKind.SCAN);
+		keyword("screen", SyntaxKind.SCREEN);
+		keyword("scroll", SyntaxKind.SCROLL);
+		keyword("second", SyntaxKind.SECOND);
+		keyword("select", SyntaxKind.SELECT);
+		keyword("selection", SyntaxKind.SELECTION);
+		keyword("send", SyntaxKind.SEND);
+		keyword("sensitive", SyntaxKind.SENSITIVE);
+		keyword("separate", SyntaxKind.SEPARATE);
+		keyword("separator", SyntaxKind.SEPARATOR);
+		keyword("sequence", SyntaxKind.SEQUENCE);
+		keyword("server", SyntaxKind.SERVER);
+		keyword("set", SyntaxKind.SET);
+		keyword("sets", SyntaxKind.SETS);
+		keyword("settime", SyntaxKind.SETTIME);
+		keyword("sf", SyntaxKind.SF);
+		keyword("sg", SyntaxKind.SG);
+		keyword("sgn", SyntaxKind.SGN);
+		keyword("shared", SyntaxKind.SHARED);
+		keyword("short", SyntaxKind.SHORT);
+		keyword("show", SyntaxKind.SHOW);
+		keyword("sin", SyntaxKind.SIN);
+		keyword("single", SyntaxKind.SINGLE);
+		keyword("size", SyntaxKind.SIZE);
+		keyword("skip", SyntaxKind.SKIP);
+		keyword("sl", SyntaxKind.SL);
+		keyword("sm", SyntaxKind.SM);
+		keyword("some", SyntaxKind.SOME);
+		keyword("sort", SyntaxKind.SORT);
+		keyword("sorted", SyntaxKind.SORTED);
+		keyword("sortkey", SyntaxKind.SORTKEY);
+		keyword("sound", SyntaxKind.SOUND);
+		keyword("space", SyntaxKind.SPACE);
+		keyword("specified", SyntaxKind.SPECIFIED);
+		keyword("sql", SyntaxKind.SQL);
+		keyword("sqlid", SyntaxKind.SQLID);
+		keyword("sqrt", SyntaxKind.SQRT);
+		keyword("stack", SyntaxKind.STACK);
+		keyword("start", SyntaxKind.START);
+		keyword("starting", SyntaxKind.STARTING);
+		keyword("statement", SyntaxKind.STATEMENT);
+		keyword("static", SyntaxKind.STATIC);
+		keyword("status", SyntaxKind.STATUS);
+		keyword("step", SyntaxKind.STEP);
+		keyword("stop", SyntaxKind.STOP);
+		keyword("store", SyntaxKind.STORE);
+		keyword("subcode", SyntaxKind.SUBCODE);
+		keyword("subprogram", SyntaxKind.SUBPROGRAM);
+		keyword("subprograms", SyntaxKind.SUBPROGRAMS);
+		keyword("subroutine", SyntaxKind.SUBROUTINE);
+		keyword("substr", SyntaxKind.SUBSTR);
+		keyword("substring", SyntaxKind.SUBSTRING);
+		keyword("subtract", SyntaxKind.SUBTRACT);
+		keyword("sum", SyntaxKind.SUM);
+		keyword("suppress", SyntaxKind.SUPPRESS);
+		keyword("suppressed", SyntaxKind.SUPPRESSED);
+		keyword("suspend", SyntaxKind.SUSPEND);
+		keyword("symbol", SyntaxKind.SYMBOL);
+		keyword("sync", SyntaxKind.SYNC);
+		keyword("system", SyntaxKind.SYSTEM);
+		keyword("tan", SyntaxKind.TAN);
+		keyword("tc", SyntaxKind.TC);
+		keyword("tcu", SyntaxKind.TCU);
+		keyword("terminate", SyntaxKind.TERMINATE);
+		keyword("text", SyntaxKind.TEXT);
+		keyword("textarea", SyntaxKind.TEXTAREA);
+		keyword("textvariable", SyntaxKind.TEXTVARIABLE);
+		keyword("than", SyntaxKind.THAN);
+		keyword("them", SyntaxKind.THEM);
+		keyword("then", SyntaxKind.THEN);
+		keyword("thru", SyntaxKind.THRU);
+		keyword("time", SyntaxKind.TIME);
+		keyword("timestamp", SyntaxKind.TIMESTAMP);
+		keyword("timezone", SyntaxKind.TIMEZONE);
+		keyword("title", SyntaxKind.TITLE);
+		keyword("to", SyntaxKind.TO);
+		keyword("top", SyntaxKind.TOP);
+		keyword("total", SyntaxKind.TOTAL);
+		keyword("tp", SyntaxKind.TP);
+		keyword("tr", SyntaxKind.TR);
+		keyword("trailer", SyntaxKind.TRAILER);
+		keyword("trailing", SyntaxKind.TRAILING);
+		keyword("transaction", SyntaxKind.TRANSACTION);
+		keyword("transfer", SyntaxKind.TRANSFER);
+		keyword("translate", SyntaxKind.TRANSLATE);
+		keyword("treq", SyntaxKind.TREQ);
+		keyword("true", SyntaxKind.TRUE);
+		keyword("ts", SyntaxKind.TS);
+		keyword("type", SyntaxKind.TYPE);
+		keyword("types", SyntaxKind.TYPES);
+		keyword("uc", SyntaxKind.UC);
+		keyword("underlined", SyntaxKind.UNDERLINED);
+		keyword("union", SyntaxKind.UNION);
+		keyword("unique", SyntaxKind.UNIQUE);
+		keyword("unknown", SyntaxKind.UNKNOWN);
+		keyword("until", SyntaxKind.UNTIL);
+		keyword("update", SyntaxKind.UPDATE);
+		keyword("upload", SyntaxKind.UPLOAD);
+		keyword("upper", SyntaxKind.UPPER);
+		keyword("ur", SyntaxKind.UR);
+		keyword("used", SyntaxKind.USED);
+		keyword("user", SyntaxKind.USER);
+		keyword("using", SyntaxKind.USING);
+		keyword("val", SyntaxKind.VAL);
+		keyword("value", SyntaxKind.VALUE);
+		keyword("values", SyntaxKind.VALUES);
+		keyword("vargraphic", SyntaxKind.VARGRAPHIC);
+		keyword("variable", SyntaxKind.VARIABLE);
+		keyword("variables", SyntaxKind.VARIABLES);
+		keyword("vert", SyntaxKind.VERT);
+		keyword("vertically", SyntaxKind.VERTICALLY);
+		keyword("via", SyntaxKind.VIA);
+		keyword("view", SyntaxKind.VIEW);
+		keyword("wh", SyntaxKind.WH);
+		keyword("when", SyntaxKind.WHEN);
+		keyword("where", SyntaxKind.WHERE);
+		keyword("while", SyntaxKind.WHILE);
+		keyword("window", SyntaxKind.WINDOW);
+		keyword("with", SyntaxKind.WITH);
+		keyword("work", SyntaxKind.WORK);
+		keyword("write", SyntaxKind.WRITE);
+		keyword("with_cte", SyntaxKind.WITH_CTE);
+		keyword("xml", SyntaxKind.XML);
+		keyword("year", SyntaxKind.YEAR);
+		keyword("zd", SyntaxKind.ZD);
+		keyword("zp", SyntaxKind.ZP);
+	}
+
+	private KeywordTable()
+	{}
+
 	public static SyntaxKind getKeyword(String possibleKeyword)
 	{
-		var key = possibleKeyword.toLowerCase(Locale.ENGLISH);
-		return switch (key)
+		return getKeyword(possibleKeyword, 0, possibleKeyword.length());
+	}
+
+	/**
+	 * Returns the keyword that the characters from {@code offset} to {@code offset + length} form or null if they are
+	 * no keyword.
+	 */
+	public static SyntaxKind getKeyword(CharSequence source, int offset, int length)
+	{
+		if (length == 0 || length > longestKeyword)
+		{
+			return null;
+		}
+
+		var hash = 0;
+		for (var i = offset; i < offset + length; i++)
+		{
+			var character = source.charAt(i);
+			if (character > 'z')
+			{
+				return null;
+			}
+			hash = 31 * hash + toLower(character);
+		}
+
+		for (var slot = slotOf(hash); KEYWORDS[slot] != null; slot = (slot + 1) & TABLE_MASK)
+		{
+			var keyword = KEYWORDS[slot];
+			if (keyword.length != length)
+			{
+				continue;
+			}
+
+			var matches = true;
+			for (var i = 0; i < length && matches; i++)
+			{
+				matches = toLower(source.charAt(offset + i)) == keyword[i];
+			}
+			if (matches)
+			{
+				return KINDS[slot];
+			}
+		}
+
+		return null;
+	}
+
+	private static char toLower(char character)
+	{
+		// Keywords only consist of ASCII characters, so there is no need to fold anything else
+		return character >= 'A' && character <= 'Z' ? (char) (character + ('a' - 'A')) : character;
+	}
+
+	private static int slotOf(int hash)
+	{
+		return (hash ^ (hash >>> 11)) & TABLE_MASK;
+	}
+
+	private static void keyword(String keyword, SyntaxKind kind)
+	{
+		var hash = 0;
+		for (var i = 0; i < keyword.length(); i++)
 		{
-			case "abs" -> SyntaxKind.ABS;
-			case "absolute" -> SyntaxKind.ABSOLUTE;
-			case "accept" -> SyntaxKind.ACCEPT;
-			case "action" -> SyntaxKind.ACTION;
-			case "activation" -> SyntaxKind.ACTIVATION;
-			case "ad" -> SyntaxKind.AD;
-			case "add" -> SyntaxKind.ADD;
-			case "adjust" -> SyntaxKind.ADJUST;
-			case "after" -> SyntaxKind.AFTER;
-			case "al" -> SyntaxKind.AL;
-			case "alarm" -> SyntaxKind.ALARM;
-			case "all" -> SyntaxKind.ALL;
-			case "alpha" -> SyntaxKind.ALPHA;
-			case "alphabetically" -> SyntaxKind.ALPHABETICALLY;
-			case "and" -> SyntaxKind.AND;
-			case "any" -> SyntaxKind.ANY;
-			case "appl" -> SyntaxKind.APPL;
-			case "application" -> SyntaxKind.APPLICATION;
-			case "array" -> SyntaxKind.ARRAY;
-			case "as" -> SyntaxKind.AS;
-			case "asc" -> SyntaxKind.ASC;
-			case "ascending" -> SyntaxKind.ASCENDING;
-			case "assign" -> SyntaxKind.ASSIGN;
-			case "assigning" -> SyntaxKind.ASSIGNING;
-			case "async" -> SyntaxKind.ASYNC;
-			case "at" -> SyntaxKind.AT;
-			case "atn" -> SyntaxKind.ATN;
-			case "att" -> SyntaxKind.ATT;
-			case "attributes" -> SyntaxKind.ATTRIBUTES;
-			case "auth" -> SyntaxKind.AUTH;
-			case "authorization" -> SyntaxKind.AUTHORIZATION;
-			case "auto" -> SyntaxKind.AUTO;
-			case "aver" -> SyntaxKind.AVER;
-			case "avg" -> SyntaxKind.AVG;
-			case "backout" -> SyntaxKind.BACKOUT;
-			case "backward" -> SyntaxKind.BACKWARD;
-			case "base" -> SyntaxKind.BASE;
-			case "before" -> SyntaxKind.BEFORE;
-			case "between" -> SyntaxKind.BETWEEN;
-			case "block" -> SyntaxKind.BLOCK;
-			case "bot" -> SyntaxKind.BOT;
-			case "bottom" -> SyntaxKind.BOTTOM;
-			case "break" -> SyntaxKind.BREAK;
-			case "browse" -> SyntaxKind.BROWSE;
-			case "but" -> SyntaxKind.BUT;
-			case "bx" -> SyntaxKind.BX;
-			case "by" -> SyntaxKind.BY;
-			case "cabinet" -> SyntaxKind.CABINET;
-			case "call" -> SyntaxKind.CALL;
-			case "calldbproc" -> SyntaxKind.CALLDBPROC;
-			case "calling" -> SyntaxKind.CALLING;
-			case "callnat" -> SyntaxKind.CALLNAT;
-			case "cap" -> SyntaxKind.CAP;
-			case "capt" -> SyntaxKind.CAPT;
-			case "captioned" -> SyntaxKind.CAPTIONED;
-			case "case" -> SyntaxKind.CASE;
-			case "cc" -> SyntaxKind.CC;
-			case "cd" -> SyntaxKind.CD;
-			case "cdid" -> SyntaxKind.CDID;
-			case "cf" -> SyntaxKind.CF;
-			case "char" -> SyntaxKind.CHAR;
-			case "charlength" -> SyntaxKind.CHARLENGTH;
-			case "charposition" -> SyntaxKind.CHARPOSITION;
-			case "child" -> SyntaxKind.CHILD;
-			case "ciph" -> SyntaxKind.CIPH;
-			case "cipher" -> SyntaxKind.CIPHER;
-			case "class" -> SyntaxKind.CLASS;
-			case "close" -> SyntaxKind.CLOSE;
-			case "coalesce" -> SyntaxKind.COALESCE;
-			case "codepage" -> SyntaxKind.CODEPAGE;
-			case "command" -> SyntaxKind.COMMAND;
-			case "commit" -> SyntaxKind.COMMIT;
-			case "compose" -> SyntaxKind.COMPOSE;
-			case "compress" -> SyntaxKind.COMPRESS;
-			case "compute" -> SyntaxKind.COMPUTE;
-			case "concat" -> SyntaxKind.CONCAT;
-			case "condition" -> SyntaxKind.CONDITION;
-			case "const" -> SyntaxKind.CONST;
-			case "constant" -> SyntaxKind.CONSTANT;
-			case "context" -> SyntaxKind.CONTEXT;
-			case "control" -> SyntaxKind.CONTROL;
-			case "conversation" -> SyntaxKind.CONVERSATION;
-			case "copies" -> SyntaxKind.COPIES;
-			case "copy" -> SyntaxKind.COPY;
-			case "cos" -> SyntaxKind.COS;
-			case "count" -> SyntaxKind.COUNT;
-			case "coupled" -> SyntaxKind.COUPLED;
-			case "cs" -> SyntaxKind.CS;
-			case "current" -> SyntaxKind.CURRENT;
-			case "cursor" -> SyntaxKind.CURSOR;
-			case "data" -> SyntaxKind.DATA;
-			case "dataarea" -> SyntaxKind.DATAAREA;
-			case "date" -> SyntaxKind.DATE;
-			case "day" -> SyntaxKind.DAY;
-			case "days" -> SyntaxKind.DAYS;
-			case "dc" -> SyntaxKind.DC;
-			case "decide" -> SyntaxKind.DECIDE;
-			case "decimal" -> SyntaxKind.DECIMAL;
-			case "define" -> SyntaxKind.DEFINE;
-			case "definition" -> SyntaxKind.DEFINITION;
-			case "del" -> SyntaxKind.DEL;
-			case "delete" -> SyntaxKind.DELETE;
-			case "delimited" -> SyntaxKind.DELIMITED;
-			case "delimiter" -> SyntaxKind.DELIMITER;
-			case "delimiters" -> SyntaxKind.DELIMITERS;
-			case "desc" -> SyntaxKind.DESC;
-			case "descending" -> SyntaxKind.DESCENDING;
-			case "df" -> SyntaxKind.DF;
-			case "dialog" -> SyntaxKind.DIALOG;
-			case "dialog-id" -> SyntaxKind.DIALOG_ID;
-			case "digits" -> SyntaxKind.DIGITS;
-			case "direction" -> SyntaxKind.DIRECTION;
-			case "disabled" -> SyntaxKind.DISABLED;
-			case "disp" -> SyntaxKind.DISP;
-			case "display" -> SyntaxKind.DISPLAY;
-			case "distinct" -> SyntaxKind.DISTINCT;
-			case "divide" -> SyntaxKind.DIVIDE;
-			case "dl" -> SyntaxKind.DL;
-			case "dlogoff" -> SyntaxKind.DLOGOFF;
-			case "dlogon" -> SyntaxKind.DLOGON;
-			case "dnative" -> SyntaxKind.DNATIVE;
-			case "dnret" -> SyntaxKind.DNRET;
-			case "do" -> SyntaxKind.DO;
-			case "document" -> SyntaxKind.DOCUMENT;
-			case "doend" -> SyntaxKind.DOEND;
-			case "download" -> SyntaxKind.DOWNLOAD;
-			case "du" -> SyntaxKind.DU;
-			case "dy" -> SyntaxKind.DY;
-			case "dynamic" -> SyntaxKind.DYNAMIC;
-			case "edited" -> SyntaxKind.EDITED;
-			case "ej" -> SyntaxKind.EJ;
-			case "eject" -> SyntaxKind.EJECT;
-			case "else" -> SyntaxKind.ELSE;
-			case "em" -> SyntaxKind.EM;
-			case "emu" -> SyntaxKind.EMU;
-			case "encoded" -> SyntaxKind.ENCODED;
-			case "end" -> SyntaxKind.END;
-			case "end-all" -> SyntaxKind.END_ALL;
-			case "end-before" -> SyntaxKind.END_BEFORE;
-			case "end-break" -> SyntaxKind.END_BREAK;
-			case "end-browse" -> SyntaxKind.END_BROWSE;
-			case "end-class" -> SyntaxKind.END_CLASS;
-			case "end-decide" -> SyntaxKind.END_DECIDE;
-			case "end-define" -> SyntaxKind.END_DEFINE;
-			case "end-enddata" -> SyntaxKind.END_ENDDATA;
-			case "end-endfile" -> SyntaxKind.END_ENDFILE;
-			case "end-endpage" -> SyntaxKind.END_ENDPAGE;
-			case "end-error" -> SyntaxKind.END_ERROR;
-			case "end-file" -> SyntaxKind.END_FILE;
-			case "end-find" -> SyntaxKind.END_FIND;
-			case "end-for" -> SyntaxKind.END_FOR;
-			case "end-function" -> SyntaxKind.END_FUNCTION;
-			case "end-histogram" -> SyntaxKind.END_HISTOGRAM;
-			case "endhoc" -> SyntaxKind.ENDHOC;
-			case "end-if" -> SyntaxKind.END_IF;
-			case "end-interface" -> SyntaxKind.END_INTERFACE;
-			case "end-loop" -> SyntaxKind.END_LOOP;
-			case "end-method" -> SyntaxKind.END_METHOD;
-			case "end-norec" -> SyntaxKind.END_NOREC;
-			case "end-parameters" -> SyntaxKind.END_PARAMETERS;
-			case "end-parse" -> SyntaxKind.END_PARSE;
-			case "end-process" -> SyntaxKind.END_PROCESS;
-			case "end-property" -> SyntaxKind.END_PROPERTY;
-			case "end-prototype" -> SyntaxKind.END_PROTOTYPE;
-			case "end-read" -> SyntaxKind.END_READ;
-			case "end-repeat" -> SyntaxKind.END_REPEAT;
-			case "end-result" -> SyntaxKind.END_RESULT;
-			case "end-select" -> SyntaxKind.END_SELECT;
-			case "end-sort" -> SyntaxKind.END_SORT;
-			case "end-start" -> SyntaxKind.END_START;
-			case "end-subroutine" -> SyntaxKind.END_SUBROUTINE;
-			case "end-toppage" -> SyntaxKind.END_TOPPAGE;
-			case "end-work" -> SyntaxKind.END_WORK;
-			case "ending" -> SyntaxKind.ENDING;
-			case "enter" -> SyntaxKind.ENTER;
-			case "entire" -> SyntaxKind.ENTIRE;
-			case "eq" -> SyntaxKind.EQ;
-			case "equal" -> SyntaxKind.EQUAL;
-			case "erase" -> SyntaxKind.ERASE;
-			case "error" -> SyntaxKind.ERROR;
-			case "errors" -> SyntaxKind.ERRORS;
-			case "es" -> SyntaxKind.ES;
-			case "escape" -> SyntaxKind.ESCAPE;
-			case "even" -> SyntaxKind.EVEN;
-			case "event" -> SyntaxKind.EVENT;
-			case "every" -> SyntaxKind.EVERY;
-			case "examine" -> SyntaxKind.EXAMINE;
-			case "except" -> SyntaxKind.EXCEPT;
-			case "exists" -> SyntaxKind.EXISTS;
-			case "exit" -> SyntaxKind.EXIT;
-			case "exp" -> SyntaxKind.EXP;
-			case "expand" -> SyntaxKind.EXPAND;
-			case "export" -> SyntaxKind.EXPORT;
-			case "external" -> SyntaxKind.EXTERNAL;
-			case "extracting" -> SyntaxKind.EXTRACTING;
-			case "false" -> SyntaxKind.FALSE;
-			case "fc" -> SyntaxKind.FC;
-			case "fetch" -> SyntaxKind.FETCH;
-			case "field" -> SyntaxKind.FIELD;
-			case "fields" -> SyntaxKind.FIELDS;
-			case "file" -> SyntaxKind.FILE;
-			case "fill" -> SyntaxKind.FILL;
-			case "filler" -> SyntaxKind.FILLER;
-			case "final" -> SyntaxKind.FINAL;
-			case "find" -> SyntaxKind.FIND;
-			case "first" -> SyntaxKind.FIRST;
-			case "fl" -> SyntaxKind.FL;
-			case "float" -> SyntaxKind.FLOAT;
-			case "for" -> SyntaxKind.FOR;
-			case "form" -> SyntaxKind.FORM;
-			case "format" -> SyntaxKind.FORMAT;
-			case "formatted" -> SyntaxKind.FORMATTED;
-			case "formatting" -> SyntaxKind.FORMATTING;
-			case "forms" -> SyntaxKind.FORMS;
-			case "forward" -> SyntaxKind.FORWARD;
-			case "found" -> SyntaxKind.FOUND;
-			case "frac" -> SyntaxKind.FRAC;
-			case "framed" -> SyntaxKind.FRAMED;
-			case "from" -> SyntaxKind.FROM;
-			case "fs" -> SyntaxKind.FS;
-			case "full" -> SyntaxKind.FULL;
-			case "function" -> SyntaxKind.FUNCTION;
-			case "functions" -> SyntaxKind.FUNCTIONS;
-			case "gc" -> SyntaxKind.GC;
-			case "ge" -> SyntaxKind.GE;
-			case "gen" -> SyntaxKind.GEN;
-			case "generated" -> SyntaxKind.GENERATED;
-			case "get" -> SyntaxKind.GET;
-			case "gfid" -> SyntaxKind.GFID;
-			case "give" -> SyntaxKind.GIVE;
-			case "giving" -> SyntaxKind.GIVING;
-			case "global" -> SyntaxKind.GLOBAL;
-			case "globals" -> SyntaxKind.GLOBALS;
-			case "greater" -> SyntaxKind.GREATER;
-			case "gt" -> SyntaxKind.GT;
-			case "gui" -> SyntaxKind.GUI;
-			case "handle" -> SyntaxKind.HANDLE;
-			case "having" -> SyntaxKind.HAVING;
-			case "hc" -> SyntaxKind.HC;
-			case "hd" -> SyntaxKind.HD;
-			case "he" -> SyntaxKind.HE;
-			case "header" -> SyntaxKind.HEADER;
-			case "help" -> SyntaxKind.HELP;
-			case "hex" -> SyntaxKind.HEX;
-			case "histogram" -> SyntaxKind.HISTOGRAM;
-			case "hold" -> SyntaxKind.HOLD;
-			case "horiz" -> SyntaxKind.HORIZ;
-			case "horizontally" -> SyntaxKind.HORIZONTALLY;
-			case "hour" -> SyntaxKind.HOUR;
-			case "hours" -> SyntaxKind.HOURS;
-			case "hw" -> SyntaxKind.HW;
-			case "ia" -> SyntaxKind.IA;
-			case "ic" -> SyntaxKind.IC;
-			case "icu" -> SyntaxKind.ICU;
-			case "id" -> SyntaxKind.ID;
-			case "identical" -> SyntaxKind.IDENTICAL;
-			case "if" -> SyntaxKind.IF;
-			case "ignore" -> SyntaxKind.IGNORE;
-			case "im" -> SyntaxKind.IM;
-			case "immediate" -> SyntaxKind.IMMEDIATE;
-			case "import" -> SyntaxKind.IMPORT;
-			case "in" -> SyntaxKind.IN;
-			case "inc" -> SyntaxKind.INC;
-			case "inccont" -> SyntaxKind.INCCONT;
-			case "incdic" -> SyntaxKind.INCDIC;
-			case "incdir" -> SyntaxKind.INCDIR;
-			case "include" -> SyntaxKind.INCLUDE;
-			case "included" -> SyntaxKind.INCLUDED;
-			case "including" -> SyntaxKind.INCLUDING;
-			case "incmac" -> SyntaxKind.INCMAC;
-			case "independent" -> SyntaxKind.INDEPENDENT;
-			case "index" -> SyntaxKind.INDEX;
-			case "indexed" -> SyntaxKind.INDEXED;
-			case "indicator" -> SyntaxKind.INDICATOR;
-			case "init" -> SyntaxKind.INIT;
-			case "initial" -> SyntaxKind.INITIAL;
-			case "inner" -> SyntaxKind.INNER;
-			case "input" -> SyntaxKind.INPUT;
-			case "insensitive" -> SyntaxKind.INSENSITIVE;
-			case "insert" -> SyntaxKind.INSERT;
-			case "int" -> SyntaxKind.INT;
-			case "integer" -> SyntaxKind.INTEGER;
-			case "intercepted" -> SyntaxKind.INTERCEPTED;
-			case "interface" -> SyntaxKind.INTERFACE;
-			case "interface4" -> SyntaxKind.INTERFACE4;
-			case "intermediate" -> SyntaxKind.INTERMEDIATE;
-			case "intersect" -> SyntaxKind.INTERSECT;
-			case "into" -> SyntaxKind.INTO;
-			case "inverted" -> SyntaxKind.INVERTED;
-			case "investigate" -> SyntaxKind.INVESTIGATE;
-			case "ip" -> SyntaxKind.IP;
-			case "is" -> SyntaxKind.IS;
-			case "isn" -> SyntaxKind.KW_ISN;
-			case "join" -> SyntaxKind.JOIN;
-			case "json" -> SyntaxKind.JSON;
-			case "just" -> SyntaxKind.JUST;
-			case "justified" -> SyntaxKind.JUSTIFIED;
-			case "kd" -> SyntaxKind.KD;
-			case "keep" -> SyntaxKind.KEEP;
-			case "key" -> SyntaxKind.KEY;
-			case "keys" -> SyntaxKind.KEYS;
-			case "language" -> SyntaxKind.LANGUAGE;
-			case "last" -> SyntaxKind.LAST;
-			case "lc" -> SyntaxKind.LC;
-			case "lcu" -> SyntaxKind.LCU;
-			case "le" -> SyntaxKind.LE;
-			case "leading" -> SyntaxKind.LEADING;
-			case "leave" -> SyntaxKind.LEAVE;
-			case "leaving" -> SyntaxKind.LEAVING;
-			case "left" -> SyntaxKind.LEFT;
-			case "length" -> SyntaxKind.LENGTH;
-			case "less" -> SyntaxKind.LESS;
-			case "level" -> SyntaxKind.LEVEL;
-			case "lib" -> SyntaxKind.LIB;
-			case "libpw" -> SyntaxKind.LIBPW;
-			case "library" -> SyntaxKind.LIBRARY;
-			case "library-password" -> SyntaxKind.LIBRARY_PASSWORD;
-			case "like" -> SyntaxKind.LIKE;
-			case "limit" -> SyntaxKind.LIMIT;
-			case "lindicator" -> SyntaxKind.LINDICATOR;
-			case "lines" -> SyntaxKind.LINES;
-			case "listed" -> SyntaxKind.LISTED;
-			case "local" -> SyntaxKind.LOCAL;
-			case "locks" -> SyntaxKind.LOCKS;
-			case "log" -> SyntaxKind.LOG;
-			case "log-ls" -> SyntaxKind.LOG_LS;
-			case "log-ps" -> SyntaxKind.LOG_PS;
-			case "logical" -> SyntaxKind.LOGICAL;
-			case "loop" -> SyntaxKind.LOOP;
-			case "lower" -> SyntaxKind.LOWER;
-			case "ls" -> SyntaxKind.LS;
-			case "lt" -> SyntaxKind.LT;
-			case "macroarea" -> SyntaxKind.MACROAREA;
-			case "map" -> SyntaxKind.MAP;
-			case "mark" -> SyntaxKind.MARK;
-			case "mask" -> SyntaxKind.MASK;
-			case "max" -> SyntaxKind.MAX;
-			case "mc" -> SyntaxKind.MC;
-			case "mcg" -> SyntaxKind.MCG;
-			case "messages" -> SyntaxKind.MESSAGES;
-			case "method" -> SyntaxKind.METHOD;
-			case "mgid" -> SyntaxKind.MGID;
-			case "microsecond" -> SyntaxKind.MICROSECOND;
-			case "min" -> SyntaxKind.MIN;
-			case "minute" -> SyntaxKind.MINUTE;
-			case "modal" -> SyntaxKind.MODAL;
-			case "mode" -> SyntaxKind.MODE;
-			case "modified" -> SyntaxKind.MODIFIED;
-			case "module" -> SyntaxKind.MODULE;
-			case "month" -> SyntaxKind.MONTH;
-			case "more" -> SyntaxKind.MORE;
-			case "move" -> SyntaxKind.MOVE;
-			case "moving" -> SyntaxKind.MOVING;
-			case "mp" -> SyntaxKind.MP;
-			case "ms" -> SyntaxKind.MS;
-			case "mt" -> SyntaxKind.MT;
-			case "multi-fetch" -> SyntaxKind.MULTI_FETCH;
-			case "multiply" -> SyntaxKind.MULTIPLY;
-			case "name" -> SyntaxKind.NAME;
-			case "named" -> SyntaxKind.NAMED;
-			case "namespace" -> SyntaxKind.NAMESPACE;
-			case "native" -> SyntaxKind.NATIVE;
-			case "naver" -> SyntaxKind.NAVER;
-			case "nc" -> SyntaxKind.NC;
-			case "ncount" -> SyntaxKind.NCOUNT;
-			case "ne" -> SyntaxKind.NE;
-			case "newpage" -> SyntaxKind.NEWPAGE;
-			case "nl" -> SyntaxKind.NL;
-			case "nmin" -> SyntaxKind.NMIN;
-			case "no" -> SyntaxKind.NO;
-			case "node" -> SyntaxKind.NODE;
-			case "nohdr" -> SyntaxKind.NOHDR;
-			case "none" -> SyntaxKind.NONE;
-			case "normalize" -> SyntaxKind.NORMALIZE;
-			case "normalized" -> SyntaxKind.NORMALIZED;
-			case "not" -> SyntaxKind.NOT;
-			case "notequal" -> SyntaxKind.NOTEQUAL;
-			case "notit" -> SyntaxKind.NOTIT;
-			case "notitle" -> SyntaxKind.NOTITLE;
-			case "null" -> SyntaxKind.NULL;
-			case "null-handle" -> SyntaxKind.NULL_HANDLE;
-			case "number" -> SyntaxKind.KW_NUMBER;
-			case "numeric" -> SyntaxKind.NUMERIC;
-			case "object" -> SyntaxKind.OBJECT;
-			case "obtain" -> SyntaxKind.OBTAIN;
-			case "occurrences" -> SyntaxKind.OCCURRENCES;
-			case "of" -> SyntaxKind.OF;
-			case "off" -> SyntaxKind.OFF;
-			case "offset" -> SyntaxKind.OFFSET;
-			case "old" -> SyntaxKind.OLD;
-			case "on" -> SyntaxKind.ON;
-			case "once" -> SyntaxKind.ONCE;
-			case "only" -> SyntaxKind.ONLY;
-			case "open" -> SyntaxKind.OPEN;
-			case "optimize" -> SyntaxKind.OPTIMIZE;
-			case "optional" -> SyntaxKind.OPTIONAL;
-			case "options" -> SyntaxKind.OPTIONS;
-			case "or" -> SyntaxKind.OR;
-			case "order" -> SyntaxKind.ORDER;
-			case "outer" -> SyntaxKind.OUTER;
-			case "output" -> SyntaxKind.OUTPUT;
-			case "packageset" -> SyntaxKind.PACKAGESET;
-			case "page" -> SyntaxKind.PAGE;
-			case "pages" -> SyntaxKind.PAGES;
-			case "parameter" -> SyntaxKind.PARAMETER;
-			case "parameters" -> SyntaxKind.PARAMETERS;
-			case "parent" -> SyntaxKind.PARENT;
-			case "parse" -> SyntaxKind.PARSE;
-			case "pass" -> SyntaxKind.PASS;
-			case "passw" -> SyntaxKind.PASSW;
-			case "password" -> SyntaxKind.PASSWORD;
-			case "path" -> SyntaxKind.PATH;
-			case "pattern" -> SyntaxKind.PATTERN;
-			case "pc" -> SyntaxKind.PC;
-			case "pd" -> SyntaxKind.PD;
-			case "pen" -> SyntaxKind.PEN;
-			case "perform" -> SyntaxKind.PERFORM;
-			case "pgdn" -> SyntaxKind.PGDN;
-			case "pgup" -> SyntaxKind.PGUP;
-			case "pgm" -> SyntaxKind.PGM;
-			case "physical" -> SyntaxKind.PHYSICAL;
-			case "pm" -> SyntaxKind.PM;
-			case "policy" -> SyntaxKind.POLICY;
-			case "pos" -> SyntaxKind.POS;
-			case "position" -> SyntaxKind.POSITION;
-			case "prefix" -> SyntaxKind.PREFIX;
-			case "print" -> SyntaxKind.PRINT;
-			case "printer" -> SyntaxKind.PRINTER;
-			case "process" -> SyntaxKind.PROCESS;
-			case "processing" -> SyntaxKind.PROCESSING;
-			case "profile" -> SyntaxKind.PROFILE;
-			case "program" -> SyntaxKind.PROGRAM;
-			case "property" -> SyntaxKind.PROPERTY;
-			case "prototype" -> SyntaxKind.PROTOTYPE;
-			case "prty" -> SyntaxKind.PRTY;
-			case "ps" -> SyntaxKind.PS;
-			case "pt" -> SyntaxKind.PT;
-			case "pw" -> SyntaxKind.PW;
-			case "quarter" -> SyntaxKind.QUARTER;
-			case "queryno" -> SyntaxKind.QUERYNO;
-			case "rd" -> SyntaxKind.RD;
-			case "read" -> SyntaxKind.READ;
-			case "readonly" -> SyntaxKind.READONLY;
-			case "rec" -> SyntaxKind.REC;
-			case "record" -> SyntaxKind.RECORD;
-			case "records" -> SyntaxKind.RECORDS;
-			case "recursively" -> SyntaxKind.RECURSIVELY;
-			case "redefine" -> SyntaxKind.REDEFINE;
-			case "reduce" -> SyntaxKind.REDUCE;
-			case "referenced" -> SyntaxKind.REFERENCED;
-			case "referencing" -> SyntaxKind.REFERENCING;
-			case "reinput" -> SyntaxKind.REINPUT;
-			case "reject" -> SyntaxKind.REJECT;
-			case "rel" -> SyntaxKind.REL;
-			case "relation" -> SyntaxKind.RELATION;
-			case "relationship" -> SyntaxKind.RELATIONSHIP;
-			case "release" -> SyntaxKind.RELEASE;
-			case "remainder" -> SyntaxKind.REMAINDER;
-			case "repeat" -> SyntaxKind.REPEAT;
-			case "replace" -> SyntaxKind.REPLACE;
-			case "report" -> SyntaxKind.REPORT;
-			case "reporter" -> SyntaxKind.REPORTER;
-			case "reposition" -> SyntaxKind.REPOSITION;
-			case "request" -> SyntaxKind.REQUEST;
-			case "required" -> SyntaxKind.REQUIRED;
-			case "reset" -> SyntaxKind.RESET;
-			case "resetting" -> SyntaxKind.RESETTING;
-			case "resize" -> SyntaxKind.RESIZE;
-			case "response" -> SyntaxKind.RESPONSE;
-			case "restore" -> SyntaxKind.RESTORE;
-			case "result" -> SyntaxKind.RESULT;
-			case "ret" -> SyntaxKind.RET;
-			case "retain" -> SyntaxKind.RETAIN;
-			case "retained" -> SyntaxKind.RETAINED;
-			case "retry" -> SyntaxKind.RETRY;
-			case "return" -> SyntaxKind.RETURN;
-			case "returns" -> SyntaxKind.RETURNS;
-			case "reversed" -> SyntaxKind.REVERSED;
-			case "rg" -> SyntaxKind.RG;
-			case "right" -> SyntaxKind.RIGHT;
-			case "rollback" -> SyntaxKind.ROLLBACK;
-			case "rounded" -> SyntaxKind.ROUNDED;
-			case "routine" -> SyntaxKind.ROUTINE;
-			case "row" -> SyntaxKind.ROW;
-			case "rows" -> SyntaxKind.ROWS;
-			case "rr" -> SyntaxKind.RR;
-			case "rs" -> SyntaxKind.RS;
-			case "rulevar" -> SyntaxKind.RULEVAR;
-			case "run" -> SyntaxKind.RUN;
-			case "sa" -> SyntaxKind.SA;
-			case "same" -> SyntaxKind.SAME;
-			case "scan" -> SyntaxKind.SCAN;
-			case "screen" -> SyntaxKind.SCREEN;
-			case "scroll" -> SyntaxKind.SCROLL;
-			case "second" -> SyntaxKind.SECOND;
-			case "select" -> SyntaxKind.SELECT;
-			case "selection" -> SyntaxKind.SELECTION;
-			case "send" -> SyntaxKind.SEND;
-			case "sensitive" -> SyntaxKind.SENSITIVE;
-			case "separate" -> SyntaxKind.SEPARATE;
-			case "separator" -> SyntaxKind.SEPARATOR;
-			case "sequence" -> SyntaxKind.SEQUENCE;
-			case "server" -> SyntaxKind.SERVER;
-			case "set" -> SyntaxKind.SET;
-			case "sets" -> SyntaxKind.SETS;
-			case "settime" -> SyntaxKind.SETTIME;
-			case "sf" -> SyntaxKind.SF;
-			case "sg" -> SyntaxKind.SG;
-			case "sgn" -> SyntaxKind.SGN;
-			case "shared" -> SyntaxKind.SHARED;
-			case "short" -> SyntaxKind.SHORT;
-			case "show" -> SyntaxKind.SHOW;
-			case "sin" -> SyntaxKind.SIN;
-			case "single" -> SyntaxKind.SINGLE;
-			case "size" -> SyntaxKind.SIZE;
-			case "skip" -> SyntaxKind.SKIP;
-			case "sl" -> SyntaxKind.SL;
-			case "sm" -> SyntaxKind.SM;
-			case "some" -> SyntaxKind.SOME;
-			case "sort" -> SyntaxKind.SORT;
-			case "sorted" -> SyntaxKind.SORTED;
-			case "sortkey" -> SyntaxKind.SORTKEY;
-			case "sound" -> SyntaxKind.SOUND;
-			case "space" -> SyntaxKind.SPACE;
-			case "specified" -> SyntaxKind.SPECIFIED;
-			case "sql" -> SyntaxKind.SQL;
-			case "sqlid" -> SyntaxKind.SQLID;
-			case "sqrt" -> SyntaxKind.SQRT;
-			case "stack" -> SyntaxKind.STACK;
-			case "start" -> SyntaxKind.START;
-			case "starting" -> SyntaxKind.STARTING;
-			case "statement" -> SyntaxKind.STATEMENT;
-			case "static" -> SyntaxKind.STATIC;
-			case "status" -> SyntaxKind.STATUS;
-			case "step" -> SyntaxKind.STEP;
-			case "stop" -> SyntaxKind.STOP;
-			case "store" -> SyntaxKind.STORE;
-			case "subcode" -> SyntaxKind.SUBCODE;
-			case "subprogram" -> SyntaxKind.SUBPROGRAM;
-			case "subprograms" -> SyntaxKind.SUBPROGRAMS;
-			case "subroutine" -> SyntaxKind.SUBROUTINE;
-			case "substr" -> SyntaxKind.SUBSTR;
-			case "substring" -> SyntaxKind.SUBSTRING;
-			case "subtract" -> SyntaxKind.SUBTRACT;
-			case "sum" -> SyntaxKind.SUM;
-			case "suppress" -> SyntaxKind.SUPPRESS;
-			case "suppressed" -> SyntaxKind.SUPPRESSED;
-			case "suspend" -> SyntaxKind.SUSPEND;
-			case "symbol" -> SyntaxKind.SYMBOL;
-			case "sync" -> SyntaxKind.SYNC;
-			case "system" -> SyntaxKind.SYSTEM;
-			case "tan" -> SyntaxKind.TAN;
-			case "tc" -> SyntaxKind.TC;
-			case "tcu" -> SyntaxKind.TCU;
-			case "terminate" -> SyntaxKind.TERMINATE;
-			case "text" -> SyntaxKind.TEXT;
-			case "textarea" -> SyntaxKind.TEXTAREA;
-			case "textvariable" -> SyntaxKind.TEXTVARIABLE;
-			case "than" -> SyntaxKind.THAN;
-			case "them" -> SyntaxKind.THEM;
-			case "then" -> SyntaxKind.THEN;
-			case "thru" -> SyntaxKind.THRU;
-			case "time" -> SyntaxKind.TIME;
-			case "timestamp" -> SyntaxKind.TIMESTAMP;
-			case "timezone" -> SyntaxKind.TIMEZONE;
-			case "title" -> SyntaxKind.TITLE;
-			case "to" -> SyntaxKind.TO;
-			case "top" -> SyntaxKind.TOP;
-			case "total" -> SyntaxKind.TOTAL;
-			case "tp" -> SyntaxKind.TP;
-			case "tr" -> SyntaxKind.TR;
-			case "trailer" -> SyntaxKind.TRAILER;
-			case "trailing" -> SyntaxKind.TRAILING;
-			case "transaction" -> SyntaxKind.TRANSACTION;
-			case "transfer" -> SyntaxKind.TRANSFER;
-			case "translate" -> SyntaxKind.TRANSLATE;
-			case "treq" -> SyntaxKind.TREQ;
-			case "true" -> SyntaxKind.TRUE;
-			case "ts" -> SyntaxKind.TS;
-			case "type" -> SyntaxKind.TYPE;
-			case "types" -> SyntaxKind.TYPES;
-			case "uc" -> SyntaxKind.UC;
-			case "underlined" -> SyntaxKind.UNDERLINED;
-			case "union" -> SyntaxKind.UNION;
-			case "unique" -> SyntaxKind.UNIQUE;
-			case "unknown" -> SyntaxKind.UNKNOWN;
-			case "until" -> SyntaxKind.UNTIL;
-			case "update" -> SyntaxKind.UPDATE;
-			case "upload" -> SyntaxKind.UPLOAD;
-			case "upper" -> SyntaxKind.UPPER;
-			case "ur" -> SyntaxKind.UR;
-			case "used" -> SyntaxKind.USED;
-			case "user" -> SyntaxKind.USER;
-			case "using" -> SyntaxKind.USING;
-			case "val" -> SyntaxKind.VAL;
-			case "value" -> SyntaxKind.VALUE;
-			case "values" -> SyntaxKind.VALUES;
-			case "vargraphic" -> SyntaxKind.VARGRAPHIC;
-			case "variable" -> SyntaxKind.VARIABLE;
-			case "variables" -> SyntaxKind.VARIABLES;
-			case "vert" -> SyntaxKind.VERT;
-			case "vertically" -> SyntaxKind.VERTICALLY;
-			case "via" -> SyntaxKind.VIA;
-			case "view" -> SyntaxKind.VIEW;
-			case "wh" -> SyntaxKind.WH;
-			case "when" -> SyntaxKind.WHEN;
-			case "where" -> SyntaxKind.WHERE;
-			case "while" -> SyntaxKind.WHILE;
-			case "window" -> SyntaxKind.WINDOW;
-			case "with" -> SyntaxKind.WITH;
-			case "work" -> SyntaxKind.WORK;
-			case "write" -> SyntaxKind.WRITE;
-			case "with_cte" -> SyntaxKind.WITH_CTE;
-			case "xml" -> SyntaxKind.XML;
-			case "year" -> SyntaxKind.YEAR;
-			case "zd" -> SyntaxKind.ZD;
-			case "zp" -> SyntaxKind.ZP;
-			default -> null;
-		};
+			hash = 31 * hash + keyword.charAt(i);
+		}
+
+		var slot = slotOf(hash);
+		while (KEYWORDS[slot] != null)
+		{
+			slot = (slot + 1) & TABLE_MASK;
+		}
+
+		KEYWORDS[slot] = keyword.toCharArray();
+		KINDS[slot] = kind;
+		longestKeyword = Math.max(longestKeyword, keyword.length());
 	}
 }
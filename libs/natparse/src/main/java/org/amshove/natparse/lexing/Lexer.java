@@ -3,8 +3,10 @@ package org.amshove.natparse.lexing;
 import org.amshove.natparse.AdditionalDiagnosticInfo;
 import org.amshove.natparse.IPosition;
 import org.amshove.natparse.lexing.text.SourceTextScanner;
+import org.amshove.natparse.lexing.text.SymbolPool;
 import org.amshove.natparse.natural.project.NaturalHeader;
 import org.amshove.natparse.natural.project.NaturalProgrammingMode;
+import org.jspecify.annotations.Nullable;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -13,20 +15,30 @@ import java.util.Objects;
 
 public class Lexer
 {
-	private final List<String> copyCodeParameter;
+	private static final ThreadLocal<Lexer> POOLED_LEXER = ThreadLocal.withInitial(Lexer::new);
+
+	private List<String> copyCodeParameter;
 	private SourceTextScanner scanner;
-	private List<SyntaxToken> tokens;
+	private final CompactTokenStorage lexedTokens = new CompactTokenStorage(16);
+	private CompactTokenStorage tokens;
+	private final List<SyntaxToken> lexedComments = new ArrayList<>();
+	private final List<LexerDiagnostic> lexedDiagnostics = new ArrayList<>();
 	private List<SyntaxToken> comments;
 	private int line;
 	private int currentLineStartOffset;
 	private Path filePath;
 	private NaturalHeader sourceHeader;
 	private IPosition relocatedDiagnosticPosition;
+	private SymbolPool symbolPool;
 
 	private int parensLevel;
 	private boolean inSourceHeader;
 	private boolean sourceHeaderDone;
-	private SyntaxToken lastBeforeOpenParens;
+	private SyntaxKind kindBeforeOpenParens;
+	private SyntaxKind stopAfterKind;
+	private int stopTokenIndex;
+	private boolean keepRelexState;
+	private boolean recordLineStarts;
 
 	private NaturalProgrammingMode programmingMode = NaturalProgrammingMode.UNKNOWN;
 	private int lineIncrement = 10;
@@ -42,6 +54,7 @@ public class Lexer
 	private LexerMode lexerMode = LexerMode.DEFAULT;
 
 	private static final List<String> NO_PARAMETER = List.of();
+	private static final byte UNRESUMABLE_LINE = -1;
 
 	public Lexer()
 	{
@@ -53,291 +66,615 @@ public class Lexer
 		this.copyCodeParameter = copyCodeParameter;
 	}
 
-	public TokenList lex(String source, Path filePath)
+	/**
+	 * Returns the lexer of the current thread. The lexer, its scanner and its working buffers are reused for every
+	 * source lexed on the thread, so that lexing the same modules over and over again, e.g. while editing, produces
+	 * almost no garbage besides the returned {@link TokenList}.<br/>
+	 * The returned lexer is only valid until the next call of this method on the same thread. This makes it
+	 * unsuitable for {@link #stream(CharSequence, Path)}, unless the stream is fully consumed before.
+	 */
+	public static Lexer pooled()
 	{
-		this.filePath = filePath;
-		tokens = new ArrayList<>();
+		return pooled(NO_PARAMETER);
+	}
+
+	/**
+	 * Returns the lexer of the current thread configured to substitute the given copy code parameter.
+	 *
+	 * @see #pooled()
+	 */
+	public static Lexer pooled(List<String> copyCodeParameter)
+	{
+		var lexer = POOLED_LEXER.get();
+		lexer.copyCodeParameter = copyCodeParameter;
+		lexer.relocatedDiagnosticPosition = null;
+		lexer.symbolPool = null;
+		lexer.keepRelexState = false;
+		return lexer;
+	}
+
+	public TokenList lex(CharSequence source, Path filePath)
+	{
+		return lex(source, filePath, null);
+	}
+
+	/**
+	 * Lexes the source only until the token directly after the first token of the given kind has been lexed.<br/>
+	 * This is meant for callers that only need something out of the header of a module, e.g. the name of an external
+	 * subroutine, and don't want to pay for lexing the whole module. If no token of the given kind is found, the whole
+	 * source is lexed.
+	 */
+	public TokenList lexUntilTokenAfter(CharSequence source, Path filePath, SyntaxKind kind)
+	{
+		return lex(source, filePath, kind);
+	}
+
+	/**
+	 * Lexes the source lazily while the returned {@link TokenStream} is consumed. The stream yields the same tokens with
+	 * the same positions as {@link #lex(CharSequence, Path)} would, but only lexes as far as the consumer has looked
+	 * ahead and forgets tokens it has already advanced over.<br/>
+	 * This is meant for single forward passes over a module, which can stop whenever they found what they need.
+	 */
+	public TokenStream stream(CharSequence source, Path filePath)
+	{
+		begin(source, filePath, null);
+		recordLineStarts = false;
 		diagnostics = new ArrayList<>();
 		comments = new ArrayList<>();
-		scanner = new SourceTextScanner(source, copyCodeParameter);
-		sourceHeader = new NaturalHeader(NaturalProgrammingMode.UNKNOWN, 0);
-		line = 0;
-		currentLineStartOffset = 0;
+		tokens = new CompactTokenStorage(TokenStream.BUFFER_SIZE);
+		tokens.reset(scanner.sourceText(), filePath, relocatedDiagnosticPosition, symbolPool);
+		return new TokenStream(this, tokens, diagnostics, comments);
+	}
+
+	/**
+	 * Lexes until the token at the given index is available or the end of the source is reached.
+	 *
+	 * @return true if the token at the index exists
+	 */
+	boolean lexUntilAvailable(int index)
+	{
+		while (tokens.size() <= index && !scanner.isAtEnd())
+		{
+			consumeNextLexeme();
+		}
+		return index < tokens.size();
+	}
+
+	private TokenList lex(CharSequence source, Path filePath, SyntaxKind stopAfterKind)
+	{
+		begin(source, filePath, stopAfterKind);
+		lexedDiagnostics.clear();
+		lexedComments.clear();
+		diagnostics = lexedDiagnostics;
+		comments = lexedComments;
+		tokens = lexedTokens;
+		tokens.reset(scanner.sourceText(), filePath, relocatedDiagnosticPosition, symbolPool);
+		recordLineStarts = keepRelexState && stopAfterKind == null && copyCodeParameter.isEmpty() && relocatedDiagnosticPosition == null;
+		recordLineStart();
+
+		while (!scanner.isAtEnd() && !isStopTokenReached())
+		{
+			consumeNextLexeme();
+		}
+
+		var lexed = tokens.trimmedCopy();
+		if (!scanner.isAtEnd())
+		{
+			// Stopped early, the rest of the source is never looked at by the tokens
+			lexed.truncateSource(scanner.position());
+		}
+		var tokenList = new TokenList(filePath, lexed, List.copyOf(diagnostics), List.copyOf(comments), sourceHeader);
+		releaseLexedSource();
+		return tokenList;
+	}
+
+	/**
+	 * Lexes a changed version of the source that {@code previous} has been lexed from and returns the same result as
+	 * {@link #lex(CharSequence, Path)} would.<br/>
+	 * The changed range is determined by comparing both sources. Lexing resumes at the last line before the change
+	 * where the lexer wasn't within parens or the source header and stops as soon as it reaches a line after the change
+	 * in the same state as the previous lex did. All tokens, comments and diagnostics before and after are taken over
+	 * from {@code previous}, so the effort depends on the size of the change instead of the size of the module.<br/>
+	 * Falls back to lexing everything if {@code previous} can't be used, e.g. because it has been lexed with copy code
+	 * parameter or without {@link #keepRelexState()}. The returned TokenList can be relexed again.
+	 */
+	public TokenList relex(TokenList previous, CharSequence source)
+	{
+		keepRelexState = true;
+		if (!(previous.storage() instanceof CompactTokenStorage previousTokens)
+			|| previousTokens.lineCount() == 0
+			|| !copyCodeParameter.isEmpty()
+			|| relocatedDiagnosticPosition != null)
+		{
+			return lex(source, previous.filePath());
+		}
 
+		var previousSource = previousTokens.source();
+		var previousLength = previousSource.length();
+		var newLength = source.length();
+		var commonLength = Math.min(previousLength, newLength);
+		var commonPrefix = 0;
+		while (commonPrefix < commonLength && previousSource.charAt(commonPrefix) == source.charAt(commonPrefix))
+		{
+			commonPrefix++;
+		}
+		var commonSuffix = 0;
+		while (commonSuffix < commonLength - commonPrefix
+			&& previousSource.charAt(previousLength - 1 - commonSuffix) == source.charAt(newLength - 1 - commonSuffix))
+		{
+			commonSuffix++;
+		}
+
+		// Start one line before the changed line, because the lexer might have peeked into the changed line
+		var restartLine = previousTokens.lineIndexAt(commonPrefix) - 1;
+		while (restartLine > 0 && previousTokens.lineState(restartLine) == UNRESUMABLE_LINE)
+		{
+			restartLine--;
+		}
+		if (restartLine <= 0)
+		{
+			return lex(source, previous.filePath());
+		}
+
+		var restartOffset = previousTokens.lineStartOffset(restartLine);
+		begin(source, previous.filePath(), null);
+		lexedDiagnostics.clear();
+		lexedComments.clear();
+		diagnostics = lexedDiagnostics;
+		comments = lexedComments;
+		tokens = lexedTokens;
+		tokens.reset(scanner.sourceText(), filePath, null, symbolPool);
+		recordLineStarts = true;
+
+		tokens.addFrom(previousTokens, 0, previousTokens.lineStartToken(restartLine), 0, 0);
+		tokens.addLineStartsFrom(previousTokens, 0, restartLine, 0, 0, 0);
+		for (var comment : previous.comments())
+		{
+			if (comment.offset() < restartOffset)
+			{
+				comments.add(comment);
+			}
+		}
+		for (var diagnostic : previous.lexerDiagnostics())
+		{
+			if (diagnostic.offset() < restartOffset)
+			{
+				diagnostics.add(diagnostic);
+			}
+		}
+
+		restoreLineState(previousTokens.lineState(restartLine), previous.sourceHeader());
+		scanner.advance(restartOffset);
+		currentLineStartOffset = restartOffset;
+		line = previousTokens.lineNumber(restartLine);
+		recordLineStart();
+
+		var offsetDelta = newLength - previousLength;
+		var firstUnchangedOffset = newLength - commonSuffix;
 		while (!scanner.isAtEnd())
 		{
-			if (!sourceHeaderDone && consumeNaturalHeader())
+			consumeNextLexeme();
+			if (scanner.position() >= firstUnchangedOffset
+				&& scanner.position() == currentLineStartOffset
+				&& trySpliceRemainder(previous, previousTokens, offsetDelta))
 			{
-				continue;
+				break;
 			}
+		}
 
-			if (lexerMode != LexerMode.IN_DATA_TYPE && consumeComment())
+		var tokenList = new TokenList(filePath, tokens.trimmedCopy(), List.copyOf(diagnostics), List.copyOf(comments), sourceHeader);
+		releaseLexedSource();
+		return tokenList;
+	}
+
+	/**
+	 * Takes over all tokens after the current line start from the previous lex, if the lexer is in the same state as it
+	 * was at the same line in the previous lex.
+	 */
+	private boolean trySpliceRemainder(TokenList previous, CompactTokenStorage previousTokens, int offsetDelta)
+	{
+		var previousLineStart = scanner.position() - offsetDelta;
+		var previousLine = previousTokens.lineIndexStartingAt(previousLineStart);
+		if (previousLine < 0 || previousTokens.lineState(previousLine) != currentLineState() || currentLineState() == UNRESUMABLE_LINE)
+		{
+			return false;
+		}
+
+		// The lexer looks back at the last two tokens
+		var previousFirstToken = previousTokens.lineStartToken(previousLine);
+		for (var lookBehind = 1; lookBehind <= 2; lookBehind++)
+		{
+			var currentKind = tokens.size() >= lookBehind ? tokens.kind(tokens.size() - lookBehind) : null;
+			var previousKind = previousFirstToken >= lookBehind ? previousTokens.kind(previousFirstToken - lookBehind) : null;
+			if (currentKind != previousKind)
 			{
-				continue;
+				return false;
 			}
+		}
 
-			switch (scanner.peek())
+		var lineDelta = line - previousTokens.lineNumber(previousLine);
+		var tokenDelta = tokens.size() - previousFirstToken;
+		tokens.addLineStartsFrom(previousTokens, previousLine + 1, previousTokens.lineCount(), offsetDelta, lineDelta, tokenDelta);
+		tokens.addFrom(previousTokens, previousFirstToken, previousTokens.size(), offsetDelta, lineDelta);
+		for (var comment : previous.comments())
+		{
+			if (comment.offset() >= previousLineStart)
 			{
-				case ' ':
-				case '\t':
-				case '\r':
-					scanner.advance();
-					continue;
-				case '\n':
-					consumeNewLine();
-					continue;
-				case '(':
-					if (consumeNumberedLabel())
-					{
-						continue;
-					}
-					else
-					{
-						parensLevel++;
-						lastBeforeOpenParens = previous();
-						if (lexerMode == LexerMode.IN_DEFINE_DATA && lastBeforeOpenParens != null && lastBeforeOpenParens.kind() != SyntaxKind.LESSER_SIGN)
-						{
-							lexerMode = LexerMode.IN_DATA_TYPE;
-						}
-						createAndAddCurrentSingleToken(SyntaxKind.LPAREN);
-						continue;
-					}
-				case ')':
-					parensLevel--;
-					if (lexerMode == LexerMode.IN_DATA_TYPE)
-					{
-						lexerMode = LexerMode.IN_DEFINE_DATA;
-					}
-					lastBeforeOpenParens = null;
-					createAndAddCurrentSingleToken(SyntaxKind.RPAREN);
-					continue;
-				case '[':
-					createAndAddCurrentSingleToken(SyntaxKind.LBRACKET);
-					continue;
-				case ']':
-					createAndAddCurrentSingleToken(SyntaxKind.RBRACKET);
-					continue;
-				case '=':
-					createAndAddCurrentSingleToken(SyntaxKind.EQUALS_SIGN);
-					continue;
-				case ':':
-					createAndAddFollowupEquals(SyntaxKind.COLON, SyntaxKind.COLON_EQUALS_SIGN);
-					continue;
-				case '+':
-					if (isValidAivStartAfterPlus(scanner.peek(1))
-						&& (hasSpaceBetweenThisAndLast()
-							|| previousWasNoLiteralOrIdentifier()))
-					{
-						consumeIdentifier();
-					}
-					else
-					{
-						createAndAddCurrentSingleToken(SyntaxKind.PLUS);
-					}
-					continue;
-				case '-':
-					createAndAddCurrentSingleToken(SyntaxKind.MINUS);
-					continue;
-				case '*':
-					consumeAsteriskOrSystemVariable();
-					continue;
-				case '/':
-					createAndAddCurrentSingleToken(SyntaxKind.SLASH);
-					continue;
-				case '\\':
-					createAndAddCurrentSingleToken(SyntaxKind.BACKSLASH);
-					continue;
-				case ';':
-					createAndAddCurrentSingleToken(SyntaxKind.SEMICOLON);
-					continue;
-				case '>':
-					createAndAddFollowupEquals(SyntaxKind.GREATER_SIGN, SyntaxKind.GREATER_EQUALS_SIGN);
-					continue;
-				case '<':
-					if (tryCreateIfFollowedBy('=', SyntaxKind.LESSER_EQUALS_SIGN)
-						|| tryCreateIfFollowedBy('>', SyntaxKind.LESSER_GREATER))
-					{
-						continue;
-					}
-					createAndAddCurrentSingleToken(SyntaxKind.LESSER_SIGN);
-					continue;
-				case '.':
-					createAndAddCurrentSingleToken(SyntaxKind.DOT);
-					continue;
-				case ',':
-					createAndAddCurrentSingleToken(SyntaxKind.COMMA);
-					continue;
-				case '\'':
-					consumeString('\'');
-					continue;
-				case '"':
-					consumeString('"');
-					continue;
-				case '^':
-					if (tryCreateIfFollowedBy('=', SyntaxKind.CIRCUMFLEX_EQUAL))
-					{
-						continue;
-					}
-					createAndAddCurrentSingleToken(SyntaxKind.CARET);
-					continue;
-				case '!':
-					if (tryCreateIfFollowedBy('!', SyntaxKind.SQL_CONCAT))
-					{
-						continue;
-					}
-					// Single ! is likely to be the ID (Input delimiter char, in most cases this could be comma instead)
-					createAndAddCurrentSingleToken(SyntaxKind.COMMA);
-					continue;
-				case '%':
-					createAndAddCurrentSingleToken(SyntaxKind.PERCENT);
-					continue;
-				case '_':
-					createAndAddCurrentSingleToken(SyntaxKind.UNDERSCORE);
-					continue;
-				case '\u00A7': // §
-					createAndAddCurrentSingleToken(SyntaxKind.SECTION_SYMBOL);
-					continue;
-				case '?':
-					createAndAddCurrentSingleToken(SyntaxKind.QUESTIONMARK);
-					continue;
-				case 'h':
-				case 'H':
-					if (scanner.peek(1) == '\'')
-					{
-						consumeHexLiteral();
-					}
-					else
-					{
-						consumeIdentifierOrKeyword();
-					}
-					continue;
-				case 't':
-				case 'T':
-					if (scanner.peek(1) == '\'')
-					{
-						consumeTimeLiteral();
-					}
-					else
+				comments.add(
+					SyntaxTokenFactory.create(
+						SyntaxKind.COMMENT,
+						comment.offset() + offsetDelta,
+						comment.offsetInLine(),
+						comment.line() + lineDelta,
+						comment.source(),
+						filePath
+					)
+				);
+			}
+		}
+		for (var diagnostic : previous.lexerDiagnostics())
+		{
+			if (diagnostic.offset() >= previousLineStart)
+			{
+				diagnostics.add(diagnostic.moveBy(offsetDelta, lineDelta));
+			}
+		}
+
+		return true;
+	}
+
+	private void recordLineStart()
+	{
+		if (recordLineStarts)
+		{
+			tokens.addLineStart(currentLineStartOffset, line, currentLineState());
+		}
+	}
+
+	/**
+	 * Encodes everything the lexer needs to resume lexing at the start of a line.
+	 */
+	private byte currentLineState()
+	{
+		if (parensLevel != 0 || inSourceHeader)
+		{
+			return UNRESUMABLE_LINE;
+		}
+
+		return (byte) (lexerMode.ordinal() << 1 | (sourceHeaderDone ? 1 : 0));
+	}
+
+	private void restoreLineState(byte state, NaturalHeader previousSourceHeader)
+	{
+		lexerMode = LexerMode.values()[state >> 1];
+		sourceHeaderDone = (state & 1) == 1;
+		if (sourceHeaderDone)
+		{
+			sourceHeader = previousSourceHeader;
+			programmingMode = previousSourceHeader.getProgrammingMode();
+			lineIncrement = previousSourceHeader.getLineIncrement();
+		}
+	}
+
+	/**
+	 * Forgets everything that refers to the source that has just been lexed. The {@link #pooled()} lexer lives as long
+	 * as its thread, which would otherwise keep the last source and its tokens alive.
+	 */
+	private void releaseLexedSource()
+	{
+		scanner.restart("", NO_PARAMETER);
+		lexedTokens.release();
+		lexedComments.clear();
+		lexedDiagnostics.clear();
+		tokens = null;
+		comments = null;
+		diagnostics = null;
+		filePath = null;
+		sourceHeader = null;
+	}
+
+	private void begin(CharSequence source, Path filePath, SyntaxKind stopAfterKind)
+	{
+		this.filePath = filePath;
+		this.stopAfterKind = stopAfterKind;
+		if (scanner == null)
+		{
+			scanner = new SourceTextScanner(source, copyCodeParameter);
+		}
+		else
+		{
+			scanner.restart(source, copyCodeParameter);
+		}
+		sourceHeader = new NaturalHeader(NaturalProgrammingMode.UNKNOWN, 0);
+		line = 0;
+		currentLineStartOffset = 0;
+		stopTokenIndex = -1;
+		parensLevel = 0;
+		inSourceHeader = false;
+		sourceHeaderDone = false;
+		kindBeforeOpenParens = null;
+		programmingMode = NaturalProgrammingMode.UNKNOWN;
+		lineIncrement = 10;
+		lexerMode = LexerMode.DEFAULT;
+	}
+
+	private boolean isStopTokenReached()
+	{
+		return stopTokenIndex >= 0 && tokens.size() > stopTokenIndex + 1;
+	}
+
+	private void consumeNextLexeme()
+	{
+		if (!sourceHeaderDone && consumeNaturalHeader())
+		{
+			return;
+		}
+
+		if (lexerMode != LexerMode.IN_DATA_TYPE && consumeComment())
+		{
+			return;
+		}
+
+		switch (scanner.peek())
+		{
+			case ' ':
+			case '\t':
+			case '\r':
+				scanner.advanceOverBlanks();
+				return;
+			case '\n':
+				consumeNewLine();
+				return;
+			case '(':
+				if (consumeNumberedLabel())
+				{
+					return;
+				}
+				else
+				{
+					parensLevel++;
+					kindBeforeOpenParens = previousKind();
+					if (lexerMode == LexerMode.IN_DEFINE_DATA && kindBeforeOpenParens != null && kindBeforeOpenParens != SyntaxKind.LESSER_SIGN)
 					{
-						consumeIdentifierOrKeyword();
+						lexerMode = LexerMode.IN_DATA_TYPE;
 					}
-					continue;
-				case 'a':
-				case 'A':
-				case 'b':
-				case 'B':
-				case 'c':
-				case 'C':
+					createAndAddCurrentSingleToken(SyntaxKind.LPAREN);
+					return;
+				}
+			case ')':
+				parensLevel--;
+				if (lexerMode == LexerMode.IN_DATA_TYPE)
+				{
+					lexerMode = LexerMode.IN_DEFINE_DATA;
+				}
+				kindBeforeOpenParens = null;
+				createAndAddCurrentSingleToken(SyntaxKind.RPAREN);
+				return;
+			case '[':
+				createAndAddCurrentSingleToken(SyntaxKind.LBRACKET);
+				return;
+			case ']':
+				createAndAddCurrentSingleToken(SyntaxKind.RBRACKET);
+				return;
+			case '=':
+				createAndAddCurrentSingleToken(SyntaxKind.EQUALS_SIGN);
+				return;
+			case ':':
+				createAndAddFollowupEquals(SyntaxKind.COLON, SyntaxKind.COLON_EQUALS_SIGN);
+				return;
+			case '+':
+				if (isValidAivStartAfterPlus(scanner.peek(1))
+					&& (hasSpaceBetweenThisAndLast()
+						|| previousWasNoLiteralOrIdentifier()))
+				{
+					consumeIdentifier();
+				}
+				else
+				{
+					createAndAddCurrentSingleToken(SyntaxKind.PLUS);
+				}
+				return;
+			case '-':
+				createAndAddCurrentSingleToken(SyntaxKind.MINUS);
+				return;
+			case '*':
+				consumeAsteriskOrSystemVariable();
+				return;
+			case '/':
+				createAndAddCurrentSingleToken(SyntaxKind.SLASH);
+				return;
+			case '\\':
+				createAndAddCurrentSingleToken(SyntaxKind.BACKSLASH);
+				return;
+			case ';':
+				createAndAddCurrentSingleToken(SyntaxKind.SEMICOLON);
+				return;
+			case '>':
+				createAndAddFollowupEquals(SyntaxKind.GREATER_SIGN, SyntaxKind.GREATER_EQUALS_SIGN);
+				return;
+			case '<':
+				if (tryCreateIfFollowedBy('=', SyntaxKind.LESSER_EQUALS_SIGN)
+					|| tryCreateIfFollowedBy('>', SyntaxKind.LESSER_GREATER))
+				{
+					return;
+				}
+				createAndAddCurrentSingleToken(SyntaxKind.LESSER_SIGN);
+				return;
+			case '.':
+				createAndAddCurrentSingleToken(SyntaxKind.DOT);
+				return;
+			case ',':
+				createAndAddCurrentSingleToken(SyntaxKind.COMMA);
+				return;
+			case '\'':
+				consumeString('\'');
+				return;
+			case '"':
+				consumeString('"');
+				return;
+			case '^':
+				if (tryCreateIfFollowedBy('=', SyntaxKind.CIRCUMFLEX_EQUAL))
+				{
+					return;
+				}
+				createAndAddCurrentSingleToken(SyntaxKind.CARET);
+				return;
+			case '!':
+				if (tryCreateIfFollowedBy('!', SyntaxKind.SQL_CONCAT))
+				{
+					return;
+				}
+				// Single ! is likely to be the ID (Input delimiter char, in most cases this could be comma instead)
+				createAndAddCurrentSingleToken(SyntaxKind.COMMA);
+				return;
+			case '%':
+				createAndAddCurrentSingleToken(SyntaxKind.PERCENT);
+				return;
+			case '_':
+				createAndAddCurrentSingleToken(SyntaxKind.UNDERSCORE);
+				return;
+			case '\u00A7': // §
+				createAndAddCurrentSingleToken(SyntaxKind.SECTION_SYMBOL);
+				return;
+			case '?':
+				createAndAddCurrentSingleToken(SyntaxKind.QUESTIONMARK);
+				return;
+			case 'h':
+			case 'H':
+				if (scanner.peek(1) == '\'')
+				{
+					consumeHexLiteral();
+				}
+				else
+				{
 					consumeIdentifierOrKeyword();
-					continue;
-				case 'd':
-				case 'D':
-					if (scanner.peek(1) == '\'')
-					{
-						consumeDateLiteral();
-					}
-					else
-					{
-						consumeIdentifierOrKeyword();
-					}
-					continue;
-				case 'e':
-				case 'E':
-					if (scanner.peek(1) == '\'')
-					{
-						consumeExtendedTimeLiteral();
-					}
-					else
-					{
-						consumeIdentifierOrKeyword();
-					}
-					continue;
-				case 'f':
-				case 'F':
-				case 'g':
-				case 'G':
-				case 'i':
-				case 'I':
-				case 'j':
-				case 'J':
-				case 'k':
-				case 'K':
-				case 'l':
-				case 'L':
-				case 'm':
-				case 'M':
-				case 'n':
-				case 'N':
-				case 'o':
-				case 'O':
-				case 'p':
-				case 'P':
-				case 'q':
-				case 'Q':
-				case 'r':
-				case 'R':
-				case 's':
-				case 'S':
-				case 'u':
-				case 'U':
-				case 'v':
-				case 'V':
-				case 'w':
-				case 'W':
-				case 'x':
-				case 'X':
-				case 'y':
-				case 'Y':
-				case 'z':
-				case 'Z':
-				case '\u00C5': // (char) 0xc385: // AA
-				case '\u00C6': // (char) 0xc386: // AE
-				case '\u00D8': // (char) 0xc398: // OE
-				case '\u00E6': // (char) 0xc3a6: // ae
-				case '\u00E5': // (char) 0xc3a5: // aa
-				case '\u00F8': // (char) 0xc3b8: // oe
+				}
+				return;
+			case 't':
+			case 'T':
+				if (scanner.peek(1) == '\'')
+				{
+					consumeTimeLiteral();
+				}
+				else
+				{
 					consumeIdentifierOrKeyword();
-					continue;
-				case '#':
-					consumeIdentifier();
-					continue;
-				case '&':
-					consumeIdentifierOrCopyCodeParameter();
-					continue;
-				case '0':
-				case '1':
-				case '2':
-				case '3':
-				case '4':
-				case '5':
-				case '6':
-				case '7':
-				case '8':
-				case '9':
-					consumeNumber();
-					continue;
-				case '¬':
-					if (tryCreateIfFollowedBy('=', SyntaxKind.NOT_SIGN_EQUAL))
-					{
-						continue;
-					}
-					// Fall through, `¬` is only valid with an `=` after
-				default:
-					diagnostics.add(
-						LexerDiagnostic.create(
-							"Unknown character [%c]".formatted(scanner.peek()),
-							scanner.position(),
-							getOffsetInLine(),
-							line,
-							1,
-							filePath,
-							LexerError.UNKNOWN_CHARACTER
-						)
-					);
-					scanner.advance();
-			}
+				}
+				return;
+			case 'a':
+			case 'A':
+			case 'b':
+			case 'B':
+			case 'c':
+			case 'C':
+				consumeIdentifierOrKeyword();
+				return;
+			case 'd':
+			case 'D':
+				if (scanner.peek(1) == '\'')
+				{
+					consumeDateLiteral();
+				}
+				else
+				{
+					consumeIdentifierOrKeyword();
+				}
+				return;
+			case 'e':
+			case 'E':
+				if (scanner.peek(1) == '\'')
+				{
+					consumeExtendedTimeLiteral();
+				}
+				else
+				{
+					consumeIdentifierOrKeyword();
+				}
+				return;
+			case 'f':
+			case 'F':
+			case 'g':
+			case 'G':
+			case 'i':
+			case 'I':
+			case 'j':
+			case 'J':
+			case 'k':
+			case 'K':
+			case 'l':
+			case 'L':
+			case 'm':
+			case 'M':
+			case 'n':
+			case 'N':
+			case 'o':
+			case 'O':
+			case 'p':
+			case 'P':
+			case 'q':
+			case 'Q':
+			case 'r':
+			case 'R':
+			case 's':
+			case 'S':
+			case 'u':
+			case 'U':
+			case 'v':
+			case 'V':
+			case 'w':
+			case 'W':
+			case 'x':
+			case 'X':
+			case 'y':
+			case 'Y':
+			case 'z':
+			case 'Z':
+			case '\u00C5': // (char) 0xc385: // AA
+			case '\u00C6': // (char) 0xc386: // AE
+			case '\u00D8': // (char) 0xc398: // OE
+			case '\u00E6': // (char) 0xc3a6: // ae
+			case '\u00E5': // (char) 0xc3a5: // aa
+			case '\u00F8': // (char) 0xc3b8: // oe
+				consumeIdentifierOrKeyword();
+				return;
+			case '#':
+				consumeIdentifier();
+				return;
+			case '&':
+				consumeIdentifierOrCopyCodeParameter();
+				return;
+			case '0':
+			case '1':
+			case '2':
+			case '3':
+			case '4':
+			case '5':
+			case '6':
+			case '7':
+			case '8':
+			case '9':
+				consumeNumber();
+				return;
+			case '¬':
+				if (tryCreateIfFollowedBy('=', SyntaxKind.NOT_SIGN_EQUAL))
+				{
+					return;
+				}
+				// Fall through, `¬` is only valid with an `=` after
+			default:
+				diagnostics.add(
+					LexerDiagnostic.create(
+						"Unknown character [%c]".formatted(scanner.peek()),
+						scanner.position(),
+						getOffsetInLine(),
+						line,
+						1,
+						filePath,
+						LexerError.UNKNOWN_CHARACTER
+					)
+				);
+				scanner.advance();
 		}
-		return TokenList.fromTokensAndDiagnostics(filePath, tokens, diagnostics, comments, sourceHeader);
 	}
 
 	private void consumeIdentifierOrCopyCodeParameter()
@@ -376,14 +713,13 @@ public class Lexer
 
 	private boolean previousWasNoLiteralOrIdentifier()
 	{
-		var previous = previous();
-		return previous != null && !(previous.kind().isLiteralOrConst() || previous.kind().isIdentifier());
+		var previousKind = previousKind();
+		return previousKind != null && !(previousKind.isLiteralOrConst() || previousKind.isIdentifier());
 	}
 
 	private boolean hasSpaceBetweenThisAndLast()
 	{
-		var previous = previous();
-		return previous == null || previous.totalEndOffset() != scanner.position();
+		return tokens.isEmpty() || tokens.totalEndOffset(tokens.size() - 1) != scanner.position();
 	}
 
 	private void consumeNewLine()
@@ -391,6 +727,7 @@ public class Lexer
 		line++;
 		scanner.advance();
 		currentLineStartOffset = scanner.position();
+		recordLineStart();
 	}
 
 	public void relocateDiagnosticPosition(IPosition diagnosticPosition)
@@ -398,12 +735,33 @@ public class Lexer
 		this.relocatedDiagnosticPosition = diagnosticPosition;
 	}
 
+	/**
+	 * Keeps the source and the state of the lexer at every line start in the lexed {@link TokenList}, which is what
+	 * {@link #relex(TokenList, CharSequence)} needs to only lex the changed lines. Without it, a lexed TokenList only
+	 * keeps its tokens.
+	 */
+	public Lexer keepRelexState()
+	{
+		this.keepRelexState = true;
+		return this;
+	}
+
+	/**
+	 * Pools the sources and symbol names of identifiers in the given pool, which is usually the one of the project
+	 * the lexed module belongs to. Without a pool only the sources are pooled by the
+	 * {@link org.amshove.natparse.lexing.text.StringPool}.
+	 */
+	public Lexer internSymbolsIn(@Nullable SymbolPool symbolPool)
+	{
+		this.symbolPool = symbolPool;
+		return this;
+	}
+
 	private void consumeAsteriskOrSystemVariable()
 	{
 		if (scanner.peek(1) == '*')
 		{
-			var prev = previous();
-			if (prev == null || prev.kind() != SyntaxKind.MARK)
+			if (previousKind() != SyntaxKind.MARK)
 			{
 				scanner.start();
 				scanner.advance(2); // "**"
@@ -913,8 +1271,7 @@ public class Lexer
 
 	private boolean consumeNumberedLabel()
 	{
-		var previous = previous();
-		if (previous != null && previous.kind() == SyntaxKind.IDENTIFIER)
+		if (previousKind() == SyntaxKind.IDENTIFIER)
 		{
 			return false;
 		}
@@ -1036,7 +1393,7 @@ public class Lexer
 		if (isInParens() && scanner.peek(2) == '=')
 		{
 			var attributeLookahead = scanner.peekText(3).toUpperCase();
-			var previous = previous();
+			var tokenCountBefore = tokens.size();
 			switch (attributeLookahead)
 			{
 				case "AD=" -> attributeDefinition();
@@ -1064,7 +1421,7 @@ public class Lexer
 				case "LS=" -> lineSize();
 			}
 
-			if (previous() != previous) // check that we consumed something
+			if (tokens.size() != tokenCountBefore) // check that we consumed something
 			{
 				return;
 			}
@@ -1072,7 +1429,7 @@ public class Lexer
 
 		if (isInParens() && tokens.size() > 2)
 		{
-			var prevLastToken = tokens.get(tokens.size() - 2).kind();
+			var prevLastToken = previousKindUnsafe(2);
 
 			if (prevLastToken == SyntaxKind.STRING_LITERAL
 				&& (scanner.peekText("TU") ||
@@ -1147,7 +1504,7 @@ public class Lexer
 
 			if (scanner.peek() == '/')
 			{
-				var possibleKeyword = KeywordTable.getKeyword(scanner.lexemeText());
+				var possibleKeyword = lexemeKeyword();
 				var asteriskFollows = scanner.peek(1) == '*';
 				if (possibleKeyword != null && asteriskFollows)
 				{
@@ -1158,7 +1515,7 @@ public class Lexer
 
 				kindHint = SyntaxKind.IDENTIFIER;
 
-				if (asteriskFollows && tokens.get(tokens.size() - 1).kind() == SyntaxKind.INCLUDE)
+				if (asteriskFollows && previousKindUnsafe(1) == SyntaxKind.INCLUDE)
 				{
 					// The slash belongs to a comment, and we aren't parsing an array definition.
 					// TODO(lexermode): This should no longer be needed when the array definition is
@@ -1228,11 +1585,15 @@ public class Lexer
 			return;
 		}
 
-		var lexeme = scanner.lexemeText();
-		var kind = KeywordTable.getKeyword(lexeme);
+		var kind = lexemeKeyword();
 		createAndAdd(Objects.requireNonNullElse(kind, SyntaxKind.IDENTIFIER));
 	}
 
+	private SyntaxKind lexemeKeyword()
+	{
+		return KeywordTable.getKeyword(scanner.sourceText(), scanner.lexemeStart(), scanner.lexemeLength());
+	}
+
 	private void controlVariableAttribute()
 	{
 		scanner.start();
@@ -1535,10 +1896,7 @@ public class Lexer
 		}
 
 		scanner.start();
-		while (!isLineEnd() && !scanner.isAtEnd())
-		{
-			scanner.advance();
-		}
+		scanner.advanceToLineEnd();
 		String s = scanner.lexemeText().stripTrailing();
 
 		if (inSourceHeader)
@@ -1547,6 +1905,9 @@ public class Lexer
 			{
 				sourceHeader = new NaturalHeader(programmingMode, lineIncrement);
 				sourceHeaderDone = true;
+				// The line closing the header still belongs to it, but lexing can be resumed at every following line
+				inSourceHeader = false;
+				return true;
 			}
 			if (s.contains("* :Mode"))
 			{
@@ -1576,9 +1937,7 @@ public class Lexer
 		{
 			// special case like (A5/*) which we might solve naively this way.
 			// (A5/*) is a shortcut for (A5/1:*)
-			var lastToken = tokens.get(tokens.size() - 1);
-			var prevLastToken = tokens.get(tokens.size() - 2);
-			if (lastToken.kind() == SyntaxKind.IDENTIFIER && prevLastToken.kind() == SyntaxKind.LPAREN)
+			if (previousKindUnsafe(1) == SyntaxKind.IDENTIFIER && previousKindUnsafe(2) == SyntaxKind.LPAREN)
 			{
 				return false;
 			}
@@ -1587,10 +1946,7 @@ public class Lexer
 		if (isSingleAsteriskComment() || isInlineComment)
 		{
 			scanner.start();
-			while (!isLineEnd() && !scanner.isAtEnd())
-			{
-				scanner.advance();
-			}
+			scanner.advanceToLineEnd();
 
 			var token = SyntaxTokenFactory.create(
 				SyntaxKind.COMMENT,
@@ -1663,8 +2019,7 @@ public class Lexer
 				break;
 			}
 
-			var prev = previous();
-			if (scanner.peek() == ',' && prev != null && prev.kind() == SyntaxKind.COLON)
+			if (scanner.peek() == ',' && previousKind() == SyntaxKind.COLON)
 			{
 				// Case for (1:5,2:5) which are two dimensions and not a floating number
 				break;
@@ -1702,7 +2057,7 @@ public class Lexer
 
 	private boolean tokenBeforeLParenWas(SyntaxKind kind)
 	{
-		return isInParens() && lastBeforeOpenParens != null && lastBeforeOpenParens.kind() == kind;
+		return isInParens() && kindBeforeOpenParens == kind;
 	}
 
 	private void consumeDateLiteral()
@@ -1797,31 +2152,19 @@ public class Lexer
 	{
 		scanner.start();
 		scanner.advance();
-		while (!scanner.isAtEnd() && !isLineEnd())
+		scanner.advanceToLineEndOr(c);
+		while (scanner.peek() == c && scanner.peek(1) == c)
 		{
-			if (scanner.peek() == c && scanner.peek(1) == c)
-			{
-				// escaped ' or "
-				scanner.advance();
-				scanner.advance();
-				continue;
-			}
-
-			if (scanner.peek() == c)
-			{
-				break; // closing character will be consumed later
-			}
-
-			scanner.advance();
+			// escaped ' or "
+			scanner.advance(2);
+			scanner.advanceToLineEndOr(c);
 		}
+		// closing character will be consumed later
 
 		if (scanner.peek() != c)
 		{
 			// Recovery
-			while (!isLineEnd() && !scanner.isAtEnd())
-			{
-				scanner.advance();
-			}
+			scanner.advanceToLineEnd();
 
 			addDiagnostic(
 				"Unterminated String literal, expecting closing [%c]".formatted(c),
@@ -1844,40 +2187,58 @@ public class Lexer
 
 	private void createAndAdd(SyntaxKind kind)
 	{
-		var token = SyntaxTokenFactory.create(
-			kind,
-			scanner.lexemeStart(),
-			getOffsetInLine(),
-			line,
-			scanner.lexemeText(),
-			filePath
-		);
-		addToken(token);
+		if (kind == SyntaxKind.IDENTIFIER && scanner.lexemeLength() > 0 && scanner.peek(-1) == '.')
+		{
+			addDiagnostic("Identifiers can not end with '.'", "Identifier defined here", LexerError.INVALID_IDENTIFIER);
+		}
+
+		var previousKind = previousKind();
+		if (kind == SyntaxKind.DATA && previousKind == SyntaxKind.DEFINE)
+		{
+			lexerMode = LexerMode.IN_DEFINE_DATA;
+		}
+		else
+			if (kind == SyntaxKind.END_DEFINE && lexerMode == LexerMode.IN_DEFINE_DATA)
+			{
+				lexerMode = LexerMode.DEFAULT;
+			}
+
+		if (kind == stopAfterKind && stopTokenIndex < 0)
+		{
+			stopTokenIndex = tokens.size();
+		}
+
+		tokens.add(kind, scanner.lexemeStart(), getOffsetInLine(), line, scanner.lexemeLength());
+		scanner.reset();
 	}
 
-	private SyntaxToken previous()
+	/**
+	 * Returns the kind of the previous consumed token or null if no token has been consumed yet.
+	 */
+	private SyntaxKind previousKind()
 	{
 		if (tokens.isEmpty())
 		{
 			return null;
 		}
-		return tokens.get(tokens.size() - 1);
+		return tokens.kind(tokens.size() - 1);
 	}
 
 	/**
-	 * Returns the previous consumed token. <strong>Does not do a boundary check</strong>
+	 * Returns the kind of the previous consumed token at the given relative offset. <strong>Does not do a boundary
+	 * check</strong>
 	 */
-	private SyntaxToken previousUnsafe()
+	private SyntaxKind previousKindUnsafe(int offset)
 	{
-		return previousUnsafe(1);
+		return tokens.kind(tokens.size() - offset);
 	}
 
 	/**
-	 * Returns the previous consumed token at the given relative offset. <strong>Does not do a boundary check</strong>
+	 * Returns the previous consumed token. <strong>Does not do a boundary check</strong>
 	 */
-	private SyntaxToken previousUnsafe(int offset)
+	private SyntaxToken previousUnsafe()
 	{
-		return tokens.get(tokens.size() - offset);
+		return tokens.get(tokens.size() - 1);
 	}
 
 	private int getOffsetInLine()
@@ -1934,6 +2295,7 @@ public class Lexer
 				)
 			);
 
+			diagnostic.markAsRelocated();
 			diagnostics.add(diagnostic);
 		}
 		else
@@ -1979,6 +2341,7 @@ public class Lexer
 				)
 			);
 
+			diagnostic.markAsRelocated();
 			diagnostics.add(diagnostic);
 		}
 		else
@@ -1997,32 +2360,6 @@ public class Lexer
 		}
 	}
 
-	private void addToken(SyntaxToken token)
-	{
-		if (token.kind() == SyntaxKind.IDENTIFIER)
-		{
-			if (token.source().endsWith("."))
-			{
-				addDiagnostic("Identifiers can not end with '.'", "Identifier defined here", LexerError.INVALID_IDENTIFIER);
-			}
-		}
-
-		var previous = previous();
-		if (token.kind() == SyntaxKind.DATA && previous != null && previous.kind() == SyntaxKind.DEFINE)
-		{
-			lexerMode = LexerMode.IN_DEFINE_DATA;
-		}
-		else
-			if (token.kind() == SyntaxKind.END_DEFINE && lexerMode == LexerMode.IN_DEFINE_DATA)
-			{
-				lexerMode = LexerMode.DEFAULT;
-			}
-
-		token.setDiagnosticPosition(relocatedDiagnosticPosition);
-		tokens.add(token);
-		scanner.reset();
-	}
-
 	private void checkStringLiteralLength(SyntaxToken token)
 	{
 		if (token.stringValue().isEmpty())
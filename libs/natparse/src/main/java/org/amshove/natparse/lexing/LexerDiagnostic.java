@@ -19,6 +19,7 @@ class LexerDiagnostic implements IDiagnostic
 	private final String message;
 	private final DiagnosticSeverity severity;
 	private final List<AdditionalDiagnosticInfo> additionalInfos = new ArrayList<>();
+	private boolean atRelocatedPosition;
 
 	private LexerDiagnostic(String message, int offset, int offsetInLine, int currentLine, int length, Path filePath, LexerError error)
 	{
@@ -59,6 +60,43 @@ class LexerDiagnostic implements IDiagnostic
 		);
 	}
 
+	/**
+	 * Creates a copy of this diagnostic which is moved by the given amount of characters and lines.
+	 */
+	LexerDiagnostic moveBy(int offsetDelta, int lineDelta)
+	{
+		var moved = new LexerDiagnostic(message, offset + offsetDelta, offsetInLine, line + lineDelta, length, filePath, error);
+		moved.additionalInfos.addAll(additionalInfos);
+		moved.atRelocatedPosition = atRelocatedPosition;
+		return moved;
+	}
+
+	/**
+	 * Marks this diagnostic as being reported at the relocated diagnostic position of the lexer instead of the position
+	 * within the lexed source.
+	 */
+	void markAsRelocated()
+	{
+		atRelocatedPosition = true;
+	}
+
+	/**
+	 * Creates a copy of this diagnostic which is reported at the given position, if this diagnostic has been reported
+	 * at a relocated diagnostic position. Diagnostics at their position within the lexed source are returned as is.
+	 */
+	LexerDiagnostic relocateTo(IPosition position)
+	{
+		if (!atRelocatedPosition)
+		{
+			return this;
+		}
+
+		var relocated = new LexerDiagnostic(message, position.offset(), position.offsetInLine(), position.line(), position.length(), position.filePath(), error);
+		relocated.additionalInfos.addAll(additionalInfos);
+		relocated.atRelocatedPosition = true;
+		return relocated;
+	}
+
 	public String message()
 	{
 		return message;
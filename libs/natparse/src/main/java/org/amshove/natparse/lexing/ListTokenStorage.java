@@ -0,0 +1,67 @@
+package org.amshove.natparse.lexing;
+
+import org.amshove.natparse.IPosition;
+import org.amshove.natparse.ReadOnlyList;
+
+import java.util.List;
+
+/**
+ * Token storage for already existing {@link SyntaxToken}s.
+ */
+class ListTokenStorage implements ITokenStorage
+{
+	private final ReadOnlyList<SyntaxToken> tokens;
+
+	ListTokenStorage(List<SyntaxToken> tokens)
+	{
+		this.tokens = ReadOnlyList.from(tokens);
+	}
+
+	@Override
+	public int size()
+	{
+		return tokens.size();
+	}
+
+	@Override
+	public SyntaxKind kind(int index)
+	{
+		return tokens.get(index).kind();
+	}
+
+	@Override
+	public SyntaxToken get(int index)
+	{
+		return tokens.get(index);
+	}
+
+	@Override
+	public ReadOnlyList<SyntaxToken> all()
+	{
+		return tokens;
+	}
+
+	@Override
+	public ReadOnlyList<SyntaxToken> subrange(int start, int end)
+	{
+		return tokens.subList(start, end);
+	}
+
+	@Override
+	public ITokenStorage independentCopy()
+	{
+		return this;
+	}
+
+	@Override
+	public ITokenStorage relocatedCopy(IPosition diagnosticPosition)
+	{
+		var relocatedTokens = tokens.stream().map(token ->
+		{
+			var relocated = token.withKind(token.kind());
+			relocated.setDiagnosticPosition(diagnosticPosition);
+			return relocated;
+		}).toList();
+		return new ListTokenStorage(relocatedTokens);
+	}
+}
@@ -120,6 +120,15 @@ public class SyntaxToken implements IPosition
 		};
 	}
 
+	/**
+	 * Sets the symbol name from a {@link org.amshove.natparse.lexing.text.SymbolPool}, so that it doesn't need to be
+	 * computed for every token.
+	 */
+	void setPooledSymbolName(String symbolName)
+	{
+		identifierName = symbolName;
+	}
+
 	/**
 	 * Returns the token source as symbol name (all uppercase).
 	 */
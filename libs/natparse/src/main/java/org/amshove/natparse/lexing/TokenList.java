@@ -1,12 +1,16 @@
 package org.amshove.natparse.lexing;
 
 import org.amshove.natparse.IDiagnostic;
+import org.amshove.natparse.IPosition;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.natural.project.NaturalHeader;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class TokenList implements Iterable<SyntaxToken>
@@ -24,7 +28,7 @@ public class TokenList implements Iterable<SyntaxToken>
 		return new TokenList(filePath, tokenList, diagnostics, comments, sourceHeader);
 	}
 
-	private final ReadOnlyList<SyntaxToken> tokens;
+	private final ITokenStorage tokens;
 	private final List<LexerDiagnostic> diagnostics;
 	private final List<SyntaxToken> comments;
 	private final Path filePath;
@@ -33,7 +37,7 @@ public class TokenList implements Iterable<SyntaxToken>
 
 	TokenList(Path filePath, List<SyntaxToken> tokens)
 	{
-		this.tokens = ReadOnlyList.from(tokens);
+		this.tokens = new ListTokenStorage(tokens);
 		diagnostics = List.of();
 		comments = List.of();
 		this.filePath = filePath;
@@ -41,16 +45,56 @@ public class TokenList implements Iterable<SyntaxToken>
 
 	TokenList(Path filePath, List<SyntaxToken> tokens, List<LexerDiagnostic> diagnostics, List<SyntaxToken> comments, NaturalHeader sourceHeader)
 	{
-		this.tokens = ReadOnlyList.from(tokens);
+		this(filePath, new ListTokenStorage(tokens), diagnostics, comments, sourceHeader);
+	}
+
+	TokenList(Path filePath, ITokenStorage tokens, List<LexerDiagnostic> diagnostics, List<SyntaxToken> comments, NaturalHeader sourceHeader)
+	{
+		this.tokens = tokens;
 		this.diagnostics = diagnostics;
 		this.comments = comments;
 		this.filePath = filePath;
 		this.sourceHeader = sourceHeader;
 	}
 
+	ITokenStorage storage()
+	{
+		return tokens;
+	}
+
+	List<LexerDiagnostic> lexerDiagnostics()
+	{
+		return diagnostics;
+	}
+
+	/**
+	 * Creates a TokenList over the same tokens that starts at the first token. The copy doesn't share any state with
+	 * this TokenList, so both can be consumed at the same time, also by different threads.
+	 */
+	public TokenList independentCopy()
+	{
+		return new TokenList(filePath, tokens.independentCopy(), diagnostics, comments, sourceHeader);
+	}
+
+	/**
+	 * Creates an independent copy like {@link #independentCopy()}, which looks as if it has been lexed with
+	 * {@link Lexer#relocateDiagnosticPosition(IPosition)}: All tokens and relocated diagnostics are reported at the
+	 * given position.<br/>
+	 * This allows to lex a copycode once and to relocate it to every INCLUDE of it afterwards.
+	 */
+	public TokenList relocatedCopy(IPosition diagnosticPosition)
+	{
+		var relocatedDiagnostics = new ArrayList<LexerDiagnostic>(diagnostics.size());
+		for (var diagnostic : diagnostics)
+		{
+			relocatedDiagnostics.add(diagnostic.relocateTo(diagnosticPosition));
+		}
+		return new TokenList(filePath, tokens.relocatedCopy(diagnosticPosition), relocatedDiagnostics, comments, sourceHeader);
+	}
+
 	public ReadOnlyList<IDiagnostic> diagnostics()
 	{
-		return ReadOnlyList.from(diagnostics.stream().map(d -> (IDiagnostic) d).toList()); // TODO: Perf
+		return ReadOnlyList.view(diagnostics);
 	}
 
 	public Path filePath()
@@ -79,6 +123,29 @@ public class TokenList implements Iterable<SyntaxToken>
 		return tokens.get(index);
 	}
 
+	/**
+	 * Peeks the kind of the next token. Returns null if the end is reached.
+	 */
+	public SyntaxKind peekKind()
+	{
+		return peekKind(0);
+	}
+
+	/**
+	 * Peeks the kind of the token `offset` times ahead. Returns null if the index is out of bounds.<br/>
+	 * Prefer this over {@code peek(offset).kind()} when only the kind is of interest, because it doesn't need to
+	 * create a {@link SyntaxToken}.
+	 */
+	public SyntaxKind peekKind(int offset)
+	{
+		var index = currentOffset + offset;
+		if (exceedsEnd(index))
+		{
+			return null;
+		}
+		return tokens.kind(index);
+	}
+
 	/**
 	 * Peeks the token kinds of the following tokens and returns true if they're in the given order.<br/>
 	 * Returns false if either the order or the amount of following tokens doesn't match.
@@ -92,7 +159,7 @@ public class TokenList implements Iterable<SyntaxToken>
 
 		for (var offset = 0; offset < kinds.length; offset++)
 		{
-			if (peek(offset).kind() != kinds[offset])
+			if (peekKind(offset) != kinds[offset])
 			{
 				return false;
 			}
@@ -147,7 +214,7 @@ public class TokenList implements Iterable<SyntaxToken>
 
 	public ReadOnlyList<SyntaxToken> allTokens()
 	{
-		return tokens;
+		return tokens.all();
 	}
 
 	public boolean advanceAfterNext(SyntaxKind kind)
@@ -163,7 +230,7 @@ public class TokenList implements Iterable<SyntaxToken>
 
 	public boolean advanceUntil(SyntaxKind kind)
 	{
-		while (!isAtEnd() && peek().kind() != kind)
+		while (!isAtEnd() && peekKind() != kind)
 		{
 			advance();
 		}
@@ -176,7 +243,7 @@ public class TokenList implements Iterable<SyntaxToken>
 		int index = currentOffset;
 		while (!exceedsEnd(index))
 		{
-			if (peek(index).kind() == kind)
+			if (peekKind(index) == kind)
 			{
 				setCurrentOffset(index);
 				return advanceAfterNext(kind);
@@ -188,7 +255,7 @@ public class TokenList implements Iterable<SyntaxToken>
 
 	public ReadOnlyList<SyntaxToken> comments()
 	{
-		return ReadOnlyList.from(comments); // TODO: Perf
+		return ReadOnlyList.view(comments);
 	}
 
 	public NaturalHeader sourceHeader()
@@ -201,7 +268,7 @@ public class TokenList implements Iterable<SyntaxToken>
 	 */
 	public boolean consume(SyntaxKind kind)
 	{
-		if (!isAtEnd() && peek().kind() == kind)
+		if (!isAtEnd() && peekKind() == kind)
 		{
 			advance();
 			return true;
@@ -223,12 +290,12 @@ public class TokenList implements Iterable<SyntaxToken>
 	 */
 	public ReadOnlyList<SyntaxToken> subrange(int start, int end)
 	{
-		return tokens.subList(start, end + 1);
+		return tokens.subrange(start, end + 1);
 	}
 
 	public Stream<SyntaxToken> stream()
 	{
-		return tokens.stream();
+		return IntStream.range(0, tokens.size()).mapToObj(tokens::get);
 	}
 
 	private void setCurrentOffset(int newOffset)
@@ -250,7 +317,26 @@ public class TokenList implements Iterable<SyntaxToken>
 	@Override
 	public Iterator<SyntaxToken> iterator()
 	{
-		return tokens.iterator();
+		return new Iterator<>()
+		{
+			private int index = 0;
+
+			@Override
+			public boolean hasNext()
+			{
+				return index < tokens.size();
+			}
+
+			@Override
+			public SyntaxToken next()
+			{
+				if (!hasNext())
+				{
+					throw new NoSuchElementException();
+				}
+				return tokens.get(index++);
+			}
+		};
 	}
 
 	/**
@@ -0,0 +1,148 @@
+package org.amshove.natparse.lexing;
+
+import org.amshove.natparse.IDiagnostic;
+import org.amshove.natparse.ReadOnlyList;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A forward-only view on the tokens of a module which are lexed on demand, created by
+ * {@link Lexer#stream(CharSequence, java.nio.file.Path)}.<br/>
+ * Only the tokens between the current position and the furthest peek are kept, so a pass over a whole module runs
+ * within a constant amount of token memory. Comments and diagnostics are collected as far as the source has been
+ * lexed.
+ */
+public class TokenStream implements Iterator<SyntaxToken>
+{
+	static final int BUFFER_SIZE = 256;
+
+	private final Lexer lexer;
+	private final CompactTokenStorage tokens;
+	private final List<LexerDiagnostic> diagnostics;
+	private final List<SyntaxToken> comments;
+	private int currentOffset;
+
+	TokenStream(Lexer lexer, CompactTokenStorage tokens, List<LexerDiagnostic> diagnostics, List<SyntaxToken> comments)
+	{
+		this.lexer = lexer;
+		this.tokens = tokens;
+		this.diagnostics = diagnostics;
+		this.comments = comments;
+	}
+
+	/**
+	 * Peeks the next token.
+	 */
+	public SyntaxToken peek()
+	{
+		return peek(0);
+	}
+
+	/**
+	 * Peeks the token `offset` times ahead. Returns null if the end is reached.<br/>
+	 * Looking behind is not possible.
+	 */
+	public SyntaxToken peek(int offset)
+	{
+		var index = currentOffset + offset;
+		if (offset < 0 || !lexer.lexUntilAvailable(index))
+		{
+			return null;
+		}
+		return tokens.get(index);
+	}
+
+	/**
+	 * Peeks the kind of the token `offset` times ahead. Returns null if the end is reached.
+	 */
+	public SyntaxKind peekKind(int offset)
+	{
+		var index = currentOffset + offset;
+		if (offset < 0 || !lexer.lexUntilAvailable(index))
+		{
+			return null;
+		}
+		return tokens.kind(index);
+	}
+
+	/**
+	 * Peeks the token kinds of the following tokens and returns true if they're in the given order.<br/>
+	 * Returns false if either the order or the amount of following tokens doesn't match.
+	 */
+	public boolean peekKinds(SyntaxKind... kinds)
+	{
+		for (var offset = 0; offset < kinds.length; offset++)
+		{
+			if (peekKind(offset) != kinds[offset])
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Advances over the current token.
+	 */
+	public SyntaxToken advance()
+	{
+		var token = peek();
+		currentOffset++;
+		if (currentOffset >= BUFFER_SIZE)
+		{
+			discardConsumedTokens();
+		}
+		return token;
+	}
+
+	public boolean isAtEnd()
+	{
+		return !lexer.lexUntilAvailable(currentOffset);
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		return !isAtEnd();
+	}
+
+	@Override
+	public SyntaxToken next()
+	{
+		if (isAtEnd())
+		{
+			throw new NoSuchElementException();
+		}
+		return advance();
+	}
+
+	/**
+	 * Returns the diagnostics of the source that has been lexed so far.
+	 */
+	public ReadOnlyList<IDiagnostic> diagnostics()
+	{
+		return ReadOnlyList.from(diagnostics.stream().map(d -> (IDiagnostic) d).toList());
+	}
+
+	/**
+	 * Returns the comments of the source that has been lexed so far.
+	 */
+	public ReadOnlyList<SyntaxToken> comments()
+	{
+		return ReadOnlyList.from(comments);
+	}
+
+	private void discardConsumedTokens()
+	{
+		// The lexer looks back at the last two tokens it produced, so they have to stay
+		var discardable = Math.min(currentOffset, tokens.size() - 2);
+		if (discardable > 0)
+		{
+			tokens.discardFirst(discardable);
+			currentOffset -= discardable;
+		}
+	}
+}
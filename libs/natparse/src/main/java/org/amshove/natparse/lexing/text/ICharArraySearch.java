@@ -0,0 +1,19 @@
+package org.amshove.natparse.lexing.text;
+
+/**
+ * Character searches of the {@link SourceTextScanner} on sources which are backed by a char array.
+ */
+interface ICharArraySearch
+{
+	/**
+	 * Returns the index of the first character within {@code [from, to)} that is either {@code first} or
+	 * {@code second}, or {@code to} if there is none.
+	 */
+	int indexOfAny(char[] chars, int from, int to, char first, char second);
+
+	/**
+	 * Returns the index of the first character within {@code [from, to)} that is neither a space, a tab nor a carriage
+	 * return, or {@code to} if there is none.
+	 */
+	int indexOfNonBlank(char[] chars, int from, int to);
+}
@@ -1,38 +1,118 @@
 package org.amshove.natparse.lexing.text;
 
+import java.nio.CharBuffer;
 import java.util.List;
 
 public class SourceTextScanner
 {
 	public static final char END_CHARACTER = Character.MAX_VALUE;
 
-	private final char[] source;
+	private static final ICharArraySearch VECTORIZED_SEARCH = loadVectorizedSearch();
+	private static final boolean VECTORIZED_SCANNING = VECTORIZED_SEARCH != null
+		&& !"false".equalsIgnoreCase(System.getProperty("natparse.lexer.vectorized"));
+
+	private CharSequence source;
+	private int length;
 	private int currentOffset;
 	private int currentLexemeStart;
 
-	public SourceTextScanner(String source)
+	// Only set when scanning vectorized. The source starts at charsBase within chars.
+	private char[] chars;
+	private int charsBase;
+
+	/**
+	 * Returns true if the vectorized search is on the classpath and the JVM has been started with
+	 * {@code --add-modules jdk.incubator.vector}, which is needed to scan whitespace, comments and strings vectorized.
+	 * <br/>
+	 * The vectorized search is an opt-in of the build and not part of the natparse jar.
+	 */
+	public static boolean isVectorizedScanningAvailable()
+	{
+		return VECTORIZED_SEARCH != null;
+	}
+
+	private static ICharArraySearch loadVectorizedSearch()
+	{
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty())
+		{
+			return null;
+		}
+
+		try
+		{
+			return (ICharArraySearch) Class.forName("org.amshove.natparse.lexing.text.VectorizedSearch")
+				.getDeclaredConstructor()
+				.newInstance();
+		}
+		catch (ReflectiveOperationException | LinkageError e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Returns true if line ends, quotes and non-blank characters are searched vectorized. This is the case if it is
+	 * available, unless it has been disabled with {@code -Dnatparse.lexer.vectorized=false}.<br/>
+	 * Only sources which are a {@link CharBuffer} backed by an array are scanned vectorized.
+	 */
+	public static boolean isVectorizedScanning()
+	{
+		return VECTORIZED_SCANNING;
+	}
+
+	public SourceTextScanner(CharSequence source)
 	{
 		this(source, List.of());
 	}
 
-	public SourceTextScanner(String source, List<String> copyCodeSubstitution)
+	/**
+	 * Creates a scanner which reads directly from the given source without copying it. The source can therefore also be
+	 * a {@link java.nio.CharBuffer} decoded from a memory-mapped file.<br/>
+	 * Only if copy code parameter have to be substituted a new String is created.
+	 */
+	public SourceTextScanner(CharSequence source, List<String> copyCodeSubstitution)
+	{
+		restart(source, copyCodeSubstitution);
+	}
+
+	/**
+	 * Starts scanning a new source from the beginning. This allows to reuse a scanner instead of creating a new one
+	 * for every source.
+	 */
+	public void restart(CharSequence source, List<String> copyCodeSubstitution)
 	{
 		if (!copyCodeSubstitution.isEmpty())
 		{
-			var newSource = source;
+			var newSource = source.toString();
 			// faster? https://stackoverflow.com/a/1326962
 			for (int i = 0; i < copyCodeSubstitution.size(); i++)
 			{
 				newSource = newSource.replace("&%d&".formatted(i + 1), copyCodeSubstitution.get(i));
 			}
-			this.source = newSource.toCharArray();
+			this.source = newSource;
 		}
 		else
 		{
-			this.source = source.toCharArray();
+			this.source = source;
 		}
+		length = this.source.length();
 		currentOffset = 0;
 		reset();
+		prepareVectorizedScanning();
+	}
+
+	private void prepareVectorizedScanning()
+	{
+		chars = null;
+		charsBase = 0;
+
+		// The Vector API can only load from arrays. Other sources are scanned scalar instead of being copied for every
+		// lex.
+		if (VECTORIZED_SCANNING && source instanceof CharBuffer buffer && buffer.hasArray())
+		{
+			chars = buffer.array();
+			charsBase = buffer.arrayOffset() + buffer.position();
+		}
 	}
 
 	/**
@@ -71,13 +151,83 @@ public class SourceTextScanner
 		currentOffset += offset;
 	}
 
+	/**
+	 * Advances to the end of the current line, which is either the next {@code \n}, a {@code \r} directly followed by
+	 * {@code \n} or the end of the source.
+	 */
+	public void advanceToLineEnd()
+	{
+		currentOffset = lineEndOrCharacter('\n');
+	}
+
+	/**
+	 * Advances to the next occurrence of the given character or the end of the current line, whatever comes first.
+	 *
+	 * @see #advanceToLineEnd()
+	 */
+	public void advanceToLineEndOr(char character)
+	{
+		currentOffset = lineEndOrCharacter(character);
+	}
+
+	/**
+	 * Advances over all spaces, tabs and carriage returns.
+	 */
+	public void advanceOverBlanks()
+	{
+		if (chars != null)
+		{
+			currentOffset = VECTORIZED_SEARCH.indexOfNonBlank(chars, charsBase + currentOffset, charsBase + length) - charsBase;
+			return;
+		}
+
+		while (currentOffset < length && isBlank(source.charAt(currentOffset)))
+		{
+			currentOffset++;
+		}
+	}
+
+	private int lineEndOrCharacter(char character)
+	{
+		int index;
+		if (chars != null)
+		{
+			index = VECTORIZED_SEARCH.indexOfAny(chars, charsBase + currentOffset, charsBase + length, '\n', character) - charsBase;
+		}
+		else
+		{
+			index = currentOffset;
+			while (index < length)
+			{
+				var current = source.charAt(index);
+				if (current == '\n' || current == character)
+				{
+					break;
+				}
+				index++;
+			}
+		}
+
+		if (index < length && index > currentOffset && source.charAt(index) == '\n' && source.charAt(index - 1) == '\r')
+		{
+			return index - 1;
+		}
+
+		return index;
+	}
+
+	static boolean isBlank(char character)
+	{
+		return character == ' ' || character == '\t' || character == '\r';
+	}
+
 	public char peek()
 	{
 		if (isAtEnd())
 		{
 			return END_CHARACTER;
 		}
-		return source[currentOffset];
+		return source.charAt(currentOffset);
 	}
 
 	public char peek(int offset)
@@ -86,7 +236,7 @@ public class SourceTextScanner
 		{
 			return END_CHARACTER;
 		}
-		return source[currentOffset + offset];
+		return source.charAt(currentOffset + offset);
 	}
 
 	/**
@@ -146,9 +296,18 @@ public class SourceTextScanner
 		return currentOffset - currentLexemeStart;
 	}
 
+	/**
+	 * Returns the source text this scanner works on, with copy code parameters already substituted.<br/>
+	 * The returned text is not a copy.
+	 */
+	public CharSequence sourceText()
+	{
+		return source;
+	}
+
 	public String lexemeText()
 	{
-		return StringPool.intern(new String(source, currentLexemeStart, currentOffset - currentLexemeStart));
+		return StringPool.intern(source.subSequence(currentLexemeStart, currentOffset).toString());
 	}
 
 	public void rollbackCurrentLexeme()
@@ -168,12 +327,12 @@ public class SourceTextScanner
 
 	public boolean isAtEnd()
 	{
-		return currentOffset >= source.length;
+		return currentOffset >= length;
 	}
 
 	public boolean willPassEnd(int offset)
 	{
-		return currentOffset + offset >= source.length;
+		return currentOffset + offset >= length;
 	}
 
 	public boolean peekText(String text)
@@ -181,7 +340,7 @@ public class SourceTextScanner
 		for (var i = 0; i < text.length(); i++)
 		{
 			var expected = text.charAt(i);
-			var gotten = source[currentOffset + i];
+			var gotten = source.charAt(currentOffset + i);
 			if (willPassEnd(i) || expected != gotten)
 			{
 				return false;
@@ -198,6 +357,6 @@ public class SourceTextScanner
 			return null;
 		}
 
-		return new String(source, currentOffset, length);
+		return source.subSequence(currentOffset, currentOffset + length).toString();
 	}
 }
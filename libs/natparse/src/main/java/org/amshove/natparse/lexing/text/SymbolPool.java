@@ -0,0 +1,28 @@
+package org.amshove.natparse.lexing.text;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Pools the source and symbol names of identifiers of all modules within a project, so that every occurrence of e.g.
+ * {@code #I} or the name of a data area field shares one String instance.<br/>
+ * In contrast to the {@link StringPool} the pool lives as long as the project, and its entries are weak, so names no
+ * token refers to anymore can be collected. It can be used by multiple threads at once.
+ */
+public class SymbolPool
+{
+	private final Interner<String> names = Interners.newWeakInterner();
+
+	public String intern(String name)
+	{
+		return names.intern(name);
+	}
+
+	/**
+	 * Returns the pooled symbol name (all uppercase) of the given source.
+	 */
+	public String symbolName(String source)
+	{
+		return names.intern(source.toUpperCase());
+	}
+}
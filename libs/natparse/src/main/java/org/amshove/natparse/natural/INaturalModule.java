@@ -1,6 +1,7 @@
 package org.amshove.natparse.natural;
 
 import org.amshove.natparse.IDiagnostic;
+import org.amshove.natparse.ParsePhaseTimings;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.lexing.SyntaxToken;
 import org.amshove.natparse.natural.project.NaturalFile;
@@ -37,6 +38,11 @@ public sealed interface INaturalModule permits ISubprogram,IProgram,IExternalSub
 
 	void addCaller(IModuleReferencingNode caller);
 
+	/**
+	 * The time the phases of parsing this module took.
+	 */
+	ParsePhaseTimings parsePhaseTimings();
+
 	/**
 	 * Wether this module is a NatUnit test case.
 	 */
@@ -1,9 +1,11 @@
 package org.amshove.natparse.natural;
 
+import org.amshove.natparse.PositionIndex;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.lexing.SyntaxKind;
 import org.jspecify.annotations.Nullable;
 
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
 public interface ISyntaxTree extends Iterable<ISyntaxNode>
@@ -71,6 +73,16 @@ public interface ISyntaxTree extends Iterable<ISyntaxNode>
 			.map(n -> (T) n);
 	}
 
+	/**
+	 * Returns an index to look up the nodes of the given file by their position, or null if this tree doesn't provide
+	 * one. Only trees of parsed modules do, nodes within them don't.
+	 */
+	@Nullable
+	default PositionIndex positionIndex(Path filePath)
+	{
+		return null;
+	}
+
 	void acceptNodeVisitor(ISyntaxNodeVisitor visitor);
 
 	void acceptStatementVisitor(IStatementVisitor visitor);
@@ -1,5 +1,8 @@
 package org.amshove.natparse.natural.project;
 
+import org.amshove.natparse.lexing.text.SymbolPool;
+import org.jspecify.annotations.Nullable;
+
 import java.nio.file.Path;
 
 public class NaturalFile
@@ -87,6 +90,15 @@ public class NaturalFile
 		return library;
 	}
 
+	/**
+	 * Returns the symbol pool of the project this file belongs to or null if it isn't part of a project.
+	 */
+	@Nullable
+	public SymbolPool getSymbolPool()
+	{
+		return library != null ? library.getSymbolPool() : null;
+	}
+
 	public NaturalFileType getFiletype()
 	{
 		return filetype;
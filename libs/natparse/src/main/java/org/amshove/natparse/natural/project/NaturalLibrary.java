@@ -1,5 +1,8 @@
 package org.amshove.natparse.natural.project;
 
+import org.amshove.natparse.lexing.text.SymbolPool;
+import org.jspecify.annotations.Nullable;
+
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -13,6 +16,11 @@ public class NaturalLibrary
 	private final List<NaturalLibrary> stepLibs = new ArrayList<>();
 	private final Map<String, List<NaturalFile>> modulesByReferableName = new HashMap<>();
 	private final Map<String, NaturalFile> ddmsByReferableName = new HashMap<>();
+	// Libraries that have this library as steplib, which have to forget resolved names when files of this library change
+	private final List<NaturalLibrary> dependentLibraries = new ArrayList<>();
+	private final ResolutionTable<NaturalFile> moduleResolution = new ResolutionTable<>();
+	private final ResolutionTable<NaturalFile> ddmResolution = new ResolutionTable<>();
+	private NaturalProject project;
 
 	public NaturalLibrary(Path path)
 	{
@@ -30,9 +38,35 @@ public class NaturalLibrary
 		return path;
 	}
 
+	/**
+	 * Returns the project this library belongs to or null if it isn't part of a project.
+	 */
+	@Nullable
+	public NaturalProject getProject()
+	{
+		return project;
+	}
+
+	/* package */ void setProject(NaturalProject project)
+	{
+		this.project = project;
+	}
+
+	/**
+	 * Returns the symbol pool of the project this library belongs to or null if it isn't part of a project.
+	 */
+	@Nullable
+	public SymbolPool getSymbolPool()
+	{
+		return project != null ? project.getSymbolPool() : null;
+	}
+
 	public void addStepLib(NaturalLibrary stepLib)
 	{
 		stepLibs.add(stepLib);
+		stepLib.dependentLibraries.add(this);
+		moduleResolution.clear();
+		ddmResolution.clear();
 	}
 
 	public List<NaturalLibrary> getStepLibs()
@@ -63,6 +97,11 @@ public class NaturalLibrary
 				.add(file);
 		}
 		file.setLibrary(this);
+		invalidateResolution(file);
+		if (project != null)
+		{
+			project.fileAdded(file);
+		}
 	}
 
 	public void removeFile(NaturalFile file)
@@ -78,9 +117,41 @@ public class NaturalLibrary
 		}
 
 		file.setLibrary(null);
+		invalidateResolution(file);
+		if (project != null)
+		{
+			project.fileRemoved(file);
+		}
+	}
+
+	/**
+	 * Lets this library and the libraries having it as steplib resolve the name of the file again.
+	 */
+	private void invalidateResolution(NaturalFile file)
+	{
+		resolutionOf(file.getFiletype()).invalidate(file.getReferableName());
+		for (var dependentLibrary : dependentLibraries)
+		{
+			dependentLibrary.resolutionOf(file.getFiletype()).invalidate(file.getReferableName());
+		}
+	}
+
+	private ResolutionTable<NaturalFile> resolutionOf(NaturalFileType type)
+	{
+		return type == NaturalFileType.DDM ? ddmResolution : moduleResolution;
 	}
 
 	public NaturalFile findModuleByReferableName(String referableName, boolean includeStepLibs, NaturalFileType requestedType)
+	{
+		if (includeStepLibs)
+		{
+			return moduleResolution.resolve(referableName, requestedType, (name, type) -> resolveModuleByReferableName(name, true, type));
+		}
+
+		return resolveModuleByReferableName(referableName, false, requestedType);
+	}
+
+	private NaturalFile resolveModuleByReferableName(String referableName, boolean includeStepLibs, NaturalFileType requestedType)
 	{
 		if (modulesByReferableName.containsKey(referableName))
 		{
@@ -113,6 +184,16 @@ public class NaturalLibrary
 	}
 
 	public NaturalFile findDdmByReferableName(String referableName, boolean includeStepLibs)
+	{
+		if (includeStepLibs)
+		{
+			return ddmResolution.resolve(referableName, NaturalFileType.DDM, (name, __) -> resolveDdmByReferableName(name, true));
+		}
+
+		return resolveDdmByReferableName(referableName, false);
+	}
+
+	private NaturalFile resolveDdmByReferableName(String referableName, boolean includeStepLibs)
 	{
 		if (ddmsByReferableName.containsKey(referableName))
 		{
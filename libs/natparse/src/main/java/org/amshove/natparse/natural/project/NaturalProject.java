@@ -1,19 +1,60 @@
 package org.amshove.natparse.natural.project;
 
+import org.amshove.natparse.infrastructure.ActualFilesystem;
+import org.amshove.natparse.infrastructure.IFilesystem;
+import org.amshove.natparse.lexing.text.SymbolPool;
+import org.amshove.natparse.parsing.CopyCodeCache;
+import org.amshove.natparse.parsing.DdmCache;
+import org.amshove.natparse.parsing.DefineDataCache;
 import org.jspecify.annotations.Nullable;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class NaturalProject
 {
 	private final Path rootPath;
 	private final List<NaturalLibrary> libraries;
+	private final SymbolPool symbolPool = new SymbolPool();
+	private final DefineDataCache defineDataCache;
+	private final DdmCache ddmCache;
+	private final CopyCodeCache copyCodeCache;
+	// Kept up to date by the libraries when files are added or removed
+	private final Map<Path, NaturalFile> filesByPath = new ConcurrentHashMap<>();
 
-	public NaturalProject(Path rootPath, List<NaturalLibrary> libraries)
+	/**
+	 * Creates a project of the given libraries and registers it with them.
+	 */
+	public static NaturalProject fromLibraries(Path rootPath, List<NaturalLibrary> libraries)
+	{
+		return fromLibraries(rootPath, libraries, new ActualFilesystem());
+	}
+
+	/**
+	 * Creates a project whose caches read the files of the project through the given filesystem and registers it with
+	 * its libraries.
+	 */
+	public static NaturalProject fromLibraries(Path rootPath, List<NaturalLibrary> libraries, IFilesystem filesystem)
+	{
+		var project = new NaturalProject(rootPath, libraries, filesystem);
+		// Done after construction, because the libraries call back into the project
+		for (var library : libraries)
+		{
+			library.setProject(project);
+			library.files().forEach(project::fileAdded);
+		}
+		return project;
+	}
+
+	private NaturalProject(Path rootPath, List<NaturalLibrary> libraries, IFilesystem filesystem)
 	{
 		this.rootPath = rootPath;
 		this.libraries = libraries;
+		defineDataCache = new DefineDataCache(filesystem, DefineDataCache.DEFAULT_CAPACITY);
+		ddmCache = new DdmCache(filesystem, DdmCache.DEFAULT_CAPACITY);
+		copyCodeCache = new CopyCodeCache(filesystem, CopyCodeCache.DEFAULT_CAPACITY);
 	}
 
 	public Path getRootPath()
@@ -26,22 +67,57 @@ public class NaturalProject
 		return libraries;
 	}
 
+	/**
+	 * Returns the pool that identifiers of all modules within this project should be interned in.
+	 */
+	public SymbolPool getSymbolPool()
+	{
+		return symbolPool;
+	}
+
+	/**
+	 * Returns the cache for the DEFINE DATA of modules which are referenced by other modules of this project.
+	 */
+	public DefineDataCache getDefineDataCache()
+	{
+		return defineDataCache;
+	}
+
+	/**
+	 * Returns the cache for the parsed DDMs of this project.
+	 */
+	public DdmCache getDdmCache()
+	{
+		return ddmCache;
+	}
+
+	/**
+	 * Returns the cache for the lexed copycodes which are INCLUDEd by modules of this project.
+	 */
+	public CopyCodeCache getCopyCodeCache()
+	{
+		return copyCodeCache;
+	}
+
 	@Nullable
 	public NaturalFile findModule(Path path)
 	{
-		// TODO(perf): We could inspect the path and skip libraries
-		for (var library : libraries)
-		{
-			for (var file : library.files())
-			{
-				if (file.getPath().equals(path))
-				{
-					return file;
-				}
-			}
-		}
+		return filesByPath.get(normalize(path));
+	}
 
-		return null;
+	/* package */ void fileAdded(NaturalFile file)
+	{
+		filesByPath.put(normalize(file.getPath()), file);
+	}
+
+	/* package */ void fileRemoved(NaturalFile file)
+	{
+		filesByPath.remove(normalize(file.getPath()), file);
+	}
+
+	private static Path normalize(Path path)
+	{
+		return path.toAbsolutePath().normalize();
 	}
 
 	@Nullable
@@ -6,6 +6,8 @@ import org.amshove.natparse.lexing.Lexer;
 import org.amshove.natparse.lexing.SyntaxKind;
 
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class NaturalProjectFileIndexer
 {
@@ -33,6 +35,50 @@ public class NaturalProjectFileIndexer
 		}
 	}
 
+	/**
+	 * Indexes the project like {@link #indexProject(NaturalProject)}, but walks all libraries concurrently and creates
+	 * the {@link NaturalFile}s, which means lexing the header of subroutines and functions, on the common
+	 * {@link ForkJoinPool}.
+	 */
+	public void indexProjectInParallel(NaturalProject project)
+	{
+		indexProjectInParallel(project, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Indexes the project like {@link #indexProject(NaturalProject)}, but walks all libraries concurrently and creates
+	 * the {@link NaturalFile}s, which means lexing the header of subroutines and functions, on the given pool.<br/>
+	 * The files are added to their library on the calling thread after all libraries are indexed, in the same order as
+	 * {@link #indexProject(NaturalProject)} adds them.
+	 */
+	public void indexProjectInParallel(NaturalProject project, ForkJoinPool pool)
+	{
+		var libraries = project.getLibraries();
+		var indexedLibraries = libraries.stream()
+			.map(library -> pool.submit(() -> findNaturalFilesInParallel(library)))
+			.toList();
+
+		for (var i = 0; i < libraries.size(); i++)
+		{
+			var library = libraries.get(i);
+			indexedLibraries.get(i).join().forEach(library::addFile);
+		}
+	}
+
+	private List<NaturalFile> findNaturalFilesInParallel(NaturalLibrary library)
+	{
+		List<Path> paths;
+		try (var files = filesystem.streamFilesRecursively(library.getSourcePath()))
+		{
+			paths = files.filter(NaturalFileType::isNaturalFile).toList();
+		}
+
+		// This runs within a task of the pool, so the parallel stream forks onto the same pool
+		return paths.parallelStream()
+			.map(this::toNaturalFile)
+			.toList();
+	}
+
 	public NaturalFile toNaturalFile(Path path)
 	{
 		var filetype = NaturalFileType.fromExtension(path.getFileName().toString().split("\\.")[1]);
@@ -59,7 +105,7 @@ public class NaturalProjectFileIndexer
 
 	private String extractSubroutineName(Path path)
 	{
-		var lexemes = new Lexer().lex(filesystem.readFile(path), path);
+		var lexemes = new Lexer().lexUntilTokenAfter(filesystem.readSource(path), path, SyntaxKind.SUBROUTINE);
 		// Advance directly past the subroutine name, if possible
 		if (!lexemes.advanceAfterNextIfFound(SyntaxKind.SUBROUTINE))
 		{
@@ -77,7 +123,7 @@ public class NaturalProjectFileIndexer
 
 	private String extractFunctionName(Path path)
 	{
-		var lexemes = new Lexer().lex(filesystem.readFile(path), path);
+		var lexemes = new Lexer().lexUntilTokenAfter(filesystem.readSource(path), path, SyntaxKind.FUNCTION);
 		if (!lexemes.advanceAfterNextIfFound(SyntaxKind.FUNCTION))
 		{
 			throw new RuntimeException("Could not find DEFINE FUNCTION");
@@ -0,0 +1,74 @@
+package org.amshove.natparse.natural.project;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Remembers which file a referable name resolves to within a library and its steplibs, separately for every requested
+ * {@link NaturalFileType}. Names that don't resolve to any file are remembered as well, because unresolved modules are
+ * looked up on every parse of their callers.<br/>
+ * The owning library has to {@link #invalidate(String)} a name whenever a file with that name is added to or removed
+ * from the library or one of its steplibs.
+ *
+ * @param <F> the type of the resolved files
+ */
+public final class ResolutionTable<F>
+{
+	private final Map<NaturalFileType, Map<String, Optional<F>>> tablesByType = new EnumMap<>(NaturalFileType.class);
+	private final Map<String, Optional<F>> untypedTable = new ConcurrentHashMap<>();
+
+	public ResolutionTable()
+	{
+		// Every table is created up front, because the EnumMap itself must not be changed concurrently
+		for (var fileType : NaturalFileType.values())
+		{
+			tablesByType.put(fileType, new ConcurrentHashMap<>());
+		}
+	}
+
+	/**
+	 * Returns the file that the name resolves to. If the name hasn't been resolved for this type yet, it is resolved
+	 * with the given resolver.
+	 */
+	@Nullable
+	public F resolve(String referableName, @Nullable NaturalFileType requestedType, BiFunction<String, NaturalFileType, F> resolver)
+	{
+		return tableOf(requestedType)
+			.computeIfAbsent(referableName, name -> Optional.ofNullable(resolver.apply(name, requestedType)))
+			.orElse(null);
+	}
+
+	/**
+	 * Forgets the files that the name resolved to, so that it gets resolved again on the next lookup.
+	 */
+	public void invalidate(String referableName)
+	{
+		for (var table : tablesByType.values())
+		{
+			table.remove(referableName);
+		}
+		untypedTable.remove(referableName);
+	}
+
+	/**
+	 * Forgets all resolved names, e.g. because the steplibs have changed.
+	 */
+	public void clear()
+	{
+		for (var table : tablesByType.values())
+		{
+			table.clear();
+		}
+		untypedTable.clear();
+	}
+
+	private Map<String, Optional<F>> tableOf(@Nullable NaturalFileType requestedType)
+	{
+		return requestedType == null ? untypedTable : tablesByType.get(requestedType);
+	}
+}
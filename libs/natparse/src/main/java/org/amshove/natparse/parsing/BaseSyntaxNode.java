@@ -8,6 +8,7 @@ import org.amshove.natparse.natural.ISyntaxNodeVisitor;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -24,7 +25,7 @@ class BaseSyntaxNode implements ISyntaxNode
 
 	void removeNode(BaseSyntaxNode node)
 	{
-		nodes.remove(node);
+		growableNodes().remove(node);
 	}
 
 	public ISyntaxNode parent()
@@ -44,14 +45,51 @@ class BaseSyntaxNode implements ISyntaxNode
 			return;
 		}
 
+		node.setParent(this);
+		growableNodes().add(node);
+		nodeAdded(node);
+	}
+
+	private List<BaseSyntaxNode> growableNodes()
+	{
 		if (nodes.isEmpty())
 		{
 			nodes = new ArrayList<>(); // perf: We reuse an empty list because we expect a lot of nodes to not have descendants.
 		}
+		else
+			if (!(nodes instanceof ArrayList))
+			{
+				nodes = new ArrayList<>(nodes); // compacted nodes have a list with a fixed size
+			}
 
-		node.setParent(this);
-		nodes.add(node);
-		nodeAdded(node);
+		return nodes;
+	}
+
+	/**
+	 * Shrinks the lists of this node to the size they need. This gets called for every node of a module after it has
+	 * been parsed, because their spare capacity adds up to a lot of memory for a whole project.<br/>
+	 * Descendants can still be added afterwards, the list of descendants grows again when needed.
+	 */
+	void compact()
+	{
+		nodes = compacted(nodes);
+	}
+
+	/**
+	 * Returns a list with the elements of the given list which takes no more memory than needed. The returned list
+	 * can't grow, so this is only meant to be used by {@link #compact()} for lists that don't change after parsing.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> List<T> compacted(List<T> list)
+	{
+		if (list.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+
+		return list instanceof ArrayList<T>
+			? (List<T>) Arrays.asList(list.toArray())
+			: list;
 	}
 
 	protected void nodeAdded(BaseSyntaxNode node)
@@ -62,7 +100,11 @@ class BaseSyntaxNode implements ISyntaxNode
 	@Override
 	public ReadOnlyList<? extends ISyntaxNode> descendants()
 	{
-		return ReadOnlyList.from(nodes); // TODO: Perf
+		// Compacted nodes can't change size anymore and are safe to read from every thread. Nodes that are still
+		// growable might get descendants added while being read.
+		return nodes instanceof ArrayList
+			? ReadOnlyList.from(nodes)
+			: ReadOnlyList.view(nodes);
 	}
 
 	@Override
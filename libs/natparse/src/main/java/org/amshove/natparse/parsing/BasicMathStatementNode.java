@@ -12,7 +12,7 @@ class BasicMathStatementNode extends StatementNode implements IMutateVariables
 	private IOperandNode target;
 	private boolean isRounded;
 	private boolean isGiving;
-	private final List<IOperandNode> operands = new ArrayList<>();
+	private List<IOperandNode> operands = new ArrayList<>();
 
 	public IOperandNode target()
 	{
@@ -59,4 +59,11 @@ class BasicMathStatementNode extends StatementNode implements IMutateVariables
 	{
 		return ReadOnlyList.of(target);
 	}
+
+	@Override
+	void compact()
+	{
+		super.compact();
+		operands = compacted(operands);
+	}
 }
@@ -10,7 +10,7 @@ import java.util.List;
 class CompressStatementNode extends StatementNode implements ICompressStatementNode
 {
 	private IOperandNode intoTarget;
-	private final List<IOperandNode> operands = new ArrayList<>();
+	private List<IOperandNode> operands = new ArrayList<>();
 	private boolean isNumeric;
 	private boolean isFull;
 	private boolean isLeavingSpace = true;
@@ -111,4 +111,11 @@ class CompressStatementNode extends StatementNode implements ICompressStatementN
 	{
 		return ReadOnlyList.of(intoTarget);
 	}
+
+	@Override
+	void compact()
+	{
+		super.compact();
+		operands = compacted(operands);
+	}
 }
@@ -0,0 +1,116 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.IPosition;
+import org.amshove.natparse.infrastructure.ActualFilesystem;
+import org.amshove.natparse.infrastructure.IFilesystem;
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.lexing.PlainPosition;
+import org.amshove.natparse.lexing.TokenList;
+import org.amshove.natparse.natural.project.NaturalFile;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the lexed tokens of INCLUDEd copycodes per combination of copycode parameter, so that a copycode which is
+ * included by many modules with the same parameter is only read and lexed once per project.<br/>
+ * Copycodes are lexed as if they were included at an unknown position. The position of the actual INCLUDE is applied
+ * to every returned {@link TokenList} via {@link TokenList#relocatedCopy(IPosition)}.
+ */
+public class CopyCodeCache extends FileValidatedCache<CopyCodeCache.Expansions>
+{
+	public static final int DEFAULT_CAPACITY = 512;
+
+	/**
+	 * The maximum amount of different parameter combinations that are cached per copycode.
+	 */
+	static final int MAX_EXPANSIONS_PER_COPYCODE = 64;
+
+	private static final CopyCodeCache UNCACHED = new CopyCodeCache(0);
+
+	public CopyCodeCache()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	public CopyCodeCache(int capacity)
+	{
+		this(new ActualFilesystem(), capacity);
+	}
+
+	public CopyCodeCache(IFilesystem filesystem, int capacity)
+	{
+		super(filesystem, capacity);
+	}
+
+	/**
+	 * Returns the cache of the project the file belongs to. Files without a project are not cached.
+	 */
+	public static CopyCodeCache of(NaturalFile file)
+	{
+		var library = file.getLibrary();
+		if (library == null || library.getProject() == null)
+		{
+			return UNCACHED;
+		}
+
+		return library.getProject().getCopyCodeCache();
+	}
+
+	/**
+	 * Returns the tokens of the copycode with the given parameter substituted. The returned {@link TokenList} is
+	 * independent of all other lookups and reports all tokens and relocated diagnostics at the given position, as if
+	 * it has been lexed with {@link Lexer#relocateDiagnosticPosition(IPosition)}.
+	 */
+	public TokenList copyCodeTokens(NaturalFile copyCode, List<String> parameter, IPosition diagnosticPosition) throws IOException
+	{
+		var expansions = get(copyCode.getPath(), path -> new Expansions(filesystem.readFile(path)));
+		return expansions.lex(copyCode, parameter).relocatedCopy(diagnosticPosition);
+	}
+
+	/**
+	 * The source of a copycode and its lexed tokens per parameter combination.
+	 */
+	static final class Expansions
+	{
+		private final String source;
+		private final Map<List<String>, TokenList> tokensByParameter = new HashMap<>();
+
+		private Expansions(String source)
+		{
+			this.source = source;
+		}
+
+		private TokenList lex(NaturalFile copyCode, List<String> parameter)
+		{
+			TokenList cached;
+			synchronized (tokensByParameter)
+			{
+				cached = tokensByParameter.get(parameter);
+			}
+
+			if (cached != null)
+			{
+				return cached;
+			}
+
+			// Lexing happens outside the lock, so that threads including the copycode with other parameter don't wait
+			var lexer = Lexer.pooled(parameter).internSymbolsIn(copyCode.getSymbolPool());
+			// Any position makes the lexer report diagnostics as relocated. They're moved to the INCLUDE afterwards.
+			lexer.relocateDiagnosticPosition(new PlainPosition(0, 0, 0, 0, copyCode.getPath()));
+			var tokens = lexer.lex(source, copyCode.getPath());
+			synchronized (tokensByParameter)
+			{
+				if (tokensByParameter.size() >= MAX_EXPANSIONS_PER_COPYCODE)
+				{
+					return tokens;
+				}
+
+				var lexedByOtherThread = tokensByParameter.putIfAbsent(List.copyOf(parameter), tokens);
+				return lexedByOtherThread != null ? lexedByOtherThread : tokens;
+			}
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.infrastructure.ActualFilesystem;
+import org.amshove.natparse.infrastructure.IFilesystem;
+import org.amshove.natparse.natural.ddm.IDataDefinitionModule;
+import org.amshove.natparse.natural.project.NaturalFile;
+import org.amshove.natparse.parsing.ddm.DdmParser;
+
+import java.io.IOException;
+
+/**
+ * Caches parsed DDMs, so that a DDM which is used by VIEWs in many modules is only read and parsed once per project.
+ * <br/>
+ * Parsed DDMs are never changed after parsing and can therefore be shared by all modules.
+ */
+public class DdmCache extends FileValidatedCache<IDataDefinitionModule>
+{
+	public static final int DEFAULT_CAPACITY = 512;
+
+	private static final DdmCache UNCACHED = new DdmCache(0);
+
+	public DdmCache()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	public DdmCache(int capacity)
+	{
+		this(new ActualFilesystem(), capacity);
+	}
+
+	public DdmCache(IFilesystem filesystem, int capacity)
+	{
+		super(filesystem, capacity);
+	}
+
+	/**
+	 * Returns the cache of the project the file belongs to. Files without a project are not cached.
+	 */
+	public static DdmCache of(NaturalFile file)
+	{
+		var library = file.getLibrary();
+		if (library == null || library.getProject() == null)
+		{
+			return UNCACHED;
+		}
+
+		return library.getProject().getDdmCache();
+	}
+
+	public IDataDefinitionModule ddm(NaturalFile file) throws IOException
+	{
+		return get(file.getPath(), path -> new DdmParser().parseDdm(filesystem.readFile(path)));
+	}
+}
@@ -9,7 +9,7 @@ import java.util.List;
 
 class DecideOnBranchNode extends StatementWithBodyNode implements IDecideOnBranchNode
 {
-	private final List<IOperandNode> values = new ArrayList<>();
+	private List<IOperandNode> values = new ArrayList<>();
 	private boolean hasValueRange;
 
 	@Override
@@ -33,4 +33,11 @@ class DecideOnBranchNode extends StatementWithBodyNode implements IDecideOnBranc
 	{
 		this.hasValueRange = true;
 	}
+
+	@Override
+	void compact()
+	{
+		super.compact();
+		values = compacted(values);
+	}
 }
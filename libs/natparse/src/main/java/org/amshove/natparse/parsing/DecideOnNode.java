@@ -16,7 +16,7 @@ class DecideOnNode extends StatementNode implements IDecideOnNode
 	private IStatementListNode noneValue;
 	private IStatementListNode anyValue;
 	private IStatementListNode allValues;
-	private final List<IDecideOnBranchNode> branches = new ArrayList<>();
+	private List<IDecideOnBranchNode> branches = new ArrayList<>();
 
 	@Override
 	public IOperandNode operand()
@@ -78,4 +78,11 @@ class DecideOnNode extends StatementNode implements IDecideOnNode
 		branches.add(branch);
 		addNode(branch);
 	}
+
+	@Override
+	void compact()
+	{
+		super.compact();
+		branches = compacted(branches);
+	}
 }
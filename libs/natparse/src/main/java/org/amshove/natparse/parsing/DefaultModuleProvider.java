@@ -1,13 +1,9 @@
 package org.amshove.natparse.parsing;
 
-import org.amshove.natparse.lexing.Lexer;
 import org.amshove.natparse.natural.*;
 import org.amshove.natparse.natural.ddm.IDataDefinitionModule;
 import org.amshove.natparse.natural.project.NaturalFile;
 import org.amshove.natparse.natural.project.NaturalFileType;
-import org.amshove.natparse.parsing.ddm.DdmParser;
-
-import java.nio.file.Files;
 
 class DefaultModuleProvider implements IModuleProvider
 {
@@ -28,7 +24,7 @@ class DefaultModuleProvider implements IModuleProvider
 			{
 				return null;
 			}
-			return new DdmParser().parseDdm(Files.readString(calledFile.getPath()));
+			return DdmCache.of(calledFile).ddm(calledFile);
 		}
 		catch (Exception e)
 		{
@@ -59,8 +55,7 @@ class DefaultModuleProvider implements IModuleProvider
 		{
 			// Parsing only the DEFINE DATA should be enough for everything except COPYCODEs
 			// If we'd parse more, we would have to handle cyclomatic dependencies
-			var source = Files.readString(foundFile.getPath());
-			var tokens = new Lexer().lex(source, foundFile.getPath());
+			var tokens = DefineDataCache.of(foundFile).defineDataTokens(foundFile);
 			var result = new DefineDataParser(this).parse(tokens);
 			var builder = new NaturalModuleBuilder(foundFile);
 			builder.setDefineData(result.result());
@@ -0,0 +1,65 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.infrastructure.ActualFilesystem;
+import org.amshove.natparse.infrastructure.IFilesystem;
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.lexing.SyntaxKind;
+import org.amshove.natparse.lexing.TokenList;
+import org.amshove.natparse.natural.project.NaturalFile;
+
+import java.io.IOException;
+
+/**
+ * Caches the lexed DEFINE DATA of modules that are referenced by other modules, e.g. via USING or CALLNAT. This way a
+ * data area used by thousands of modules is only read and lexed once per project.<br/>
+ * Only the tokens are cached, not the parsed {@link org.amshove.natparse.natural.IDefineData}: its variables collect
+ * the references of every module that uses them, so every caller has to parse its own instance.
+ */
+public class DefineDataCache extends FileValidatedCache<TokenList>
+{
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	private static final DefineDataCache UNCACHED = new DefineDataCache(0);
+
+	public DefineDataCache()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	public DefineDataCache(int capacity)
+	{
+		this(new ActualFilesystem(), capacity);
+	}
+
+	public DefineDataCache(IFilesystem filesystem, int capacity)
+	{
+		super(filesystem, capacity);
+	}
+
+	/**
+	 * Returns the cache of the project the file belongs to. Files without a project are not cached.
+	 */
+	public static DefineDataCache of(NaturalFile file)
+	{
+		var library = file.getLibrary();
+		if (library == null || library.getProject() == null)
+		{
+			return UNCACHED;
+		}
+
+		return library.getProject().getDefineDataCache();
+	}
+
+	/**
+	 * Returns the tokens of the given file up to the token after END-DEFINE, which is everything the
+	 * {@link DefineDataParser} needs. Every call returns a new {@link TokenList} that starts at the first token.
+	 */
+	public TokenList defineDataTokens(NaturalFile file) throws IOException
+	{
+		var tokens = get(
+			file.getPath(),
+			path -> Lexer.pooled().internSymbolsIn(file.getSymbolPool()).lexUntilTokenAfter(filesystem.readSource(path), path, SyntaxKind.END_DEFINE)
+		);
+		return tokens.independentCopy();
+	}
+}
@@ -8,32 +8,35 @@ import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 class DefineDataNode extends BaseSyntaxNode implements IDefineData
 {
-	private final List<IUsingNode> usings = new ArrayList<>();
-	private final List<IVariableNode> variables = new ArrayList<>();
+	private final ArrayList<IUsingNode> usings = new ArrayList<>();
+	private final ArrayList<IVariableNode> variables = new ArrayList<>();
 	private ReadOnlyList<ITypedVariableNode> cachedEffectiveParameter;
+	private Map<String, List<IVariableNode>> variablesByName; // Gets built on the first lookup after all variables are added
 
 	@Override
 	public ReadOnlyList<IUsingNode> localUsings()
 	{
-		return usings.stream().filter(IUsingNode::isLocalUsing).collect(ReadOnlyList.collector()); // TODO: Perf
+		return usings.stream().filter(IUsingNode::isLocalUsing).collect(ReadOnlyList.collector());
 	}
 
 	@Override
 	public ReadOnlyList<IUsingNode> parameterUsings()
 	{
-		return usings.stream().filter(IUsingNode::isParameterUsing).collect(ReadOnlyList.collector()); // TODO: Perf
+		return usings.stream().filter(IUsingNode::isParameterUsing).collect(ReadOnlyList.collector());
 	}
 
 	@Override
 	public ReadOnlyList<IUsingNode> globalUsings()
 	{
-		return usings.stream().filter(IUsingNode::isGlobalUsing).collect(ReadOnlyList.collector()); // TODO: Perf
+		return usings.stream().filter(IUsingNode::isGlobalUsing).collect(ReadOnlyList.collector());
 	}
 
 	@Override
@@ -54,22 +57,15 @@ class DefineDataNode extends BaseSyntaxNode implements IDefineData
 	@Override
 	public ReadOnlyList<IVariableNode> variables()
 	{
-		return ReadOnlyList.from(variables); // TODO: Perf
+		return ReadOnlyList.view(variables);
 	}
 
 	@Nullable
 	@Override
 	public IVariableNode findVariable(String symbolName)
 	{
-		for (var variable : variables)
-		{
-			if (variable.name().equals(symbolName) || variable.qualifiedName().equals(symbolName))
-			{
-				return variable;
-			}
-		}
-
-		return null;
+		var foundVariables = variablesByName().get(symbolName);
+		return foundVariables != null ? foundVariables.getFirst() : null;
 	}
 
 	@Nullable
@@ -135,7 +131,7 @@ class DefineDataNode extends BaseSyntaxNode implements IDefineData
 	@Override
 	public ReadOnlyList<IUsingNode> usings()
 	{
-		return ReadOnlyList.from(usings); // TODO: Perf
+		return ReadOnlyList.view(usings);
 	}
 
 	@Override
@@ -154,16 +150,30 @@ class DefineDataNode extends BaseSyntaxNode implements IDefineData
 
 		if (node instanceof IVariableNode variable)
 		{
-			variables.add(variable);
+			addToVariables(variable);
 		}
 	}
 
+	@Override
+	void compact()
+	{
+		super.compact();
+		usings.trimToSize();
+		variables.trimToSize();
+	}
+
+	private void addToVariables(IVariableNode variable)
+	{
+		variables.add(variable);
+		variablesByName = null;
+	}
+
 	/**
 	 * Do not use this, exists temporarly for functions
 	 */
 	void addVariable(IVariableNode variable)
 	{
-		variables.add(variable);
+		addToVariables(variable);
 	}
 
 	private void addAllVariablesFromUsing(IUsingNode usingNode)
@@ -175,7 +185,7 @@ class DefineDataNode extends BaseSyntaxNode implements IDefineData
 
 		for (var variable : usingNode.defineData().variables())
 		{
-			variables.add(variable);
+			addToVariables(variable);
 		}
 	}
 
@@ -189,7 +199,7 @@ class DefineDataNode extends BaseSyntaxNode implements IDefineData
 
 	private void addAllVariablesRecursively(IVariableNode variable)
 	{
-		variables.add(variable);
+		addToVariables(variable);
 		if (variable instanceof IGroupNode group)
 		{
 			for (var nestedVariable : group.variables())
@@ -202,6 +212,35 @@ class DefineDataNode extends BaseSyntaxNode implements IDefineData
 	List<IVariableNode> findVariablesWithName(String symbolName)
 	{
 		var foundVariables = new ArrayList<IVariableNode>();
+		var variablesWithName = variablesByName().get(symbolName);
+		if (variablesWithName == null)
+		{
+			return foundVariables;
+		}
+
+		for (var variable : variablesWithName)
+		{
+			if (!(variable instanceof IRedefinitionNode))
+			{
+				foundVariables.add(variable);
+			}
+		}
+
+		return foundVariables;
+	}
+
+	/**
+	 * Returns all variables by their name and their qualified name. Variables with the same name are in the order of
+	 * their declaration.
+	 */
+	private Map<String, List<IVariableNode>> variablesByName()
+	{
+		if (variablesByName != null)
+		{
+			return variablesByName;
+		}
+
+		var index = new HashMap<String, List<IVariableNode>>(variables.size() * 2);
 		for (var variable : variables)
 		{
 			if (variable.name() == null)
@@ -209,14 +248,15 @@ class DefineDataNode extends BaseSyntaxNode implements IDefineData
 				continue; // There was a parse error with that variable name
 			}
 
-			if ((variable.name().equals(symbolName) || variable.qualifiedName().equals(symbolName))
-				&& !(variable instanceof IRedefinitionNode))
+			index.computeIfAbsent(variable.name(), __ -> new ArrayList<>(1)).add(variable);
+			if (!variable.qualifiedName().equals(variable.name()))
 			{
-				foundVariables.add(variable);
+				index.computeIfAbsent(variable.qualifiedName(), __ -> new ArrayList<>(1)).add(variable);
 			}
 		}
 
-		return foundVariables;
+		variablesByName = index;
+		return index;
 	}
 
 	@Override
@@ -1,5 +1,6 @@
 package org.amshove.natparse.parsing;
 
+import org.amshove.natparse.ICancellationToken;
 import org.amshove.natparse.NodeUtil;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.lexing.SyntaxKind;
@@ -11,9 +12,10 @@ import java.util.List;
 public class ExternalParameterCheck
 {
 	public static void performParameterCheck(NaturalModuleBuilder moduleBuilder,
-		List<IModuleReferencingNode> moduleRefs)
+		List<IModuleReferencingNode> moduleRefs, ICancellationToken cancellationToken)
 	{
 		moduleRefs.forEach(node -> {
+			cancellationToken.throwIfCancellationRequested();
 
 			if (!(node instanceof IModuleReferencingNode moduleRef))
 			{
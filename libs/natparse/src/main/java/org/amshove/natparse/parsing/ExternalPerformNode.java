@@ -44,6 +44,17 @@ final class ExternalPerformNode extends PerformNode implements IExternalPerformN
 		providedParameter.add(parameter);
 	}
 
+	@Override
+	public void destroy()
+	{
+		if (reference != null)
+		{
+			reference.removeCaller(this);
+			reference = null;
+		}
+		super.destroy();
+	}
+
 	void setReference(INaturalModule module)
 	{
 		module.addCaller(this);
@@ -0,0 +1,105 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.infrastructure.IFilesystem;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Base of project-wide caches of values derived from a file.<br/>
+ * Entries are validated against the modification time and size of the file, and the least recently used entry is
+ * evicted once the cache is full. The cache can be used by multiple threads at once.
+ */
+abstract class FileValidatedCache<T>
+{
+	protected final IFilesystem filesystem;
+	private final int capacity;
+	private final Map<Path, Entry<T>> entries;
+
+	private record Entry<T>(FileTime lastModified, long size, T value)
+	{}
+
+	@FunctionalInterface
+	interface Loader<T>
+	{
+		T load(Path path) throws IOException;
+	}
+
+	protected FileValidatedCache(IFilesystem filesystem, int capacity)
+	{
+		this.filesystem = filesystem;
+		this.capacity = capacity;
+		entries = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Path, Entry<T>> eldest)
+			{
+				return size() > FileValidatedCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached value of the file if the file hasn't changed since, otherwise loads and caches it.
+	 */
+	protected T get(Path path, Loader<T> loader) throws IOException
+	{
+		// Filesystems report read errors unchecked
+		try
+		{
+			return getOrLoad(path, loader);
+		}
+		catch (UncheckedIOException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+	private T getOrLoad(Path path, Loader<T> loader) throws IOException
+	{
+		var attributes = filesystem.readAttributes(path);
+		Entry<T> cached;
+		synchronized (entries)
+		{
+			cached = entries.get(path);
+		}
+
+		if (cached != null && cached.lastModified().equals(attributes.lastModifiedTime()) && cached.size() == attributes.size())
+		{
+			return cached.value();
+		}
+
+		// Loading happens outside the lock, so that threads looking up different files don't wait for each other
+		var value = loader.load(path);
+
+		if (capacity > 0)
+		{
+			synchronized (entries)
+			{
+				entries.put(path, new Entry<>(attributes.lastModifiedTime(), attributes.size(), value));
+			}
+		}
+
+		return value;
+	}
+
+	public void evict(Path path)
+	{
+		synchronized (entries)
+		{
+			entries.remove(path);
+		}
+	}
+
+	public int size()
+	{
+		synchronized (entries)
+		{
+			return entries.size();
+		}
+	}
+}
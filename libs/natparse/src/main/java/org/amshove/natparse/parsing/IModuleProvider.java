@@ -9,5 +9,16 @@ public interface IModuleProvider
 {
 	INaturalModule findNaturalModule(String referableName, @Nullable NaturalFileType requestedType);
 
+	/**
+	 * Finds a module like {@link #findNaturalModule(String, NaturalFileType)}, but without the side effects of
+	 * referencing it, like registering the caller. This is used to check whether a module that has been referenced
+	 * before still resolves to the same instance.<br/>
+	 * Providers that have such side effects have to override this.
+	 */
+	default INaturalModule peekNaturalModule(String referableName, NaturalFileType requestedType)
+	{
+		return findNaturalModule(referableName, requestedType);
+	}
+
 	IDataDefinitionModule findDdm(String referableName);
 }
@@ -13,7 +13,7 @@ class ModuleReferencingNode extends StatementNode implements IModuleReferencingN
 {
 	private SyntaxToken calledModule;
 	private INaturalModule referencedModule;
-	private final List<IOperandNode> providedParameter = new ArrayList<>();
+	private List<IOperandNode> providedParameter = new ArrayList<>();
 
 	void setReferencingToken(SyntaxToken calledModule)
 	{
@@ -51,4 +51,22 @@ class ModuleReferencingNode extends StatementNode implements IModuleReferencingN
 			module.addCaller(this);
 		}
 	}
+
+	@Override
+	public void destroy()
+	{
+		if (referencedModule != null)
+		{
+			referencedModule.removeCaller(this);
+			referencedModule = null;
+		}
+		super.destroy();
+	}
+
+	@Override
+	void compact()
+	{
+		super.compact();
+		providedParameter = compacted(providedParameter);
+	}
 }
@@ -1,6 +1,7 @@
 package org.amshove.natparse.parsing;
 
 import org.amshove.natparse.IDiagnostic;
+import org.amshove.natparse.ParsePhaseTimings;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.lexing.SyntaxToken;
 import org.amshove.natparse.natural.*;
@@ -18,16 +19,21 @@ class NaturalModule
 {
 	protected final NaturalFile file;
 	private IDefineData defineData;
+	private List<IDiagnostic> defineDataDiagnostics;
+	// Both can change while the module is read concurrently, e.g. callers are added and removed while parsing other
+	// modules. They're only accessed while synchronized on them and copied when read.
 	private final List<IDiagnostic> diagnostics = new ArrayList<>();
 	private final List<IModuleReferencingNode> callers = new ArrayList<>();
 	private final List<IReferencableNode> referencableNodes = new ArrayList<>();
 	private IStatementListNode body;
+	private List<ISymbolReferenceNode> symbolReferences = List.of();
 	private ISyntaxTree tree;
 	private ReadOnlyList<SyntaxToken> comments;
 	private ReadOnlyList<SyntaxToken> tokens;
 	private NaturalHeader sourceHeader;
 	private IDataType returnType;
 	private SyntaxToken functionName;
+	private ParsePhaseTimings parsePhaseTimings = ParsePhaseTimings.EMPTY;
 
 	public NaturalModule(NaturalFile file)
 	{
@@ -55,12 +61,18 @@ class NaturalModule
 
 	public ReadOnlyList<IDiagnostic> diagnostics()
 	{
-		return ReadOnlyList.from(diagnostics);
+		synchronized (diagnostics)
+		{
+			return diagnostics.isEmpty() ? ReadOnlyList.empty() : ReadOnlyList.from(diagnostics);
+		}
 	}
 
 	public ReadOnlyList<IModuleReferencingNode> callers()
 	{
-		return ReadOnlyList.from(callers);
+		synchronized (callers)
+		{
+			return callers.isEmpty() ? ReadOnlyList.empty() : ReadOnlyList.from(callers);
+		}
 	}
 
 	public ReadOnlyList<SyntaxToken> tokens()
@@ -86,7 +98,24 @@ class NaturalModule
 
 	void addDiagnostics(List<IDiagnostic> diagnostics)
 	{
-		this.diagnostics.addAll(diagnostics);
+		synchronized (this.diagnostics)
+		{
+			this.diagnostics.addAll(diagnostics);
+		}
+	}
+
+	/**
+	 * The diagnostics reported while parsing the DEFINE DATA of this module, or null if the DEFINE DATA wasn't parsed
+	 * by the {@link NaturalParser}.
+	 */
+	List<IDiagnostic> defineDataDiagnostics()
+	{
+		return defineDataDiagnostics;
+	}
+
+	void setDefineDataDiagnostics(List<IDiagnostic> diagnostics)
+	{
+		defineDataDiagnostics = diagnostics;
 	}
 
 	public IStatementListNode body()
@@ -99,14 +128,44 @@ class NaturalModule
 		this.body = body;
 	}
 
+	/**
+	 * All references to symbols that were resolved while parsing the body of this module. Some of them might not be
+	 * part of the body, e.g. when a parse error kept them from being attached to their statement.
+	 */
+	List<ISymbolReferenceNode> symbolReferences()
+	{
+		return symbolReferences;
+	}
+
+	void setSymbolReferences(List<ISymbolReferenceNode> symbolReferences)
+	{
+		this.symbolReferences = symbolReferences;
+	}
+
 	public void removeCaller(IModuleReferencingNode callerNode)
 	{
-		callers.remove(callerNode);
+		synchronized (callers)
+		{
+			callers.remove(callerNode);
+		}
 	}
 
 	public void addCaller(IModuleReferencingNode caller)
 	{
-		callers.add(caller);
+		synchronized (callers)
+		{
+			callers.add(caller);
+		}
+	}
+
+	public ParsePhaseTimings parsePhaseTimings()
+	{
+		return parsePhaseTimings;
+	}
+
+	void setParsePhaseTimings(ParsePhaseTimings timings)
+	{
+		parsePhaseTimings = timings;
 	}
 
 	void setTokens(ReadOnlyList<SyntaxToken> tokens)
@@ -1,6 +1,7 @@
 package org.amshove.natparse.parsing;
 
 import org.amshove.natparse.IDiagnostic;
+import org.amshove.natparse.ParsePhaseTimings;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.lexing.SyntaxToken;
 import org.amshove.natparse.natural.*;
@@ -18,12 +19,15 @@ public class NaturalModuleBuilder
 	private final NaturalFile correspondingFile;
 	private ReadOnlyList<SyntaxToken> comments;
 	private IDefineData defineData;
+	private List<IDiagnostic> defineDataDiagnostics;
 	private ReadOnlyList<SyntaxToken> tokens;
 	private NaturalHeader sourceHeader;
 	private SyntaxToken functionName;
 	private DataType returnType;
 	private IStatementListNode body;
+	private List<ISymbolReferenceNode> symbolReferences = List.of();
 	private ISyntaxTree syntaxTree;
+	private ParsePhaseTimings parsePhaseTimings = ParsePhaseTimings.EMPTY;
 
 	public NaturalModuleBuilder(NaturalFile file)
 	{
@@ -36,14 +40,17 @@ public class NaturalModuleBuilder
 
 		theModule.setHeader(sourceHeader);
 		theModule.setDefineData(defineData);
+		theModule.setDefineDataDiagnostics(defineDataDiagnostics);
 		theModule.setComments(comments);
 		theModule.setTokens(tokens);
 		theModule.setBody(body);
+		theModule.setSymbolReferences(symbolReferences);
 		theModule.setSyntaxTree(syntaxTree);
 		theModule.addReferencableNodes(referencableNodes);
 		theModule.setFunctionName(functionName);
 		theModule.setReturnType(returnType);
 		theModule.addDiagnostics(diagnostics);
+		theModule.setParsePhaseTimings(parsePhaseTimings);
 
 		return (INaturalModule) theModule;
 	}
@@ -54,6 +61,12 @@ public class NaturalModuleBuilder
 		return this;
 	}
 
+	public NaturalModuleBuilder setParsePhaseTimings(ParsePhaseTimings timings)
+	{
+		parsePhaseTimings = timings;
+		return this;
+	}
+
 	NaturalFileType fileType()
 	{
 		return correspondingFile.getFiletype();
@@ -152,12 +165,24 @@ public class NaturalModuleBuilder
 		return this;
 	}
 
+	NaturalModuleBuilder setDefineDataDiagnostics(List<IDiagnostic> diagnostics)
+	{
+		defineDataDiagnostics = diagnostics;
+		return this;
+	}
+
 	public NaturalModuleBuilder setBody(IStatementListNode body)
 	{
 		this.body = body;
 		return this;
 	}
 
+	NaturalModuleBuilder setSymbolReferences(List<ISymbolReferenceNode> symbolReferences)
+	{
+		this.symbolReferences = symbolReferences;
+		return this;
+	}
+
 	private NaturalModule create()
 	{
 		return switch (correspondingFile.getFiletype())
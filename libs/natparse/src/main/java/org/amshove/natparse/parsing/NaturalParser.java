@@ -1,5 +1,8 @@
 package org.amshove.natparse.parsing;
 
+import org.amshove.natparse.ICancellationToken;
+import org.amshove.natparse.IDiagnostic;
+import org.amshove.natparse.ParsePhase;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.lexing.SyntaxKind;
 import org.amshove.natparse.lexing.SyntaxToken;
@@ -10,10 +13,13 @@ import org.amshove.natparse.natural.project.NaturalFileType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 public class NaturalParser
 {
 	private final IModuleProvider moduleProvider;
+	private final ICancellationToken cancellationToken;
 
 	public NaturalParser()
 	{
@@ -21,8 +27,19 @@ public class NaturalParser
 	}
 
 	public NaturalParser(IModuleProvider moduleProvider)
+	{
+		this(moduleProvider, ICancellationToken.NONE);
+	}
+
+	/**
+	 * Creates a parser that stops with a {@link java.util.concurrent.CancellationException} as soon as the given token
+	 * requests cancellation. The nodes parsed until then get destroyed. When that happens during
+	 * {@link #reparse(NaturalFile, TokenList, INaturalModule)}, the previous module is still intact.
+	 */
+	public NaturalParser(IModuleProvider moduleProvider, ICancellationToken cancellationToken)
 	{
 		this.moduleProvider = moduleProvider;
+		this.cancellationToken = cancellationToken;
 	}
 
 	public INaturalModule parse(NaturalFile file, TokenList tokens)
@@ -32,10 +49,64 @@ public class NaturalParser
 		{
 			moduleProviderToUse = new DefaultModuleProvider(file);
 		}
-		return parseModule(file, moduleProviderToUse, tokens);
+		return parseModule(file, moduleProviderToUse, tokens, false, null);
+	}
+
+	/**
+	 * Parses a changed version of {@code previousModule}, e.g. after an edit in the language server.<br/>
+	 * If none of the tokens up to END-DEFINE have changed and all data areas and DDMs used by the DEFINE DATA still
+	 * resolve to the same instances, the DEFINE DATA of {@code previousModule} is taken over instead of being parsed
+	 * again. The DEFINE DATA is the only part that is reused. The body is always parsed, resolved and checked completely
+	 * like {@link #parse(NaturalFile, TokenList)} does, which also applies to the whole module if the DEFINE DATA can't
+	 * be reused.<br/>
+	 * The nodes of {@code previousModule} get destroyed after the new module has been parsed, so it must not be used
+	 * afterwards.
+	 */
+	public INaturalModule reparse(NaturalFile file, TokenList tokens, INaturalModule previousModule)
+	{
+		return reparse(file, tokens, previousModule, module ->
+		{});
+	}
+
+	/**
+	 * Like {@link #reparse(NaturalFile, TokenList, INaturalModule)}, but hands the new module to {@code publish} while
+	 * {@code previousModule} is still intact. Consumers that share the previous module with other threads publish the
+	 * new one there, so that nobody reads the previous module while it gets destroyed.
+	 */
+	public INaturalModule reparse(NaturalFile file, TokenList tokens, INaturalModule previousModule, Consumer<INaturalModule> publish)
+	{
+		var moduleProviderToUse = moduleProvider;
+		if (moduleProviderToUse == null)
+		{
+			moduleProviderToUse = new DefaultModuleProvider(file);
+		}
+
+		var reusableDefineData = findReusableDefineData(file, tokens, previousModule, moduleProviderToUse);
+		var module = parseModule(file, moduleProviderToUse, tokens, false, reusableDefineData);
+		publish.accept(module);
+		destroyNodes(previousModule, reusableDefineData);
+		return module;
+	}
+
+	/**
+	 * Parses only the outline of a module, which is its DEFINE DATA, the declared subroutines and the statements
+	 * referencing other modules (CALLNAT, PERFORM, FETCH, INCLUDE and function calls). All other statements are
+	 * skipped.<br/>
+	 * This is meant for consumers like indexing or workspace symbols, which don't need the whole syntax tree. Variable
+	 * references in the body are not resolved, nothing is type checked and the only diagnostics are the ones of the
+	 * lexer and the DEFINE DATA.
+	 */
+	public INaturalModule parseOutline(NaturalFile file, TokenList tokens)
+	{
+		var moduleProviderToUse = moduleProvider;
+		if (moduleProviderToUse == null)
+		{
+			moduleProviderToUse = new DefaultModuleProvider(file);
+		}
+		return parseModule(file, moduleProviderToUse, tokens, true, null);
 	}
 
-	private INaturalModule parseModule(NaturalFile file, IModuleProvider moduleProvider, TokenList tokens)
+	private INaturalModule parseModule(NaturalFile file, IModuleProvider moduleProvider, TokenList tokens, boolean outlineOnly, ReusableDefineData reusableDefineData)
 	{
 		var moduleBuilder = new NaturalModuleBuilder(file)
 			.addDiagnostics(tokens.diagnostics())
@@ -52,53 +123,100 @@ public class NaturalParser
 			return moduleBuilder.build();
 		}
 
+		// Every module passes through the phases in the order of ParsePhase, each at most once
+		var timer = new ParsePhaseTimer();
+		var statementParser = new StatementListParser(moduleProvider);
+		try
+		{
+			timer.measure(ParsePhase.DEFINE_DATA, () -> parseOrReuseDefineData(file, tokens, moduleProvider, moduleBuilder, reusableDefineData, topLevelNodes));
+
+			if (file.getFiletype().canHaveBody())
+			{
+				if (outlineOnly)
+				{
+					topLevelNodes.add(parseBodyOutline(statementParser, tokens, moduleBuilder, timer));
+				}
+				else
+				{
+					var bodyParseResult = parseBody(statementParser, tokens, moduleBuilder, timer);
+					topLevelNodes.add(bodyParseResult.body());
+					timer.measure(ParsePhase.TYPE_CHECK, () -> typeCheck(moduleBuilder));
+					if (moduleBuilder.fileType() != NaturalFileType.COPYCODE)
+					{
+						// Copycodes will be analyzed in context of their including module.
+						// Analyzing them doesn't make sense, because we can't check parameter
+						// types etc.
+						timer.measure(ParsePhase.PARAMETER_CHECK, () -> ExternalParameterCheck.performParameterCheck(moduleBuilder, bodyParseResult.moduleRefs(), cancellationToken));
+					}
+				}
+			}
+		}
+		catch (CancellationException e)
+		{
+			destroyPartialModule(moduleBuilder, reusableDefineData, statementParser);
+			throw e;
+		}
+
+		var syntaxTree = SyntaxTree.create(ReadOnlyList.from(topLevelNodes));
+		timer.measure(ParsePhase.COMPACTION, () -> compact(syntaxTree));
+		moduleBuilder.setSyntaxTree(syntaxTree);
+		moduleBuilder.setParsePhaseTimings(timer.timings());
+
+		return moduleBuilder.build();
+	}
+
+	private void parseOrReuseDefineData(NaturalFile file, TokenList tokens, IModuleProvider moduleProvider, NaturalModuleBuilder moduleBuilder, ReusableDefineData reusableDefineData, List<ISyntaxNode> topLevelNodes)
+	{
 		VariableNode functionReturnVariable = null;
 		if (file.getFiletype() == NaturalFileType.FUNCTION) // skip over DEFINE FUNCTION
 		{
 			functionReturnVariable = consumeDefineFunction(tokens, moduleBuilder);
 		}
 
-		// Try to advance to DEFINE DATA.
-		// If the module contains a DEFINE DATA, the TokenLists offset will be set to the start of DEFINE DATA.
-		// This was introduced to temporarily skip over INCLUDE and OPTION before DEFINE DATA
-		if (advanceToDefineData(tokens))
+		if (reusableDefineData != null)
 		{
-			topLevelNodes.add(parseDefineData(tokens, moduleProvider, moduleBuilder));
-			if (file.getFiletype() == NaturalFileType.FUNCTION && moduleBuilder.getDefineData() != null && functionReturnVariable != null)
+			topLevelNodes.add(reuseDefineData(tokens, reusableDefineData, moduleBuilder));
+		}
+		else
+			// Try to advance to DEFINE DATA.
+			// If the module contains a DEFINE DATA, the TokenLists offset will be set to the start of DEFINE DATA.
+			// This was introduced to temporarily skip over INCLUDE and OPTION before DEFINE DATA
+			if (advanceToDefineData(tokens))
 			{
-				var defineData = (DefineDataNode) moduleBuilder.getDefineData();
-				defineData.addVariable(functionReturnVariable);
-				moduleBuilder.addReferencableNodes(List.of(functionReturnVariable));
+				topLevelNodes.add(parseDefineData(tokens, moduleProvider, moduleBuilder));
+				if (file.getFiletype() == NaturalFileType.FUNCTION && moduleBuilder.getDefineData() != null && functionReturnVariable != null)
+				{
+					var defineData = (DefineDataNode) moduleBuilder.getDefineData();
+					defineData.addVariable(functionReturnVariable);
+					moduleBuilder.addReferencableNodes(List.of(functionReturnVariable));
+				}
 			}
-		}
+	}
 
-		if (file.getFiletype().canHaveBody())
+	/**
+	 * Perf: Shrinks the lists of all nodes, because parsed modules are kept around by the language server.
+	 */
+	private static void compact(ISyntaxTree tree)
+	{
+		for (var descendant : tree.descendants())
 		{
-			var bodyParseResult = parseBody(tokens, moduleProvider, moduleBuilder);
-			topLevelNodes.add(bodyParseResult.body());
-			if (moduleBuilder.fileType() != NaturalFileType.COPYCODE)
+			if (descendant instanceof BaseSyntaxNode node)
 			{
-				// Copycodes will be analyzed in context of their including module.
-				// Analyzing them doesn't make sense, because we can't check parameter
-				// types etc.
-				ExternalParameterCheck.performParameterCheck(moduleBuilder, bodyParseResult.moduleRefs());
+				node.compact();
 			}
-		}
-
-		moduleBuilder.setSyntaxTree(SyntaxTree.create(ReadOnlyList.from(topLevelNodes)));
 
-		return moduleBuilder.build();
+			if (descendant != null)
+			{
+				compact(descendant);
+			}
+		}
 	}
 
 	private boolean advanceToDefineData(TokenList tokens)
 	{
-		SyntaxToken current;
-		SyntaxToken next;
 		for (var offset = 0; offset < tokens.size(); offset++)
 		{
-			current = tokens.peek(offset);
-			next = tokens.peek(offset + 1);
-			if (current != null && next != null && current.kind() == SyntaxKind.DEFINE && next.kind() == SyntaxKind.DATA)
+			if (tokens.peekKind(offset) == SyntaxKind.DEFINE && tokens.peekKind(offset + 1) == SyntaxKind.DATA)
 			{
 				tokens.advanceBy(offset);
 				return true;
@@ -190,58 +308,221 @@ public class NaturalParser
 		if (defineData != null)
 		{
 			moduleBuilder.setDefineData(defineData);
+			moduleBuilder.setDefineDataDiagnostics(result.diagnostics().toList());
 			moduleBuilder.addReferencableNodes(defineData.variables().stream().map(n -> (IReferencableNode) n).toList());
 		}
 
 		return defineData;
 	}
 
-	private BodyParseResult parseBody(TokenList tokens, IModuleProvider moduleProvider, NaturalModuleBuilder moduleBuilder)
+	private IDefineData reuseDefineData(TokenList tokens, ReusableDefineData reusableDefineData, NaturalModuleBuilder moduleBuilder)
 	{
-		var statementParser = new StatementListParser(moduleProvider);
-		var result = statementParser.parse(tokens);
-		moduleBuilder.addReferencableNodes(statementParser.getReferencableNodes());
-		addRelevantParserDiagnostics(moduleBuilder, result);
-		moduleBuilder.setBody(result.result());
-		resolveVariableReferences(statementParser, moduleBuilder);
-
-		if (moduleBuilder.getDefineData() != null)
+		tokens.advanceBy(reusableDefineData.tokenCount());
+		var defineData = reusableDefineData.defineData();
+		moduleBuilder.addDiagnostics(reusableDefineData.diagnostics());
+		moduleBuilder.setDefineData(defineData);
+		moduleBuilder.setDefineDataDiagnostics(reusableDefineData.diagnostics());
+		moduleBuilder.addReferencableNodes(defineData.variables().stream().map(n -> (IReferencableNode) n).toList());
+
+		for (var using : defineData.usings())
 		{
-			var typer = new TypeChecker();
-			for (var diagnostic : typer.check(moduleBuilder.getDefineData()))
+			// The callers of the used data areas might have been cleaned up in the meantime
+			if (using.reference() != null && !using.reference().callers().contains(using))
 			{
-				moduleBuilder.addDiagnostic(diagnostic);
+				using.reference().addCaller(using);
 			}
 		}
 
-		var theBody = moduleBuilder.body();
-		if (theBody != null && moduleBuilder.fileType() != NaturalFileType.COPYCODE)
+		return defineData;
+	}
+
+	private ReusableDefineData findReusableDefineData(NaturalFile file, TokenList tokens, INaturalModule previousModule, IModuleProvider moduleProvider)
+	{
+		if (file.getFiletype() == NaturalFileType.FUNCTION
+			|| !(previousModule instanceof NaturalModule previous)
+			|| !(previous.defineData() instanceof DefineDataNode defineData)
+			|| previous.defineDataDiagnostics() == null
+			|| previous.tokens() == null
+			|| !previous.file().getPath().equals(file.getPath()))
 		{
-			var endStatementFound = false;
-			for (var statement : theBody.statements())
+			return null;
+		}
+
+		// The DEFINE DATA parser stops right after END-DEFINE, so everything up to it has to be unchanged
+		if (!(defineData.descendants().last() instanceof ITokenNode endDefine) || endDefine.token().kind() != SyntaxKind.END_DEFINE)
+		{
+			return null;
+		}
+
+		var endDefineOffset = endDefine.token().offset();
+		var tokenCount = 0;
+		for (var previousToken : previous.tokens())
+		{
+			if (tokens.isAtEnd(tokenCount) || !isSameToken(previousToken, tokens.peek(tokenCount)))
 			{
-				if (endStatementFound)
-				{
-					reportNoSourceCodeAfterEndStatementAllowed(moduleBuilder, statement);
-					break;
-				}
-				endStatementFound = statement instanceof IEndNode;
+				return null;
 			}
-			if (!endStatementFound && theBody.statements().hasItems())
+
+			tokenCount++;
+			if (previousToken.offset() == endDefineOffset)
 			{
-				reportEndStatementMissing(moduleBuilder, theBody.statements().last());
+				break;
 			}
+		}
 
-			var typer = new TypeChecker();
-			for (var diagnostic : typer.check(theBody))
+		// Data areas and DDMs might have changed in the meantime, which is only noticed by resolving them again
+		for (var using : defineData.usings())
+		{
+			if (using.reference() == null
+				|| moduleProvider.peekNaturalModule(using.target().symbolName(), using.reference().file().getFiletype()) != using.reference())
 			{
-				moduleBuilder.addDiagnostic(diagnostic);
+				return null;
+			}
+		}
+
+		for (var variable : defineData.variables())
+		{
+			if (variable instanceof IViewNode view
+				&& view.ddmNameToken() != null
+				&& moduleProvider.findDdm(view.ddmNameToken().symbolName()) != view.ddm())
+			{
+				return null;
 			}
 		}
 
+		return new ReusableDefineData(defineData, tokenCount, previous.defineDataDiagnostics());
+	}
+
+	private static boolean isSameToken(SyntaxToken previous, SyntaxToken current)
+	{
+		return previous.kind() == current.kind()
+			&& previous.offset() == current.offset()
+			&& previous.length() == current.length()
+			&& previous.line() == current.line()
+			&& previous.offsetInLine() == current.offsetInLine()
+			&& previous.source().equals(current.source());
+	}
+
+	private void destroyNodes(INaturalModule module, ReusableDefineData reusableDefineData)
+	{
+		if (reusableDefineData == null && module instanceof IHasDefineData hasDefineData && hasDefineData.defineData() != null)
+		{
+			hasDefineData.defineData().descendants().forEach(ISyntaxNode::destroy);
+		}
+
+		if (module instanceof IModuleWithBody hasBody && hasBody.body() != null)
+		{
+			hasBody.body().destroy();
+		}
+
+		// The variables of a reused DEFINE DATA and of used data areas outlive the module, so every reference to them
+		// has to be removed, including the ones that aren't reached through the body
+		if (module instanceof NaturalModule naturalModule)
+		{
+			naturalModule.symbolReferences().forEach(ISyntaxNode::destroy);
+		}
+	}
+
+	/**
+	 * Removes the references that a cancelled parse has already added to nodes that outlive it, like the variables of
+	 * a reused DEFINE DATA or of used data areas.
+	 */
+	private static void destroyPartialModule(NaturalModuleBuilder moduleBuilder, ReusableDefineData reusableDefineData, StatementListParser statementParser)
+	{
+		// Resolved references that a parse error kept from being attached to the body aren't reached through it
+		if (statementParser.unresolvedSymbols() != null)
+		{
+			statementParser.unresolvedSymbols().forEach(ISyntaxNode::destroy);
+		}
+
+		if (moduleBuilder.body() != null)
+		{
+			moduleBuilder.body().destroy();
+		}
+
+		if (reusableDefineData == null && moduleBuilder.getDefineData() != null)
+		{
+			moduleBuilder.getDefineData().descendants().forEach(ISyntaxNode::destroy);
+		}
+	}
+
+	private BodyParseResult parseBody(StatementListParser statementParser, TokenList tokens, NaturalModuleBuilder moduleBuilder, ParsePhaseTimer timer)
+	{
+		statementParser.setCancellationToken(cancellationToken);
+		statementParser.setPhaseTimer(timer);
+		var result = timer.measure(ParsePhase.STATEMENTS, () ->
+		{
+			var parsed = statementParser.parse(tokens);
+			moduleBuilder.addReferencableNodes(statementParser.getReferencableNodes());
+			addRelevantParserDiagnostics(moduleBuilder, parsed);
+			moduleBuilder.setBody(parsed.result());
+			checkEndStatement(moduleBuilder);
+			return parsed;
+		});
+		timer.measure(ParsePhase.VARIABLE_RESOLUTION, () -> resolveVariableReferences(statementParser, moduleBuilder));
+		moduleBuilder.setSymbolReferences(statementParser.unresolvedSymbols());
+
 		return new BodyParseResult(result.result(), statementParser.moduleReferencingNodes());
 	}
 
+	private void checkEndStatement(NaturalModuleBuilder moduleBuilder)
+	{
+		var theBody = moduleBuilder.body();
+		if (theBody == null || moduleBuilder.fileType() == NaturalFileType.COPYCODE)
+		{
+			return;
+		}
+
+		var endStatementFound = false;
+		for (var statement : theBody.statements())
+		{
+			if (endStatementFound)
+			{
+				reportNoSourceCodeAfterEndStatementAllowed(moduleBuilder, statement);
+				break;
+			}
+			endStatementFound = statement instanceof IEndNode;
+		}
+		if (!endStatementFound && theBody.statements().hasItems())
+		{
+			reportEndStatementMissing(moduleBuilder, theBody.statements().last());
+		}
+	}
+
+	/**
+	 * Type checks the DEFINE DATA and the body in one go, so that they share the checker.
+	 */
+	private void typeCheck(NaturalModuleBuilder moduleBuilder)
+	{
+		var trees = new ArrayList<ISyntaxTree>();
+		if (moduleBuilder.getDefineData() != null)
+		{
+			trees.add(moduleBuilder.getDefineData());
+		}
+
+		if (moduleBuilder.body() != null && moduleBuilder.fileType() != NaturalFileType.COPYCODE)
+		{
+			trees.add(moduleBuilder.body());
+		}
+
+		var typer = new TypeChecker(cancellationToken);
+		for (var diagnostic : typer.check(trees))
+		{
+			moduleBuilder.addDiagnostic(diagnostic);
+		}
+	}
+
+	private IStatementListNode parseBodyOutline(StatementListParser statementParser, TokenList tokens, NaturalModuleBuilder moduleBuilder, ParsePhaseTimer timer)
+	{
+		statementParser.parseOutlineOnly();
+		statementParser.setCancellationToken(cancellationToken);
+		statementParser.setPhaseTimer(timer);
+		var result = timer.measure(ParsePhase.STATEMENTS, () -> statementParser.parse(tokens));
+		moduleBuilder.addReferencableNodes(statementParser.getReferencableNodes());
+		moduleBuilder.setBody(result.result());
+		return result.result();
+	}
+
 	private void addRelevantParserDiagnostics(NaturalModuleBuilder moduleBuilder, ParseResult<IStatementListNode> result)
 	{
 		for (var diagnostic : result.diagnostics())
@@ -287,6 +568,7 @@ public class NaturalParser
 		var unresolvedAdabasArrayAccess = new ArrayList<ISymbolReferenceNode>();
 		for (var unresolvedReference : statementParser.unresolvedSymbols())
 		{
+			cancellationToken.throwIfCancellationRequested();
 			if (unresolvedReference.parent() instanceof IAdabasIndexAccess)
 			{
 				unresolvedAdabasArrayAccess.add(unresolvedReference); // needs to be re-evaluated after, because it's parents need to be resolved
@@ -484,6 +766,9 @@ public class NaturalParser
 		return true;
 	}
 
+	private record ReusableDefineData(DefineDataNode defineData, int tokenCount, List<IDiagnostic> diagnostics)
+	{}
+
 	private record BodyParseResult(IStatementListNode body, List<IModuleReferencingNode> moduleRefs)
 	{}
 }
@@ -0,0 +1,61 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.ParsePhase;
+import org.amshove.natparse.ParsePhaseTimings;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Measures the time of the {@link ParsePhase}s of one module. When a phase is measured while another one is running,
+ * the outer phase is paused, so that no time is counted twice.
+ */
+class ParsePhaseTimer
+{
+	private final Map<ParsePhase, Long> nanos = new EnumMap<>(ParsePhase.class);
+	private ParsePhase runningPhase;
+	private long runningSince;
+
+	void measure(ParsePhase phase, Runnable work)
+	{
+		measure(phase, () ->
+		{
+			work.run();
+			return null;
+		});
+	}
+
+	<T> T measure(ParsePhase phase, Supplier<T> work)
+	{
+		var outerPhase = runningPhase;
+		switchTo(phase);
+		try
+		{
+			return work.get();
+		}
+		finally
+		{
+			switchTo(outerPhase);
+		}
+	}
+
+	ParsePhaseTimings timings()
+	{
+		var durations = new EnumMap<ParsePhase, Duration>(ParsePhase.class);
+		nanos.forEach((phase, phaseNanos) -> durations.put(phase, Duration.ofNanos(phaseNanos)));
+		return new ParsePhaseTimings(durations);
+	}
+
+	private void switchTo(ParsePhase phase)
+	{
+		var now = System.nanoTime();
+		if (runningPhase != null)
+		{
+			nanos.merge(runningPhase, now - runningSince, Long::sum);
+		}
+		runningPhase = phase;
+		runningSince = now;
+	}
+}
@@ -9,7 +9,7 @@ import java.util.List;
 
 class ResetStatementNode extends StatementNode implements IResetStatementNode
 {
-	private final List<IOperandNode> operands = new ArrayList<>();
+	private List<IOperandNode> operands = new ArrayList<>();
 
 	@Override
 	public ReadOnlyList<IOperandNode> operands()
@@ -27,4 +27,11 @@ class ResetStatementNode extends StatementNode implements IResetStatementNode
 	{
 		return ReadOnlyList.from(operands);
 	}
+
+	@Override
+	void compact()
+	{
+		super.compact();
+		operands = compacted(operands);
+	}
 }
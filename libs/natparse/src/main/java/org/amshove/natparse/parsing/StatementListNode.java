@@ -10,7 +10,7 @@ import java.util.List;
 
 class StatementListNode extends StatementNode implements IStatementListNode
 {
-	private final List<IStatementNode> statements = new ArrayList<>();
+	private final ArrayList<IStatementNode> statements = new ArrayList<>();
 
 	@Override
 	public ReadOnlyList<IStatementNode> statements()
@@ -48,6 +48,13 @@ class StatementListNode extends StatementNode implements IStatementListNode
 		}
 	}
 
+	@Override
+	void compact()
+	{
+		super.compact();
+		statements.trimToSize();
+	}
+
 	@Override
 	public void acceptStatementVisitor(IStatementVisitor visitor)
 	{
@@ -1,7 +1,8 @@
 package org.amshove.natparse.parsing;
 
+import org.amshove.natparse.ICancellationToken;
+import org.amshove.natparse.ParsePhase;
 import org.amshove.natparse.ReadOnlyList;
-import org.amshove.natparse.lexing.Lexer;
 import org.amshove.natparse.lexing.SyntaxKind;
 import org.amshove.natparse.lexing.SyntaxToken;
 import org.amshove.natparse.natural.*;
@@ -15,8 +16,8 @@ import org.amshove.natparse.natural.project.NaturalFileType;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.regex.Pattern;
 
 public class StatementListParser extends AbstractParser<IStatementListNode>
@@ -28,6 +29,9 @@ public class StatementListParser extends AbstractParser<IStatementListNode>
 
 	private final Set<String> currentModuleCallStack = new HashSet<>();
 	private final Set<String> declaredStatementLabels = new HashSet<>();
+	private boolean outlineOnly;
+	private ICancellationToken cancellationToken = ICancellationToken.NONE;
+	private ParsePhaseTimer phaseTimer = new ParsePhaseTimer();
 
 	public List<IReferencableNode> getReferencableNodes()
 	{
@@ -39,17 +43,46 @@ public class StatementListParser extends AbstractParser<IStatementListNode>
 		super(moduleProvider);
 	}
 
+	/**
+	 * Only parse the outline of the statements: subroutines and the statements that reference other modules. All other
+	 * tokens are skipped without creating nodes for them.
+	 */
+	void parseOutlineOnly()
+	{
+		outlineOnly = true;
+	}
+
+	/**
+	 * Stop parsing with a {@link CancellationException} before the next statement once the token requests
+	 * cancellation.
+	 */
+	void setCancellationToken(ICancellationToken cancellationToken)
+	{
+		this.cancellationToken = cancellationToken;
+	}
+
+	/**
+	 * Measure the resolution of PERFORMs with the given timer.
+	 */
+	void setPhaseTimer(ParsePhaseTimer phaseTimer)
+	{
+		this.phaseTimer = phaseTimer;
+	}
+
 	@Override
 	protected IStatementListNode parseInternal()
 	{
 		referencableNodes = new ArrayList<>();
 		var statementList = statementList();
-		resolveUnresolvedInternalPerforms();
-		if (!shouldRelocateDiagnostics())
+		phaseTimer.measure(ParsePhase.PERFORM_RESOLUTION, () ->
 		{
-			// If diagnostics should be relocated, we're a copycode. So let the includer resolve it themselves.
-			resolveUnresolvedExternalPerforms();
-		}
+			resolveUnresolvedInternalPerforms();
+			if (!shouldRelocateDiagnostics())
+			{
+				// If diagnostics should be relocated, we're a copycode. So let the includer resolve it themselves.
+				resolveUnresolvedExternalPerforms();
+			}
+		});
 
 		return statementList;
 	}
@@ -79,9 +112,15 @@ public class StatementListParser extends AbstractParser<IStatementListNode>
 
 	private StatementListNode statementList(Set<SyntaxKind> endTokenKinds)
 	{
+		if (outlineOnly)
+		{
+			return outlineStatementList(endTokenKinds);
+		}
+
 		var statementList = new StatementListNode();
 		while (!tokens.isAtEnd())
 		{
+			cancellationToken.throwIfCancellationRequested();
 			try
 			{
 				if (!endTokenKinds.isEmpty()
@@ -532,6 +571,10 @@ public class StatementListParser extends AbstractParser<IStatementListNode>
 				// TODO: Add a ErrorRecoveryNode which eats every token until `isStatementStart()` returns true?
 				tokens.advance();
 			}
+			catch (CancellationException e)
+			{
+				throw e;
+			}
 			catch (Exception e)
 			{
 				report(
@@ -551,6 +594,113 @@ public class StatementListParser extends AbstractParser<IStatementListNode>
 		return statementList;
 	}
 
+	private static final Set<SyntaxKind> DEFINE_KINDS_OTHER_THAN_SUBROUTINE = Set.of(SyntaxKind.PRINTER, SyntaxKind.WINDOW, SyntaxKind.WORK, SyntaxKind.PROTOTYPE, SyntaxKind.DATA);
+
+	/**
+	 * Parses the statements that make up the outline of a module the same way {@link #statementList(Set)} does and
+	 * skips every other token.<br/>
+	 * Skipping token by token instead of statement by statement is enough, because the keywords starting the outlined
+	 * statements can only start a statement. A skipped statement therefore can't contain them unless it contains an
+	 * outlined statement, like a CALLNAT within an IF or DECIDE. Function calls are recognized by the same tokens as
+	 * in {@link #identifierReference()}.
+	 */
+	private StatementListNode outlineStatementList(Set<SyntaxKind> endTokenKinds)
+	{
+		var statementList = new StatementListNode();
+		while (!tokens.isAtEnd())
+		{
+			cancellationToken.throwIfCancellationRequested();
+			try
+			{
+				if (!endTokenKinds.isEmpty()
+					&& (endTokenKinds.contains(peekKind())
+						|| (peekKind(SyntaxKind.END_ALL) && containsKindThatIsEndedByEndAll(endTokenKinds))))
+				{
+					break;
+				}
+
+				switch (tokens.peek().kind())
+				{
+					case CALLNAT ->
+					{
+						var callnat = callnat();
+						statementList.addStatement(callnat);
+						externalModuleReferences.add(callnat);
+					}
+					case FETCH ->
+					{
+						var fetch = fetch();
+						statementList.addStatement(fetch);
+						externalModuleReferences.add(fetch);
+					}
+					case INCLUDE -> statementList.addStatement(include());
+					case PERFORM ->
+					{
+						if (peekKind(1, SyntaxKind.BREAK))
+						{
+							tokens.advance();
+						}
+						else
+						{
+							statementList.addStatement(perform());
+						}
+					}
+					case DEFINE ->
+					{
+						var kindAfterDefine = getKind(1);
+						if (kindAfterDefine == SyntaxKind.SUBROUTINE
+							|| kindAfterDefine == SyntaxKind.IDENTIFIER
+							|| (kindAfterDefine.canBeIdentifier() && !DEFINE_KINDS_OTHER_THAN_SUBROUTINE.contains(kindAfterDefine)))
+						{
+							statementList.addStatement(subroutine());
+						}
+						else
+						{
+							tokens.advance();
+						}
+					}
+					case IDENTIFIER ->
+					{
+						if (peekKind(1, SyntaxKind.LPAREN)
+							&& (peekKind(2, SyntaxKind.LESSER_SIGN) || peekKind(2, SyntaxKind.LESSER_GREATER)))
+						{
+							statementList.addStatement(identifierReference());
+						}
+						else
+						{
+							tokens.advance();
+						}
+					}
+					default -> tokens.advance();
+				}
+			}
+			catch (ParseError e)
+			{
+				tokens.advance();
+			}
+			catch (CancellationException e)
+			{
+				throw e;
+			}
+			catch (Exception e)
+			{
+				report(
+					ParserErrors.internal(
+						"Unhandled exception: %s: %s".formatted(e.getClass().getSimpleName(), e.getMessage()),
+						previousToken() != null ? previousToken() : tokens.peek()
+					)
+				);
+
+				if (!isAtEnd())
+				{
+					tokens.advance();
+				}
+			}
+		}
+
+		return statementList;
+	}
+
 	private StatementNode store() throws ParseError
 	{
 		var store = new StoreStatementNode();
@@ -3186,7 +3336,10 @@ public class StatementListParser extends AbstractParser<IStatementListNode>
 		subroutine.setBody(statementList(SyntaxKind.END_SUBROUTINE));
 
 		consumeMandatoryClosing(subroutine, SyntaxKind.END_SUBROUTINE, opening);
-		checkForEmptyBody(subroutine);
+		if (!outlineOnly)
+		{
+			checkForEmptyBody(subroutine);
+		}
 
 		referencableNodes.add(subroutine);
 
@@ -3376,7 +3529,6 @@ public class StatementListParser extends AbstractParser<IStatementListNode>
 					report(ParserErrors.invalidModuleType("Only copycodes can be INCLUDEd", include.referencingToken()));
 				}
 
-				var includedSource = Files.readString(referencedModule.file().getPath());
 				var normalizedParameter = new ArrayList<String>(include.providedParameter().size());
 				for (var parameter : include.providedParameter())
 				{
@@ -3385,9 +3537,11 @@ public class StatementListParser extends AbstractParser<IStatementListNode>
 						: ((StringConcatOperandNode) parameter).stringValue();
 					normalizedParameter.add(value);
 				}
-				var lexer = new Lexer(normalizedParameter);
-				lexer.relocateDiagnosticPosition(shouldRelocateDiagnostics() ? relocatedDiagnosticPosition : referencingToken);
-				var tokens = lexer.lex(includedSource, referencedModule.file().getPath());
+				var tokens = CopyCodeCache.of(referencedModule.file()).copyCodeTokens(
+					referencedModule.file(),
+					normalizedParameter,
+					shouldRelocateDiagnostics() ? relocatedDiagnosticPosition : referencingToken
+				);
 
 				for (var diagnostic : tokens.diagnostics())
 				{
@@ -3395,6 +3549,9 @@ public class StatementListParser extends AbstractParser<IStatementListNode>
 				}
 
 				var nestedParser = new StatementListParser(moduleProvider);
+				nestedParser.outlineOnly = outlineOnly;
+				nestedParser.cancellationToken = cancellationToken;
+				nestedParser.phaseTimer = phaseTimer;
 				nestedParser.currentModuleCallStack.addAll(this.currentModuleCallStack);
 				nestedParser.declaredStatementLabels.addAll(this.declaredStatementLabels);
 				nestedParser.relocateDiagnosticPosition(
@@ -1,5 +1,6 @@
 package org.amshove.natparse.parsing;
 
+import org.amshove.natparse.PositionIndex;
 import org.amshove.natparse.ReadOnlyList;
 import org.amshove.natparse.natural.IStatementVisitor;
 import org.amshove.natparse.natural.ISyntaxNode;
@@ -7,11 +8,13 @@ import org.amshove.natparse.natural.ISyntaxNodeVisitor;
 import org.amshove.natparse.natural.ISyntaxTree;
 import org.jspecify.annotations.NonNull;
 
+import java.nio.file.Path;
 import java.util.*;
 
 final class SyntaxTree implements ISyntaxTree
 {
 	private final List<ISyntaxNode> descendants;
+	private volatile PositionIndex positionIndex;
 
 	private SyntaxTree(List<ISyntaxNode> descendants)
 	{
@@ -30,7 +33,23 @@ final class SyntaxTree implements ISyntaxTree
 
 	public ReadOnlyList<ISyntaxNode> descendants()
 	{
-		return ReadOnlyList.from(descendants); // TODO: perf
+		return ReadOnlyList.view(descendants);
+	}
+
+	/**
+	 * The index is built on the first lookup, because most trees never get looked up by position, e.g. when only
+	 * linting.
+	 */
+	@Override
+	public PositionIndex positionIndex(Path filePath)
+	{
+		var index = positionIndex;
+		if (index == null || !index.filePath().equals(filePath))
+		{
+			index = PositionIndex.build(filePath, this);
+			positionIndex = index;
+		}
+		return index;
 	}
 
 	@Override
@@ -1,5 +1,6 @@
 package org.amshove.natparse.parsing;
 
+import org.amshove.natparse.ICancellationToken;
 import org.amshove.natparse.IDiagnostic;
 import org.amshove.natparse.NodeUtil;
 import org.amshove.natparse.ReadOnlyList;
@@ -16,10 +17,19 @@ import java.util.List;
 final class TypeChecker implements ISyntaxNodeVisitor
 {
 	private final List<IDiagnostic> diagnostics = new ArrayList<>();
+	private final ICancellationToken cancellationToken;
 
-	public ReadOnlyList<IDiagnostic> check(ISyntaxTree tree)
+	TypeChecker(ICancellationToken cancellationToken)
 	{
-		tree.acceptNodeVisitor(this);
+		this.cancellationToken = cancellationToken;
+	}
+
+	public ReadOnlyList<IDiagnostic> check(List<? extends ISyntaxTree> trees)
+	{
+		for (var tree : trees)
+		{
+			tree.acceptNodeVisitor(this);
+		}
 
 		return ReadOnlyList.from(diagnostics);
 	}
@@ -27,6 +37,12 @@ final class TypeChecker implements ISyntaxNodeVisitor
 	@Override
 	public void visit(ISyntaxNode node)
 	{
+		if (node instanceof IStatementNode)
+		{
+			// outside of the try, because the exception has to abort the whole check
+			cancellationToken.throwIfCancellationRequested();
+		}
+
 		try
 		{
 			if (node instanceof IStatementNode statementNode)
@@ -99,6 +99,17 @@ class UsingNode extends BaseSyntaxNode implements IUsingNode
 		return ReadOnlyList.empty();
 	}
 
+	@Override
+	public void destroy()
+	{
+		if (referencingModule != null)
+		{
+			referencingModule.removeCaller(this);
+			referencingModule = null;
+		}
+		super.destroy();
+	}
+
 	void setReferencingModule(INaturalModule module)
 	{
 		referencingModule = module;
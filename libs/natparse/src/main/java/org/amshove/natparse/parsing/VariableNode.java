@@ -9,7 +9,6 @@ import org.amshove.natparse.natural.*;
 import org.jspecify.annotations.NonNull;
 
 import java.util.ArrayList;
-import java.util.List;
 
 class VariableNode extends BaseSyntaxNode implements IVariableNode
 {
@@ -18,9 +17,11 @@ class VariableNode extends BaseSyntaxNode implements IVariableNode
 	private SyntaxToken declaration;
 	private VariableScope scope;
 	private ITokenNode identifierNode;
-	private final List<ISymbolReferenceNode> references = new ArrayList<>();
+	// References are added and removed while parsing every module that uses this variable, which might happen
+	// concurrently to reading them
+	private final ArrayList<ISymbolReferenceNode> references = new ArrayList<>();
 
-	protected final List<IArrayDimension> dimensions = new ArrayList<>();
+	protected final ArrayList<IArrayDimension> dimensions = new ArrayList<>();
 
 	private String qualifiedName; // Gets computed on first demand
 
@@ -28,19 +29,28 @@ class VariableNode extends BaseSyntaxNode implements IVariableNode
 	@NonNull
 	public ReadOnlyList<ISymbolReferenceNode> references()
 	{
-		return ReadOnlyList.from(references); // TODO: Perf
+		synchronized (references)
+		{
+			return references.isEmpty() ? ReadOnlyList.empty() : ReadOnlyList.from(references);
+		}
 	}
 
 	@Override
 	public void removeReference(ISymbolReferenceNode node)
 	{
-		references.remove(node);
+		synchronized (references)
+		{
+			references.remove(node);
+		}
 	}
 
 	@Override
 	public void addReference(ISymbolReferenceNode node)
 	{
-		references.add(node);
+		synchronized (references)
+		{
+			references.add(node);
+		}
 		if (node instanceof SymbolReferenceNode symbolRef)
 		{
 			// REDEFINE does set it itself
@@ -98,7 +108,7 @@ class VariableNode extends BaseSyntaxNode implements IVariableNode
 	@Override
 	public ReadOnlyList<IArrayDimension> dimensions()
 	{
-		return ReadOnlyList.from(dimensions); // TODO: perf
+		return ReadOnlyList.view(dimensions);
 	}
 
 	@Override
@@ -154,6 +164,17 @@ class VariableNode extends BaseSyntaxNode implements IVariableNode
 		}
 	}
 
+	@Override
+	void compact()
+	{
+		super.compact();
+		synchronized (references)
+		{
+			references.trimToSize();
+		}
+		dimensions.trimToSize();
+	}
+
 	/**
 	 * Inherits all the given dimensions if they're not specified for this variable yet.
 	 */
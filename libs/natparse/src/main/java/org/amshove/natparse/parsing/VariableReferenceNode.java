@@ -12,7 +12,7 @@ import java.util.List;
 
 class VariableReferenceNode extends SymbolReferenceNode implements IVariableReferenceNode
 {
-	private final List<IOperandNode> dimensions = new ArrayList<>();
+	private List<IOperandNode> dimensions = new ArrayList<>();
 
 	public VariableReferenceNode(SyntaxToken token)
 	{
@@ -40,4 +40,11 @@ class VariableReferenceNode extends SymbolReferenceNode implements IVariableRefe
 
 		return typedRef.type();
 	}
+
+	@Override
+	void compact()
+	{
+		super.compact();
+		dimensions = compacted(dimensions);
+	}
 }
@@ -4,6 +4,8 @@ import com.google.common.collect.ImmutableList;
 import org.amshove.natparse.natural.ddm.*;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 class DataDefinitionModule implements IDataDefinitionModule
 {
@@ -14,6 +16,7 @@ class DataDefinitionModule implements IDataDefinitionModule
 	private DdmType ddmType;
 
 	private ImmutableList<IDdmField> fields;
+	private Map<String, IDdmField> fieldsByName = Map.of();
 
 	DataDefinitionModule(String databaseNumber, String fileNumber, String ddmName, String defaultSequence)
 	{
@@ -56,6 +59,9 @@ class DataDefinitionModule implements IDataDefinitionModule
 	void setFields(ImmutableList<IDdmField> fields)
 	{
 		this.fields = fields;
+		var index = new HashMap<String, IDdmField>();
+		indexFields(fields, index);
+		fieldsByName = index;
 	}
 
 	public ImmutableList<IDdmField> fields()
@@ -67,28 +73,22 @@ class DataDefinitionModule implements IDataDefinitionModule
 	public IDdmField findField(String name)
 	{
 		name = name.contains(".") ? name.substring(name.indexOf(".") + 1) : name;
-		return findField(name, fields);
+		return fieldsByName.get(name.toUpperCase());
 	}
 
-	private IDdmField findField(String name, Collection<IDdmField> fields)
+	/**
+	 * Indexes the fields including all group members in declaration order. If a name is used more than once, the first
+	 * field wins, which is the one a search through the fields would find first.
+	 */
+	private static void indexFields(Collection<IDdmField> fields, Map<String, IDdmField> index)
 	{
 		for (var field : fields)
 		{
-			if (field.name().equalsIgnoreCase(name))
+			index.putIfAbsent(field.name().toUpperCase(), field);
+			if (field instanceof IGroupField groupField && groupField.members() != null)
 			{
-				return field;
-			}
-
-			if (field instanceof IGroupField groupField)
-			{
-				var foundInGroup = findField(name, groupField.members());
-				if (foundInGroup != null)
-				{
-					return foundInGroup;
-				}
+				indexFields(groupField.members(), index);
 			}
 		}
-
-		return null;
 	}
 }
@@ -39,7 +39,7 @@ public class BuildFileProjectReader
 
 		var actualLibraries = mapXmlLibraries(xmlLibraryDefinitions);
 		addLibrariesFromIncludeDirectory(actualLibraries, xmlLibraryDefinitions, includeDirectories);
-		return new NaturalProject(buildfilePath.getParent(), List.copyOf(actualLibraries.values()));
+		return NaturalProject.fromLibraries(buildfilePath.getParent(), List.copyOf(actualLibraries.values()), filesystem);
 	}
 
 	private void addLibrariesFromIncludeDirectory(Map<String, NaturalLibrary> naturalLibraries, List<XmlNaturalLibrary> xmlLibraries, List<Path> includePaths)
@@ -0,0 +1,49 @@
+package org.amshove.natparse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReadOnlyListShould
+{
+	@Test
+	void copyTheListWhenCreatedFromAList()
+	{
+		var list = new ArrayList<>(List.of("a", "b"));
+		var readOnly = ReadOnlyList.from(list);
+		list.add("c");
+
+		assertThat(readOnly.size()).isEqualTo(2);
+	}
+
+	@Test
+	void notCopyTheListWhenCreatedAsView()
+	{
+		var list = new ArrayList<>(List.of("a", "b"));
+		var view = ReadOnlyList.view(list);
+		list.set(0, "c");
+
+		assertThat(view.first()).isEqualTo("c");
+	}
+
+	@Test
+	void notAllowToModifyTheViewedListThroughTheIterator()
+	{
+		var list = new ArrayList<>(List.of("a", "b"));
+		var iterator = ReadOnlyList.view(list).iterator();
+		iterator.next();
+
+		assertThatThrownBy(iterator::remove).isInstanceOf(UnsupportedOperationException.class);
+		assertThat(list).hasSize(2);
+	}
+
+	@Test
+	void returnTheEmptyListForAnEmptyView()
+	{
+		assertThat(ReadOnlyList.view(List.of())).isSameAs(ReadOnlyList.empty());
+	}
+}
@@ -0,0 +1,39 @@
+package org.amshove.natparse.lexing;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordTableShould
+{
+	@Test
+	void findKeywordsCaseInsensitive()
+	{
+		assertThat(KeywordTable.getKeyword("END-DEFINE")).isEqualTo(SyntaxKind.END_DEFINE);
+		assertThat(KeywordTable.getKeyword("end-define")).isEqualTo(SyntaxKind.END_DEFINE);
+		assertThat(KeywordTable.getKeyword("End-Define")).isEqualTo(SyntaxKind.END_DEFINE);
+		assertThat(KeywordTable.getKeyword("WITH_CTE")).isEqualTo(SyntaxKind.WITH_CTE);
+	}
+
+	@Test
+	void findKeywordsWithinARangeOfCharacters()
+	{
+		var source = "#VAR := ADD+";
+		assertThat(KeywordTable.getKeyword(source, 8, 3)).isEqualTo(SyntaxKind.ADD);
+		assertThat(KeywordTable.getKeyword(source, 8, 2)).isEqualTo(SyntaxKind.AD);
+		assertThat(KeywordTable.getKeyword(source, 8, 4)).isNull();
+		assertThat(KeywordTable.getKeyword(CharBuffer.wrap(source), 8, 3)).isEqualTo(SyntaxKind.ADD);
+	}
+
+	@Test
+	void returnNullForNonKeywords()
+	{
+		assertThat(KeywordTable.getKeyword("#VAR")).isNull();
+		assertThat(KeywordTable.getKeyword("ADDS")).isNull();
+		assertThat(KeywordTable.getKeyword("")).isNull();
+		assertThat(KeywordTable.getKeyword("VERY-LONG-IDENTIFIER-NAME")).isNull();
+		assertThat(KeywordTable.getKeyword("ÄDD")).isNull();
+	}
+}
@@ -1,5 +1,6 @@
 package org.amshove.natparse.lexing;
 
+import org.amshove.natparse.lexing.text.SymbolPool;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -98,4 +99,122 @@ public class LexerShould extends AbstractLexerTest
 		assertThat(identifier.offsetInLine()).isEqualTo(2);
 	}
 
+	@Test
+	void stopLexingAfterTheTokenFollowingTheRequestedKind()
+	{
+		var source = """
+			DEFINE DATA LOCAL
+			END-DEFINE
+			DEFINE SUBROUTINE MY-SUBROUTINE
+			WRITE 'Hello'
+			END-SUBROUTINE
+			END
+			""";
+
+		var tokens = new Lexer().lexUntilTokenAfter(source, Paths.get("TEST.NSS"), SyntaxKind.SUBROUTINE);
+		assertThat(tokens.size()).isEqualTo(7);
+		assertThat(tokens.allTokens().last().source()).isEqualTo("MY-SUBROUTINE");
+	}
+
+	@Test
+	void startFromScratchWhenBeingReused()
+	{
+		var lexer = Lexer.pooled();
+		var first = lexer.lex("DEFINE DATA LOCAL 1 #VAR (A10", Paths.get("TEST.NSN"));
+		var second = Lexer.pooled().lex("WRITE (#VAR)", Paths.get("TEST2.NSN"));
+
+		assertThat(Lexer.pooled()).isSameAs(lexer);
+		assertThat(first.size()).isEqualTo(7);
+		assertThat(second.filePath()).isEqualTo(Paths.get("TEST2.NSN"));
+		assertThat(second.diagnostics()).isEmpty();
+		assertThat(second.allTokens().stream().map(SyntaxToken::kind))
+			.containsExactly(SyntaxKind.WRITE, SyntaxKind.LPAREN, SyntaxKind.IDENTIFIER, SyntaxKind.RPAREN);
+	}
+
+	@Test
+	void lexEverythingIfTheStopKindIsNotFound()
+	{
+		var tokens = new Lexer().lexUntilTokenAfter("WRITE 'Hello'\nEND", Paths.get("TEST.NSN"), SyntaxKind.SUBROUTINE);
+		assertThat(tokens.size()).isEqualTo(3);
+	}
+
+	@Test
+	void relexOnlyChangedLinesWithTheSameResultAsLexingEverything()
+	{
+		var path = Paths.get("TEST.NSN");
+		var previous = new Lexer().keepRelexState().lex("WRITE 'Hello'\nIF #I > 5\n  IGNORE\nEND-IF\n/* end\nEND\n", path);
+		var changedSource = "WRITE 'Hello'\nIF #I > 5 AND #J = 2\n  IGNORE\nEND-IF\n/* end\nEND\n";
+
+		var relexed = new Lexer().relex(previous, changedSource);
+		var lexed = new Lexer().lex(changedSource, path);
+
+		assertThat(relexed.allTokens().stream().map(t -> t.kind() + "@" + t.offset() + ":" + t.line()))
+			.containsExactlyElementsOf(lexed.allTokens().stream().map(t -> t.kind() + "@" + t.offset() + ":" + t.line()).toList());
+		assertThat(relexed.comments().first().offset()).isEqualTo(lexed.comments().first().offset());
+	}
+
+	@Test
+	void relexMultilineChanges()
+	{
+		var path = Paths.get("TEST.NSN");
+		var previous = new Lexer().keepRelexState().lex("WRITE 'Hello'\nIGNORE\nIGNORE\nEND\n", path);
+		var changedSource = "WRITE 'Hello'\nIGNORE\nWRITE (\n#VAR)\nIGNORE\nEND\n";
+
+		var relexed = new Lexer().relex(previous, changedSource);
+
+		assertThat(relexed.allTokens().stream().map(SyntaxToken::kind))
+			.containsExactly(
+				SyntaxKind.WRITE, SyntaxKind.STRING_LITERAL, SyntaxKind.IGNORE, SyntaxKind.WRITE, SyntaxKind.LPAREN,
+				SyntaxKind.IDENTIFIER, SyntaxKind.RPAREN, SyntaxKind.IGNORE, SyntaxKind.END
+			);
+		assertThat(relexed.allTokens().last().line()).isEqualTo(5);
+	}
+
+	@Test
+	void relexOnlyChangedLinesOfModulesWithASourceHeader()
+	{
+		var path = Paths.get("TEST.NSN");
+		var header = """
+			* >Natural Source Header 000000
+			* :Mode S
+			* :CP
+			* :LineIncrement 10
+			* <Natural Source Header
+			""";
+		var previous = new Lexer().keepRelexState().lex(header + "DEFINE DATA LOCAL\n1 #I (N2)\nEND-DEFINE\nWRITE #I\nIGNORE\nEND\n", path);
+		var changedSource = header + "DEFINE DATA LOCAL\n1 #I (N2)\nEND-DEFINE\nWRITE #I 'changed'\nIGNORE\nEND\n";
+
+		var relexed = new Lexer().relex(previous, changedSource);
+		var lexed = new Lexer().lex(changedSource, path);
+
+		assertThat(relexed.allTokens().stream().map(t -> t.kind() + "@" + t.offset() + ":" + t.line()))
+			.containsExactlyElementsOf(lexed.allTokens().stream().map(t -> t.kind() + "@" + t.offset() + ":" + t.line()).toList());
+		assertThat(relexed.sourceHeader().getProgrammingMode()).isEqualTo(lexed.sourceHeader().getProgrammingMode());
+		assertThat(relexed.sourceHeader().getLineIncrement()).isEqualTo(10);
+
+		// Lines after the header have to be resumable, otherwise every relex would lex the whole module again
+		var storage = (CompactTokenStorage) previous.storage();
+		assertThat(storage.lineCount()).isGreaterThan(5);
+		for (var lineIndex = 0; lineIndex < storage.lineCount(); lineIndex++)
+		{
+			if (storage.lineNumber(lineIndex) >= 5)
+			{
+				assertThat(storage.lineState(lineIndex)).as("State of line %d", storage.lineNumber(lineIndex)).isNotEqualTo((byte) -1);
+			}
+		}
+	}
+
+	@Test
+	void shareSymbolNamesOfIdentifiersLexedWithTheSameSymbolPool()
+	{
+		var pool = new SymbolPool();
+		var first = new Lexer().internSymbolsIn(pool).lex("#counter := 1", Paths.get("TEST.NSN"));
+		var second = Lexer.pooled().internSymbolsIn(pool).lex("WRITE #COUNTER #counter", Paths.get("TEST2.NSN"));
+
+		var symbolName = first.peek().symbolName();
+		assertThat(symbolName).isEqualTo("#COUNTER");
+		assertThat(second.peek(1).symbolName()).isSameAs(symbolName);
+		assertThat(second.peek(2).symbolName()).isSameAs(symbolName);
+		assertThat(second.peek(2).source()).isSameAs(first.peek().source());
+	}
 }
@@ -116,6 +116,60 @@ class TokenListShould
 		assertThat(tokenList.peekKinds(SyntaxKind.USING, SyntaxKind.IDENTIFIER, SyntaxKind.LOCAL)).isFalse();
 	}
 
+	@Test
+	void peekKindsWithoutBoundaryErrors()
+	{
+		var tokenList = createTokenList(SyntaxKind.LOCAL, SyntaxKind.USING);
+
+		assertThat(tokenList.peekKind()).isEqualTo(SyntaxKind.LOCAL);
+		assertThat(tokenList.peekKind(1)).isEqualTo(SyntaxKind.USING);
+		assertThat(tokenList.peekKind(2)).isNull();
+		assertThat(tokenList.peekKind(-1)).isNull();
+	}
+
+	@Test
+	void returnTheSameTokenInstanceForLexedTokens()
+	{
+		var tokenList = new Lexer().lex("DEFINE DATA LOCAL END-DEFINE", Paths.get("TOKENLISTSHOULD.NSN"));
+
+		var firstPeek = tokenList.peek(2);
+		assertThat(tokenList.peek(2)).isSameAs(firstPeek);
+		assertThat(tokenList.allTokens().get(2)).isSameAs(firstPeek);
+		assertThat(tokenList.subrange(1, 2).last()).isSameAs(firstPeek);
+	}
+
+	@Test
+	void materializeLexedTokensWithTheirSource()
+	{
+		var tokenList = new Lexer().lex("WRITE #VAR 'Hi'", Paths.get("TOKENLISTSHOULD.NSN"));
+
+		assertThat(tokenList.peekKind(1)).isEqualTo(SyntaxKind.IDENTIFIER);
+		var identifier = tokenList.peek(1);
+		assertThat(identifier.source()).isEqualTo("#VAR");
+		assertThat(identifier.offset()).isEqualTo(6);
+		assertThat(identifier.offsetInLine()).isEqualTo(6);
+		assertThat(identifier.length()).isEqualTo(4);
+		assertThat(tokenList.peek(2).stringValue()).isEqualTo("Hi");
+	}
+
+	@Test
+	void keepAllTokensAfterTheyHaveBeenMaterialized()
+	{
+		var tokenList = new Lexer().lex("WRITE #VAR 'Hi'", Paths.get("TOKENLISTSHOULD.NSN"));
+		var identifier = tokenList.peek(1);
+
+		var allTokens = tokenList.allTokens();
+
+		assertThat(allTokens.get(1)).isSameAs(identifier);
+		assertThat(tokenList.peekKind(2)).isEqualTo(SyntaxKind.STRING_LITERAL);
+		assertThat(tokenList.peek(2)).isSameAs(allTokens.get(2));
+
+		var relocated = tokenList.relocatedCopy(identifier);
+		assertThat(relocated.peek(1)).isNotSameAs(identifier);
+		assertThat(relocated.peek(1).source()).isEqualTo("#VAR");
+		assertThat(relocated.peek(1).diagnosticPosition()).isSameAs(identifier);
+	}
+
 	private TokenList createTokenList(SyntaxToken... tokens)
 	{
 		return TokenList.fromTokens(Paths.get("TOKENLISTSHOULD.NSN"), Arrays.stream(tokens).toList());
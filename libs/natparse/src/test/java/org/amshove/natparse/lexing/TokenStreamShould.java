@@ -0,0 +1,94 @@
+package org.amshove.natparse.lexing;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenStreamShould
+{
+	private static final String SOURCE = """
+		DEFINE DATA
+		LOCAL
+		1 #VAR (A10)
+		END-DEFINE
+		/* comment
+		WRITE #VAR 'Hello' (AD=U)
+		CALLNAT 'SUBPROG' #VAR
+		END
+		""";
+
+	@Test
+	void yieldTheSameTokensAsLexingEverything()
+	{
+		var lexed = new Lexer().lex(SOURCE, Paths.get("STREAM.NSN"));
+		var streamed = new ArrayList<SyntaxToken>();
+		new Lexer().stream(SOURCE, Paths.get("STREAM.NSN")).forEachRemaining(streamed::add);
+
+		assertThat(streamed).hasSameSizeAs(lexed.allTokens());
+		for (var i = 0; i < streamed.size(); i++)
+		{
+			var expected = lexed.allTokens().get(i);
+			var actual = streamed.get(i);
+			assertThat(actual.kind()).isEqualTo(expected.kind());
+			assertThat(actual.offset()).isEqualTo(expected.offset());
+			assertThat(actual.line()).isEqualTo(expected.line());
+			assertThat(actual.offsetInLine()).isEqualTo(expected.offsetInLine());
+			assertThat(actual.source()).isEqualTo(expected.source());
+		}
+	}
+
+	@Test
+	void yieldTheSameTokensForModulesExceedingItsBuffer()
+	{
+		var source = "WRITE #VAR 'Hello' (AD=U)\n".repeat(TokenStream.BUFFER_SIZE);
+		var lexed = new Lexer().lex(source, Paths.get("STREAM.NSN"));
+		var stream = new Lexer().stream(source, Paths.get("STREAM.NSN"));
+
+		var index = 0;
+		while (stream.hasNext())
+		{
+			assertThat(stream.peekKind(1)).isEqualTo(lexed.peekKind(1));
+			var expected = lexed.advance();
+			var actual = stream.next();
+			assertThat(actual.kind()).isEqualTo(expected.kind());
+			assertThat(actual.offset()).isEqualTo(expected.offset());
+			index++;
+		}
+
+		assertThat(index).isEqualTo(lexed.size());
+	}
+
+	@Test
+	void peekAheadWithoutAdvancing()
+	{
+		var stream = new Lexer().stream(SOURCE, Paths.get("STREAM.NSN"));
+
+		assertThat(stream.peekKinds(SyntaxKind.DEFINE, SyntaxKind.DATA, SyntaxKind.LOCAL)).isTrue();
+		assertThat(stream.peek(1).kind()).isEqualTo(SyntaxKind.DATA);
+		assertThat(stream.advance().kind()).isEqualTo(SyntaxKind.DEFINE);
+		assertThat(stream.peekKind(0)).isEqualTo(SyntaxKind.DATA);
+	}
+
+	@Test
+	void onlyLexAsFarAsNeeded()
+	{
+		var stream = new Lexer().stream(SOURCE, Paths.get("STREAM.NSN"));
+
+		stream.advance();
+		assertThat(stream.comments()).isEmpty();
+	}
+
+	@Test
+	void returnNullWhenPeekingPastTheEnd()
+	{
+		var stream = new Lexer().stream("END", Paths.get("STREAM.NSN"));
+
+		assertThat(stream.peek(1)).isNull();
+		assertThat(stream.advance().kind()).isEqualTo(SyntaxKind.END);
+		assertThat(stream.isAtEnd()).isTrue();
+		assertThat(stream.hasNext()).isFalse();
+	}
+}
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.nio.CharBuffer;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
@@ -188,6 +190,18 @@ public class SourceTextScannerShould
 		assertThat(scanner.lexemeText()).isEqualTo("Natural");
 	}
 
+	@Test
+	void scanACharBufferWithoutCopyingIt()
+	{
+		var source = CharBuffer.wrap("Natural is a language".toCharArray());
+		var scanner = new SourceTextScanner(source);
+		scanner.advance(8);
+		scanner.start();
+		scanner.advance(2);
+		assertThat(scanner.lexemeText()).isEqualTo("is");
+		assertThat(scanner.sourceText()).isSameAs(source);
+	}
+
 	@Test
 	void recognizeWhenAtEnd()
 	{
@@ -196,4 +210,50 @@ public class SourceTextScannerShould
 		scanner.advance();
 		assertThat(scanner.isAtEnd()).isTrue();
 	}
+
+	@Test
+	void advanceToTheLineEnd()
+	{
+		var scanner = new SourceTextScanner(charArrayBacked("* a comment line which is longer than a vector\r\nWRITE"));
+		scanner.advanceToLineEnd();
+		assertThat(scanner.position()).isEqualTo(46);
+		assertThat(scanner.peek()).isEqualTo('\r');
+	}
+
+	@Test
+	void advanceToTheEndIfThereIsNoLineEnd()
+	{
+		var scanner = new SourceTextScanner(charArrayBacked("/* comment\rwithout line feed"));
+		scanner.advanceToLineEnd();
+		assertThat(scanner.isAtEnd()).isTrue();
+	}
+
+	@Test
+	void advanceToTheNextCharacterWithinTheLine()
+	{
+		var scanner = new SourceTextScanner(charArrayBacked("WRITE 'a string literal which is longer than a vector' #VAR"));
+		scanner.advance(7);
+		scanner.advanceToLineEndOr('\'');
+		assertThat(scanner.position()).isEqualTo(53);
+
+		scanner = new SourceTextScanner("'unterminated\n'");
+		scanner.advance();
+		scanner.advanceToLineEndOr('\'');
+		assertThat(scanner.position()).isEqualTo(13);
+	}
+
+	@Test
+	void advanceOverBlanks()
+	{
+		var scanner = new SourceTextScanner(charArrayBacked("WRITE" + " ".repeat(40) + "\t\r\n"));
+		scanner.advance(5);
+		scanner.advanceOverBlanks();
+		assertThat(scanner.peek()).isEqualTo('\n');
+	}
+
+	// Scanned vectorized if the tests run with the vectorized search, see the testVectorizedScanning task
+	private static CharBuffer charArrayBacked(String source)
+	{
+		return CharBuffer.wrap(source.toCharArray());
+	}
 }
@@ -0,0 +1,82 @@
+package org.amshove.natparse.natural.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NaturalLibraryShould
+{
+	@Test
+	void resolveModulesFromStepLibs()
+	{
+		var library = new NaturalLibrary(Path.of("LIB"));
+		var stepLib = new NaturalLibrary(Path.of("STEPLIB"));
+		library.addStepLib(stepLib);
+		var subprogram = addFile(stepLib, "SUBPROG", NaturalFileType.SUBPROGRAM);
+
+		assertThat(library.findModuleByReferableName("SUBPROG", true, NaturalFileType.SUBPROGRAM)).isSameAs(subprogram);
+		assertThat(library.findModuleByReferableName("SUBPROG", false, NaturalFileType.SUBPROGRAM)).isNull();
+	}
+
+	@Test
+	void resolveModulesThatHaveBeenAddedToAStepLibAfterTheyCouldNotBeResolved()
+	{
+		var library = new NaturalLibrary(Path.of("LIB"));
+		var stepLib = new NaturalLibrary(Path.of("STEPLIB"));
+		library.addStepLib(stepLib);
+
+		assertThat(library.findModuleByReferableName("SUBPROG", true, NaturalFileType.SUBPROGRAM)).isNull();
+
+		var subprogram = addFile(stepLib, "SUBPROG", NaturalFileType.SUBPROGRAM);
+		assertThat(library.findModuleByReferableName("SUBPROG", true, NaturalFileType.SUBPROGRAM)).isSameAs(subprogram);
+	}
+
+	@Test
+	void preferOwnModulesOverModulesOfStepLibs()
+	{
+		var library = new NaturalLibrary(Path.of("LIB"));
+		var stepLib = new NaturalLibrary(Path.of("STEPLIB"));
+		library.addStepLib(stepLib);
+		var stepLibSubprogram = addFile(stepLib, "SUBPROG", NaturalFileType.SUBPROGRAM);
+		assertThat(library.findModuleByReferableName("SUBPROG", true, NaturalFileType.SUBPROGRAM)).isSameAs(stepLibSubprogram);
+
+		var ownSubprogram = addFile(library, "SUBPROG", NaturalFileType.SUBPROGRAM);
+		assertThat(library.findModuleByReferableName("SUBPROG", true, NaturalFileType.SUBPROGRAM)).isSameAs(ownSubprogram);
+	}
+
+	@Test
+	void notResolveDdmsThatHaveBeenRemovedFromAStepLib()
+	{
+		var library = new NaturalLibrary(Path.of("LIB"));
+		var stepLib = new NaturalLibrary(Path.of("STEPLIB"));
+		library.addStepLib(stepLib);
+		var ddm = addFile(stepLib, "MY-DDM", NaturalFileType.DDM);
+		assertThat(library.findDdmByReferableName("MY-DDM", true)).isSameAs(ddm);
+
+		stepLib.removeFile(ddm);
+
+		assertThat(library.findDdmByReferableName("MY-DDM", true)).isNull();
+	}
+
+	@Test
+	void resolveModulesFromStepLibsThatHaveBeenAddedAfterTheModuleCouldNotBeResolved()
+	{
+		var library = new NaturalLibrary(Path.of("LIB"));
+		var stepLib = new NaturalLibrary(Path.of("STEPLIB"));
+		var subprogram = addFile(stepLib, "SUBPROG", NaturalFileType.SUBPROGRAM);
+
+		assertThat(library.findModuleByReferableName("SUBPROG", true, NaturalFileType.SUBPROGRAM)).isNull();
+
+		library.addStepLib(stepLib);
+		assertThat(library.findModuleByReferableName("SUBPROG", true, NaturalFileType.SUBPROGRAM)).isSameAs(subprogram);
+	}
+
+	private static NaturalFile addFile(NaturalLibrary library, String referableName, NaturalFileType type)
+	{
+		var file = new NaturalFile(referableName, library.getSourcePath().resolve(referableName + "." + type.getExtension()), type);
+		library.addFile(file);
+		return file;
+	}
+}
@@ -7,7 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Objects;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 
 class NaturalProjectFileIndexerShould extends ParserIntegrationTest
 {
@@ -79,6 +79,24 @@ class NaturalProjectFileIndexerShould extends ParserIntegrationTest
 		assertCanFindModule("SUBPROG", NaturalFileType.SUBPROGRAM);
 	}
 
+	@Test
+	void indexTheSameFilesWhenIndexingInParallel()
+	{
+		var parallelProject = NaturalProject.fromLibraries(
+			project.getRootPath(),
+			project.getLibraries().stream().map(l -> new NaturalLibrary(l.getSourcePath())).toList()
+		);
+
+		new NaturalProjectFileIndexer().indexProjectInParallel(parallelProject);
+
+		for (var i = 0; i < project.getLibraries().size(); i++)
+		{
+			var expectedFiles = project.getLibraries().get(i).files().stream().map(f -> f.getReferableName() + " " + f.getPath()).toList();
+			var actualFiles = parallelProject.getLibraries().get(i).files().stream().map(f -> f.getReferableName() + " " + f.getPath()).toList();
+			assertThat(actualFiles).containsExactlyElementsOf(expectedFiles);
+		}
+	}
+
 	private void assertCanFindModule(String referableName, NaturalFileType type)
 	{
 		assertCanFindModule(referableName, referableName, type);
@@ -0,0 +1,77 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.lexing.LexerError;
+import org.amshove.natparse.lexing.PlainPosition;
+import org.amshove.natparse.lexing.SyntaxKind;
+import org.amshove.natparse.natural.project.NaturalFile;
+import org.amshove.natparse.natural.project.NaturalFileType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CopyCodeCacheShould
+{
+	@TempDir
+	Path projectRoot;
+
+	@Test
+	void substituteTheGivenParameter() throws IOException
+	{
+		var copyCode = createCopyCode("MYCC", "WRITE &1&\n");
+		var cache = new CopyCodeCache();
+
+		var first = cache.copyCodeTokens(copyCode, List.of("'Hello'"), position(1));
+		var second = cache.copyCodeTokens(copyCode, List.of("#VAR"), position(1));
+
+		assertThat(first.peek(1).kind()).isEqualTo(SyntaxKind.STRING_LITERAL);
+		assertThat(second.peek(1).kind()).isEqualTo(SyntaxKind.IDENTIFIER);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void relocateTheTokensToEveryInclude() throws IOException
+	{
+		var copyCode = createCopyCode("MYCC", "WRITE 'Hi'\n");
+		var cache = new CopyCodeCache();
+
+		var first = cache.copyCodeTokens(copyCode, List.of(), position(1));
+		var second = cache.copyCodeTokens(copyCode, List.of(), position(5));
+
+		assertThat(first.peek()).isNotSameAs(second.peek());
+		assertThat(first.peek().diagnosticPosition().line()).isEqualTo(1);
+		assertThat(second.peek().diagnosticPosition().line()).isEqualTo(5);
+	}
+
+	@Test
+	void relocateLexerDiagnosticsToEveryInclude() throws IOException
+	{
+		var copyCode = createCopyCode("MYCC", "WRITE &2&\n");
+		var cache = new CopyCodeCache();
+
+		var first = cache.copyCodeTokens(copyCode, List.of(), position(1));
+		var second = cache.copyCodeTokens(copyCode, List.of(), position(5));
+
+		assertThat(first.diagnostics().first().id()).isEqualTo(LexerError.MISSING_COPYCODE_PARAMETER.id());
+		assertThat(first.diagnostics().first().line()).isEqualTo(1);
+		assertThat(second.diagnostics().first().line()).isEqualTo(5);
+		assertThat(second.diagnostics().first().additionalInfo().first().position().filePath()).isEqualTo(copyCode.getPath());
+	}
+
+	private PlainPosition position(int line)
+	{
+		return new PlainPosition(10, 2, line, 7, projectRoot.resolve("INCLUDER.NSN"));
+	}
+
+	private NaturalFile createCopyCode(String name, String source) throws IOException
+	{
+		var path = projectRoot.resolve(name + ".NSC");
+		Files.writeString(path, source);
+		return new NaturalFile(name, path, NaturalFileType.COPYCODE);
+	}
+}
@@ -0,0 +1,33 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.natural.project.NaturalFile;
+import org.amshove.natparse.natural.project.NaturalFileType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DdmCacheShould
+{
+	@TempDir
+	Path projectRoot;
+
+	@Test
+	void parseTheDdmOfTheFile() throws IOException
+	{
+		var file = createDdm("MY-DDM", "DB: 000 FILE: 100 - MY-DDM DEFAULT SEQUENCE:\n");
+
+		assertThat(new DdmCache().ddm(file).fileNumber()).isEqualTo("100");
+	}
+
+	private NaturalFile createDdm(String name, String source) throws IOException
+	{
+		var path = projectRoot.resolve(name + ".NSD");
+		Files.writeString(path, source);
+		return new NaturalFile(name, path, NaturalFileType.DDM);
+	}
+}
@@ -0,0 +1,82 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.infrastructure.ActualFilesystem;
+import org.amshove.natparse.lexing.SyntaxKind;
+import org.amshove.natparse.natural.project.NaturalFile;
+import org.amshove.natparse.natural.project.NaturalFileType;
+import org.amshove.natparse.natural.project.NaturalLibrary;
+import org.amshove.natparse.natural.project.NaturalProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefineDataCacheShould
+{
+	@TempDir
+	Path projectRoot;
+
+	@Test
+	void onlyLexUpToTheTokenAfterEndDefine() throws IOException
+	{
+		var file = createLda("MYLDA", "DEFINE DATA LOCAL\n1 #VAR (A10)\nEND-DEFINE\nWRITE #VAR\nEND\n");
+
+		var tokens = new DefineDataCache().defineDataTokens(file);
+
+		assertThat(tokens.allTokens().last().kind()).isEqualTo(SyntaxKind.WRITE);
+	}
+
+	@Test
+	void returnAnIndependentTokenListForEveryLookup() throws IOException
+	{
+		var file = createLda("MYLDA", "DEFINE DATA LOCAL\n1 #VAR (A10)\nEND-DEFINE\n");
+		var cache = new DefineDataCache();
+
+		var first = cache.defineDataTokens(file);
+		first.advance();
+		var second = cache.defineDataTokens(file);
+
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(second.getCurrentOffset()).isZero();
+		assertThat(second.peek()).isNotSameAs(first.allTokens().first());
+	}
+
+	@Test
+	void readFilesThroughTheFilesystemOfTheProject() throws IOException
+	{
+		// The file only exists within the filesystem of the project
+		var file = new NaturalFile("MYLDA", projectRoot.resolve("MYLDA.NSL"), NaturalFileType.LDA);
+		var library = new NaturalLibrary(projectRoot.resolve("LIB"));
+		library.addFile(file);
+		var filesystem = new ActualFilesystem()
+		{
+			@Override
+			public BasicFileAttributes readAttributes(Path path)
+			{
+				return super.readAttributes(projectRoot);
+			}
+
+			@Override
+			public CharSequence readSource(Path path)
+			{
+				return "DEFINE DATA LOCAL\n1 #FROM-FILESYSTEM (A10)\nEND-DEFINE\n";
+			}
+		};
+		NaturalProject.fromLibraries(projectRoot, List.of(library), filesystem);
+
+		assertThat(DefineDataCache.of(file).defineDataTokens(file).peek(4).symbolName()).isEqualTo("#FROM-FILESYSTEM");
+	}
+
+	private NaturalFile createLda(String name, String source) throws IOException
+	{
+		var path = projectRoot.resolve(name + ".NSL");
+		Files.writeString(path, source);
+		return new NaturalFile(name, path, NaturalFileType.LDA);
+	}
+}
@@ -1094,6 +1094,32 @@ class DefineDataParserShould extends AbstractParserTest<IDefineData>
 		assertThat(defineData.findVariable("#VAR-AFTER")).as("#VAR-AFTER not found").isNotNull();
 	}
 
+	@Test
+	void findVariablesByTheirPlainAndQualifiedName()
+	{
+		var defineData = assertParsesWithoutDiagnostics("""
+			DEFINE DATA
+			LOCAL
+			1 #FIRST-GROUP
+			  2 #NAME (A10)
+			1 #SECOND-GROUP
+			  2 #NAME (A10)
+			1 #VAR (A10)
+			1 REDEFINE #VAR
+			  2 #REDEFINED (A5)
+			END-DEFINE
+			END
+			""");
+
+		var firstName = defineData.findVariable("#FIRST-GROUP.#NAME");
+		var secondName = defineData.findVariable("#SECOND-GROUP.#NAME");
+		assertThat(firstName).isNotNull();
+		assertThat(secondName).isNotNull().isNotSameAs(firstName);
+		assertThat(defineData.findVariable("#NAME")).isSameAs(firstName);
+		assertThat(defineData.findVariable("#REDEFINED")).isNotNull();
+		assertThat(defineData.findVariable("#UNDECLARED")).isNull();
+	}
+
 	@Test
 	void notReportALengthDiagnosticForNestedRedefineVariables()
 	{
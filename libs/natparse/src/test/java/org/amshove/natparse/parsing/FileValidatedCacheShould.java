@@ -0,0 +1,191 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.infrastructure.ActualFilesystem;
+import org.amshove.natparse.natural.project.NaturalFile;
+import org.amshove.natparse.natural.project.NaturalFileType;
+import org.amshove.natparse.natural.project.NaturalLibrary;
+import org.amshove.natparse.natural.project.NaturalProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileValidatedCacheShould
+{
+	@TempDir
+	Path projectRoot;
+
+	@Test
+	void returnTheCachedValueAsLongAsTheFileDoesNotChange() throws IOException
+	{
+		var path = createFile("FILE.NSL", "content");
+		var cache = new ContentCache(16);
+
+		assertThat(cache.content(path)).isSameAs(cache.content(path));
+		assertThat(cache.loads).isEqualTo(1);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void loadTheFileAgainWhenItHasBeenModified() throws IOException
+	{
+		var path = createFile("FILE.NSL", "content");
+		var cache = new ContentCache(16);
+		cache.content(path);
+
+		Files.writeString(path, "changed");
+		Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 2000));
+
+		assertThat(cache.content(path)).isEqualTo("changed");
+	}
+
+	@Test
+	void loadTheFileAgainWhenItsSizeHasChangedWithinTheSameModificationTime() throws IOException
+	{
+		var path = createFile("FILE.NSL", "content");
+		var modified = Files.getLastModifiedTime(path);
+		var cache = new ContentCache(16);
+		cache.content(path);
+
+		Files.writeString(path, "changed content");
+		Files.setLastModifiedTime(path, modified);
+
+		assertThat(cache.content(path)).isEqualTo("changed content");
+	}
+
+	@Test
+	void evictTheLeastRecentlyUsedFileWhenFull() throws IOException
+	{
+		var first = createFile("FIRST.NSL", "first");
+		var second = createFile("SECOND.NSL", "second");
+		var third = createFile("THIRD.NSL", "third");
+		var cache = new ContentCache(2);
+
+		cache.content(first);
+		cache.content(second);
+		cache.content(first);
+		cache.content(third);
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.loads).isEqualTo(3);
+
+		cache.content(first);
+		assertThat(cache.loads).as("the most recently used file should have been kept").isEqualTo(3);
+		cache.content(second);
+		assertThat(cache.loads).as("the least recently used file should have been evicted").isEqualTo(4);
+	}
+
+	@Test
+	void loadAnEvictedFileAgain() throws IOException
+	{
+		var path = createFile("FILE.NSL", "content");
+		var cache = new ContentCache(16);
+		cache.content(path);
+
+		cache.evict(path);
+
+		assertThat(cache.size()).isZero();
+		cache.content(path);
+		assertThat(cache.loads).isEqualTo(2);
+	}
+
+	@Test
+	void notCacheAnythingWithoutCapacity() throws IOException
+	{
+		var path = createFile("FILE.NSL", "content");
+		var cache = new ContentCache(0);
+
+		cache.content(path);
+		cache.content(path);
+
+		assertThat(cache.size()).isZero();
+		assertThat(cache.loads).isEqualTo(2);
+	}
+
+	@Test
+	void readTheFileAttributesThroughTheFilesystem() throws IOException
+	{
+		// The file only exists within the filesystem
+		var path = projectRoot.resolve("FILE.NSL");
+		var cache = new ContentCache(new ActualFilesystem()
+		{
+			@Override
+			public BasicFileAttributes readAttributes(Path path)
+			{
+				return super.readAttributes(projectRoot);
+			}
+
+			@Override
+			public String readFile(Path path)
+			{
+				return "from filesystem";
+			}
+		}, 16);
+
+		assertThat(cache.content(path)).isEqualTo("from filesystem");
+	}
+
+	@Test
+	void reportFilesThatCanNotBeReadAsCheckedException()
+	{
+		var cache = new ContentCache(16);
+
+		assertThatThrownBy(() -> cache.content(projectRoot.resolve("MISSING.NSL")))
+			.isInstanceOf(IOException.class);
+	}
+
+	@Test
+	void beSharedByAllFilesOfAProject() throws IOException
+	{
+		var copyCode = new NaturalFile("MYCC", createFile("MYCC.NSC", "WRITE 'Hi'\n"), NaturalFileType.COPYCODE);
+		var ddm = new NaturalFile("MY-DDM", createFile("MY-DDM.NSD", "DB: 000 FILE: 100 - MY-DDM DEFAULT SEQUENCE:\n"), NaturalFileType.DDM);
+		var lda = new NaturalFile("MYLDA", createFile("MYLDA.NSL", "DEFINE DATA LOCAL\nEND-DEFINE\n"), NaturalFileType.LDA);
+		var library = new NaturalLibrary(projectRoot.resolve("LIB"));
+		library.addFile(copyCode);
+		library.addFile(ddm);
+		library.addFile(lda);
+		var project = NaturalProject.fromLibraries(projectRoot, List.of(library));
+
+		assertThat(CopyCodeCache.of(copyCode)).isSameAs(project.getCopyCodeCache());
+		assertThat(DdmCache.of(ddm)).isSameAs(project.getDdmCache());
+		assertThat(DefineDataCache.of(lda)).isSameAs(project.getDefineDataCache());
+	}
+
+	private Path createFile(String name, String content) throws IOException
+	{
+		var path = projectRoot.resolve(name);
+		Files.writeString(path, content);
+		return path;
+	}
+
+	private static class ContentCache extends FileValidatedCache<String>
+	{
+		private int loads;
+
+		private ContentCache(int capacity)
+		{
+			this(new ActualFilesystem(), capacity);
+		}
+
+		private ContentCache(ActualFilesystem filesystem, int capacity)
+		{
+			super(filesystem, capacity);
+		}
+
+		private String content(Path path) throws IOException
+		{
+			return get(path, p ->
+			{
+				loads++;
+				return filesystem.readFile(p);
+			});
+		}
+	}
+}
@@ -1,12 +1,21 @@
 package org.amshove.natparse.parsing;
 
-import org.amshove.natparse.natural.DataFormat;
-import org.amshove.natparse.natural.IFunction;
-import org.amshove.natparse.natural.ITypedVariableNode;
+import org.amshove.natparse.IDiagnostic;
+import org.amshove.natparse.ParsePhase;
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.natural.*;
 import org.amshove.natparse.natural.project.NaturalProject;
 import org.amshove.testhelpers.ProjectName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 @SuppressWarnings("DataFlowIssue")
@@ -119,4 +128,241 @@ class NaturalParserShould extends ParserIntegrationTest
 		var module = parse(project.findModule("LIBONE", "REPORT"));
 		assertThat(module.diagnostics()).anyMatch(d -> d.id().equals(ParserError.UNSUPPORTED_PROGRAMMING_MODE.id()));
 	}
+
+	@Test
+	void parseOnlyTheOutlineOfAModule(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var tokens = new Lexer().lex(Files.readString(file.getPath()), file.getPath());
+		var module = new NaturalParser().parseOutline(file, tokens);
+
+		assertThat(((IHasDefineData) module).defineData().findVariable("#VAR")).isNotNull();
+
+		var statements = ((IModuleWithBody) module).body().statements();
+		assertThat(statements).hasSize(5);
+		assertThat(statements.get(0)).isInstanceOf(ICallnatNode.class);
+		assertThat(statements.get(0).position().line()).isEqualTo(10);
+		assertThat(statements.get(1)).isInstanceOf(IFunctionCallNode.class);
+		assertThat(((IFunctionCallNode) statements.get(1)).reference()).isNotNull();
+		assertThat(statements.get(2)).isInstanceOf(IInternalPerformNode.class);
+		assertThat(statements.get(3)).isInstanceOf(IFetchNode.class);
+
+		var subroutine = (ISubroutineNode) statements.get(4);
+		assertThat(subroutine.declaration().symbolName()).isEqualTo("MY-SUB");
+		assertThat(subroutine.body().statements()).hasSize(1);
+		assertThat(subroutine.body().statements().first()).isInstanceOf(ICallnatNode.class);
+		assertThat(((IInternalPerformNode) statements.get(2)).reference()).isSameAs(subroutine);
+	}
+
+	@Test
+	void outlineTheSameReferencesAsAFullParseWithinSkippedStatements(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLNEST");
+		var source = Files.readString(file.getPath());
+		var fullModule = new NaturalParser().parse(file, new Lexer().lex(source, file.getPath()));
+		var outline = new NaturalParser().parseOutline(file, new Lexer().lex(source, file.getPath()));
+
+		var expectedReferences = outlinedReferences(fullModule.syntaxTree());
+		assertThat(expectedReferences).containsExactly(
+			"'NESTED'@19",
+			"PERFORM MY-SUB@21",
+			"OUTLCC@27",
+			"'FROMCOPY'@0",
+			"'PROG'@29",
+			"PERFORM EXTERNAL-SUB@37",
+			"FUNC@44",
+			"PERFORM MY-SUB@47",
+			"SUBROUTINE MY-SUB",
+			"'INSUB'@55"
+		);
+		assertThat(outlinedReferences(outline.syntaxTree())).containsExactlyElementsOf(expectedReferences);
+	}
+
+	@Test
+	void reuseTheDefineDataWhenOnlyTheBodyChanged(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var source = Files.readString(file.getPath());
+		var parser = new NaturalParser();
+		var previousModule = parser.parse(file, new Lexer().lex(source, file.getPath()));
+		var previousDefineData = ((IHasDefineData) previousModule).defineData();
+
+		var changedSource = source.replace("WRITE #VAR", "WRITE #VAR #VAR");
+		var module = parser.reparse(file, new Lexer().lex(changedSource, file.getPath()), previousModule);
+		var fullyParsedModule = parser.parse(file, new Lexer().lex(changedSource, file.getPath()));
+
+		var defineData = ((IHasDefineData) module).defineData();
+		assertThat(defineData).isSameAs(previousDefineData);
+		assertThat(defineData.findVariable("#VAR").references())
+			.hasSameSizeAs(((IHasDefineData) fullyParsedModule).defineData().findVariable("#VAR").references())
+			.allMatch(r -> r.parent() != null);
+		assertThat(module.diagnostics()).map(IDiagnostic::id)
+			.containsExactlyElementsOf(fullyParsedModule.diagnostics().stream().map(IDiagnostic::id).toList());
+	}
+
+	@Test
+	void publishTheReparsedModuleBeforeDestroyingThePreviousOne(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var source = Files.readString(file.getPath());
+		var parser = new NaturalParser();
+		var previousModule = parser.parse(file, new Lexer().lex(source, file.getPath()));
+		var variable = ((IHasDefineData) previousModule).defineData().findVariable("#VAR");
+		var previousReferences = variable.references().toList();
+
+		var referencesWhenPublished = new ArrayList<ISymbolReferenceNode>();
+		var changedSource = source.replace("WRITE #VAR", "WRITE #VAR #VAR");
+		parser.reparse(file, new Lexer().lex(changedSource, file.getPath()), previousModule, m -> referencesWhenPublished.addAll(variable.references().toList()));
+
+		assertThat(referencesWhenPublished).containsAll(previousReferences);
+		assertThat(variable.references())
+			.doesNotContainAnyElementsOf(previousReferences)
+			.hasSize(referencesWhenPublished.size() - previousReferences.size());
+	}
+
+	@Test
+	void removeThePreviousModuleFromTheCallersOfTheModulesItCalls(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var source = Files.readString(file.getPath());
+		var parser = new NaturalParser();
+		var previousModule = parser.parse(file, new Lexer().lex(source, file.getPath()));
+		var previousCall = firstResolvedModuleReference(previousModule.syntaxTree());
+		var calledModule = previousCall.reference();
+		assertThat(calledModule.callers()).contains(previousCall);
+
+		var changedSource = source.replace("WRITE #VAR", "WRITE #VAR #VAR");
+		parser.reparse(file, new Lexer().lex(changedSource, file.getPath()), previousModule);
+
+		assertThat(calledModule.callers()).doesNotContain(previousCall);
+	}
+
+	@Test
+	void parseTheDefineDataAgainWhenItChanged(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var source = Files.readString(file.getPath());
+		var parser = new NaturalParser();
+		var previousModule = parser.parse(file, new Lexer().lex(source, file.getPath()));
+		var previousDefineData = ((IHasDefineData) previousModule).defineData();
+
+		var changedSource = source.replace("END-DEFINE", "1 #NEW (N2)\nEND-DEFINE");
+		var module = parser.reparse(file, new Lexer().lex(changedSource, file.getPath()), previousModule);
+
+		var defineData = ((IHasDefineData) module).defineData();
+		assertThat(defineData).isNotSameAs(previousDefineData);
+		assertThat(defineData.findVariable("#NEW")).isNotNull();
+	}
+
+	@Test
+	void stopParsingWhenCancellationIsRequested(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var tokens = new Lexer().lex(Files.readString(file.getPath()), file.getPath());
+		var parser = new NaturalParser(null, () -> true);
+
+		assertThatThrownBy(() -> parser.parse(file, tokens)).isInstanceOf(CancellationException.class);
+	}
+
+	@Test
+	void keepThePreviousModuleIntactWhenAReparseIsCancelledBeforeItStarts(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var source = Files.readString(file.getPath());
+		var previousModule = new NaturalParser().parse(file, new Lexer().lex(source, file.getPath()));
+		var variable = ((IHasDefineData) previousModule).defineData().findVariable("#VAR");
+		var referenceCount = variable.references().size();
+
+		var cancelledParser = new NaturalParser(null, () -> true);
+		var changedTokens = new Lexer().lex(source.replace("WRITE #VAR", "WRITE #VAR #VAR"), file.getPath());
+
+		assertThatThrownBy(() -> cancelledParser.reparse(file, changedTokens, previousModule)).isInstanceOf(CancellationException.class);
+		assertThat(variable.references()).hasSize(referenceCount);
+	}
+
+	@Test
+	void removeTheReferencesOfACancelledReparseFromTheReusedDefineData(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var source = Files.readString(file.getPath());
+		var previousModule = new NaturalParser().parse(file, new Lexer().lex(source, file.getPath()));
+		var variable = ((IHasDefineData) previousModule).defineData().findVariable("#VAR");
+		var previousReferences = variable.references().toList();
+
+		// Cancels as soon as the reparse has resolved its first reference
+		var cancelledParser = new NaturalParser(null, () -> variable.references().size() > previousReferences.size());
+		var changedTokens = new Lexer().lex(source.replace("WRITE #VAR", "WRITE #VAR #VAR"), file.getPath());
+
+		assertThatThrownBy(() -> cancelledParser.reparse(file, changedTokens, previousModule)).isInstanceOf(CancellationException.class);
+		assertThat(variable.references()).containsExactlyElementsOf(previousReferences);
+	}
+
+	@Test
+	void recordTheTimeOfEveryPhaseAModulePassesThrough(@ProjectName("naturalParserTests") NaturalProject project)
+	{
+		var timings = parse(project.findModule("TEST", "OUTLINE")).parsePhaseTimings();
+
+		assertThat(timings.phases()).containsExactly(
+			ParsePhase.DEFINE_DATA,
+			ParsePhase.STATEMENTS,
+			ParsePhase.PERFORM_RESOLUTION,
+			ParsePhase.VARIABLE_RESOLUTION,
+			ParsePhase.TYPE_CHECK,
+			ParsePhase.PARAMETER_CHECK,
+			ParsePhase.COMPACTION
+		);
+		assertThat(timings.total()).isEqualTo(timings.durations().values().stream().reduce(Duration.ZERO, Duration::plus));
+		assertThat(timings.slowestPhase()).isNotNull();
+	}
+
+	@Test
+	void notRecordTheTimeOfPhasesThatAreSkippedWhenParsingTheOutline(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var tokens = new Lexer().lex(Files.readString(file.getPath()), file.getPath());
+		var timings = new NaturalParser().parseOutline(file, tokens).parsePhaseTimings();
+
+		assertThat(timings.phases()).doesNotContain(ParsePhase.VARIABLE_RESOLUTION, ParsePhase.TYPE_CHECK, ParsePhase.PARAMETER_CHECK);
+		assertThat(timings.duration(ParsePhase.TYPE_CHECK)).isZero();
+	}
+
+	private static IModuleReferencingNode firstResolvedModuleReference(ISyntaxTree tree)
+	{
+		for (var node : tree.descendants())
+		{
+			if (node instanceof IModuleReferencingNode moduleReference && moduleReference.reference() != null)
+			{
+				return moduleReference;
+			}
+
+			var nestedReference = firstResolvedModuleReference(node);
+			if (nestedReference != null)
+			{
+				return nestedReference;
+			}
+		}
+		return null;
+	}
+
+	private static List<String> outlinedReferences(ISyntaxTree tree)
+	{
+		var references = new ArrayList<String>();
+		for (var node : tree.descendants())
+		{
+			if (node instanceof IModuleReferencingNode moduleReference)
+			{
+				references.add(moduleReference.referencingToken().source() + "@" + moduleReference.referencingToken().line());
+			}
+			if (node instanceof IPerformNode && node instanceof ISymbolReferenceNode perform)
+			{
+				references.add("PERFORM " + perform.token().symbolName() + "@" + perform.token().line());
+			}
+			if (node instanceof ISubroutineNode subroutine)
+			{
+				references.add("SUBROUTINE " + subroutine.declaration().symbolName());
+			}
+			references.addAll(outlinedReferences(node));
+		}
+		return references;
+	}
 }
@@ -0,0 +1,76 @@
+package org.amshove.natparse.parsing;
+
+import org.amshove.natparse.NodeUtil;
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.lexing.SyntaxToken;
+import org.amshove.natparse.natural.ITokenNode;
+import org.amshove.natparse.natural.IVariableReferenceNode;
+import org.amshove.natparse.natural.project.NaturalProject;
+import org.amshove.testhelpers.ProjectName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionIndexShould extends ParserIntegrationTest
+{
+	@Test
+	void findTheTokenNodeAtAPosition(@ProjectName("naturalParserTests") NaturalProject project)
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var module = parse(file);
+
+		var node = NodeUtil.findTokenNodeAtPosition(file.getPath(), 10, 22, module.syntaxTree());
+
+		assertThat(node).isInstanceOf(IVariableReferenceNode.class);
+		assertThat(((IVariableReferenceNode) node).referencingToken().symbolName()).isEqualTo("#VAR");
+	}
+
+	@Test
+	void findTheSameTokenNodesAsASearchThroughTheWholeTree(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var module = parse(file);
+		var tokenNodes = NodeUtil.findNodesOfType(module.syntaxTree(), ITokenNode.class);
+		var lines = Files.readString(file.getPath()).split("\n");
+
+		for (var line = 0; line < lines.length; line++)
+		{
+			for (var character = 0; character <= lines[line].length(); character++)
+			{
+				var expectedLine = line;
+				var expectedCharacter = character;
+				var expectedNode = tokenNodes.stream()
+					.filter(n -> n.position().line() == expectedLine && n.position().offsetInLine() <= expectedCharacter && n.position().endOffset() >= expectedCharacter)
+					.findFirst()
+					.orElse(null);
+
+				assertThat(NodeUtil.findTokenNodeAtPosition(file.getPath(), line, character, module.syntaxTree()))
+					.as("node at %d:%d", line, character)
+					.isSameAs(expectedNode);
+			}
+		}
+	}
+
+	@Test
+	void findTheSameTokenOnOrBeforeAPositionRegardlessOfTheListType(@ProjectName("naturalParserTests") NaturalProject project) throws IOException
+	{
+		var file = project.findModule("TEST", "OUTLINE");
+		var lines = Files.readString(file.getPath()).split("\n");
+		var tokens = new Lexer().lex(Files.readString(file.getPath()), file.getPath()).stream().toList();
+		var linkedTokens = new LinkedList<SyntaxToken>(tokens);
+
+		for (var line = 0; line < lines.length; line++)
+		{
+			for (var character = 0; character <= lines[line].length(); character++)
+			{
+				assertThat(NodeUtil.findTokenOnOrBeforePosition(tokens, line, character))
+					.as("token at %d:%d", line, character)
+					.isSameAs(NodeUtil.findTokenOnOrBeforePosition(linkedTokens, line, character));
+			}
+		}
+	}
+}
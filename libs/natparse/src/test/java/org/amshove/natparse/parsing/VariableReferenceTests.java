@@ -1,11 +1,15 @@
 package org.amshove.natparse.parsing;
 
 import org.amshove.natparse.NodeUtil;
+import org.amshove.natparse.lexing.SyntaxKind;
+import org.amshove.natparse.lexing.SyntaxToken;
 import org.amshove.natparse.natural.*;
 import org.amshove.natparse.natural.project.NaturalProject;
 import org.amshove.testhelpers.ProjectName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Paths;
+
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 class VariableReferenceTests extends ParserIntegrationTest
@@ -156,4 +160,22 @@ class VariableReferenceTests extends ParserIntegrationTest
 		assertThat(parameter).isInstanceOf(IVariableReferenceNode.class);
 		assertThat(((IVariableReferenceNode) parameter).reference()).isNotNull();
 	}
+
+	@Test
+	void keepReturnedReferencesUnchangedWhenReferencesAreAdded()
+	{
+		var variable = new VariableNode();
+		var firstReference = new SymbolReferenceNode(new SyntaxToken(SyntaxKind.IDENTIFIER, 0, 0, 0, "#VAR", Paths.get("TEST.NSN")));
+		variable.addReference(firstReference);
+
+		var references = variable.references();
+		variable.addReference(new SymbolReferenceNode(new SyntaxToken(SyntaxKind.IDENTIFIER, 5, 5, 0, "#VAR", Paths.get("TEST.NSN"))));
+
+		assertThat(references.size()).isEqualTo(1);
+		for (var reference : references)
+		{
+			assertThat(reference).isSameAs(firstReference);
+		}
+		assertThat(variable.references().size()).isEqualTo(2);
+	}
 }
@@ -112,6 +112,20 @@ class DdmParserShould
 		assertThat(aNondescriptor.descriptor()).isEqualTo(DescriptorType.NONDESCRIPTOR);
 	}
 
+	@Test
+	void findFieldsIncludingGroupMembersCaseInsensitiveAndQualified()
+	{
+		var ddm = parseFromResource("CompleteDdm.NSD");
+
+		assertThat(ddm.findField("some-number")).isSameAs(findField(ddm, "SOME-NUMBER"));
+		assertThat(ddm.findField("COMPLETE-DDM.SOME-NUMBER")).isSameAs(findField(ddm, "SOME-NUMBER"));
+
+		var nestedGroup = findGroupMember(assertIsGroupField(findField(ddm, "TOP-LEVEL-GROUP")), "TOP-LEVEL-GROUP-GROUP");
+		assertThat(ddm.findField("Top-Level-Group-Group")).isSameAs(nestedGroup);
+		assertThat(ddm.findField("TOP-LEVEL-GROUP-GROUP-CHILD")).isSameAs(findGroupMember(assertIsGroupField(nestedGroup), "TOP-LEVEL-GROUP-GROUP-CHILD"));
+		assertThat(ddm.findField("NOT-A-FIELD")).isNull();
+	}
+
 	@Test
 	void parseAComplexSqlDdm()
 	{
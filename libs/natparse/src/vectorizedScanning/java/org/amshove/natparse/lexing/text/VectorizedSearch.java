@@ -0,0 +1,68 @@
+package org.amshove.natparse.lexing.text;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Character searches of the {@link SourceTextScanner} that compare as many characters at once as the CPU supports by
+ * using the Vector API.<br/>
+ * This class is only on the classpath if the consumer opted in to vectorized scanning. It is loaded by the
+ * {@link SourceTextScanner} if {@code jdk.incubator.vector} is present.
+ */
+final class VectorizedSearch implements ICharArraySearch
+{
+	private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+	@Override
+	public int indexOfAny(char[] chars, int from, int to, char first, char second)
+	{
+		var index = from;
+		var upperBound = from + SPECIES.loopBound(to - from);
+		for (; index < upperBound; index += SPECIES.length())
+		{
+			var vector = ShortVector.fromCharArray(SPECIES, chars, index);
+			var matches = vector.eq((short) first).or(vector.eq((short) second));
+			if (matches.anyTrue())
+			{
+				return index + matches.firstTrue();
+			}
+		}
+
+		for (; index < to; index++)
+		{
+			if (chars[index] == first || chars[index] == second)
+			{
+				return index;
+			}
+		}
+
+		return to;
+	}
+
+	@Override
+	public int indexOfNonBlank(char[] chars, int from, int to)
+	{
+		var index = from;
+		var upperBound = from + SPECIES.loopBound(to - from);
+		for (; index < upperBound; index += SPECIES.length())
+		{
+			var vector = ShortVector.fromCharArray(SPECIES, chars, index);
+			var blanks = vector.eq((short) ' ').or(vector.eq((short) '\t')).or(vector.eq((short) '\r'));
+			var nonBlanks = blanks.not();
+			if (nonBlanks.anyTrue())
+			{
+				return index + nonBlanks.firstTrue();
+			}
+		}
+
+		for (; index < to; index++)
+		{
+			if (!SourceTextScanner.isBlank(chars[index]))
+			{
+				return index;
+			}
+		}
+
+		return to;
+	}
+}
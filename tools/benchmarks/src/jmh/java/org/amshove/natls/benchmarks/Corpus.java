@@ -0,0 +1,43 @@
+package org.amshove.natls.benchmarks;
+
+import java.nio.file.Path;
+
+/**
+ * The single module corpora that benchmarks are parameterised over.
+ */
+public enum Corpus
+{
+	/**
+	 * A module with a few dozen lines, like most modules edited day to day.
+	 */
+	SMALL("SMALL"),
+	/**
+	 * A module with multiple thousand lines, many subroutines and nested blocks.
+	 */
+	HUGE("HUGE"),
+	/**
+	 * A module consisting mostly of INCLUDEs with copycode parameters.
+	 */
+	INCLUDE_HEAVY("INCLHVY"),
+	/**
+	 * A module with a large DEFINE DATA consisting of groups, REDEFINEs, arrays and an LDA.
+	 */
+	DEFINE_DATA_HEAVY("DEFDHVY");
+
+	private final String moduleName;
+
+	Corpus(String moduleName)
+	{
+		this.moduleName = moduleName;
+	}
+
+	String fileName()
+	{
+		return moduleName + ".NSN";
+	}
+
+	Path path(Path libraryPath)
+	{
+		return libraryPath.resolve(fileName());
+	}
+}
@@ -0,0 +1,36 @@
+package org.amshove.natls.benchmarks;
+
+import org.amshove.natparse.natural.project.NaturalFile;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Provides the generated project and the module of the current {@link Corpus} to a benchmark.
+ */
+@State(Scope.Benchmark)
+public class CorpusState
+{
+	@Param(
+		{
+			"SMALL", "HUGE", "INCLUDE_HEAVY", "DEFINE_DATA_HEAVY"
+		}
+	)
+	public Corpus corpus;
+
+	public SyntheticProject project;
+	public NaturalFile file;
+	public String source;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		project = SyntheticProject.create(0);
+		file = project.file(corpus);
+		source = project.source(corpus);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		project.close();
+	}
+}
@@ -0,0 +1,47 @@
+package org.amshove.natls.benchmarks;
+
+import org.amshove.natls.project.LanguageServerFile;
+import org.amshove.natls.project.LanguageServerProject;
+import org.amshove.natls.project.ParseStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures what happens on every keystroke in an opened document.
+ */
+public class LanguageServerFileBenchmark
+{
+	@State(Scope.Thread)
+	public static class OpenedFileState
+	{
+		public LanguageServerFile file;
+		public String[] editedSources;
+		public int edits;
+
+		@Setup(Level.Trial)
+		public void setup(CorpusState corpus)
+		{
+			var languageServerProject = LanguageServerProject.fromProject(corpus.project.project());
+			file = languageServerProject.findFile(corpus.file.getPath());
+			file.open();
+			// Simulates typing at the end of the module, which keeps the DEFINE DATA stable. Every invocation switches to
+			// the other source, so that each one is an actual change.
+			editedSources = new String[]
+			{
+				corpus.source + "* edited\n", corpus.source + "* edited again\n"
+			};
+		}
+
+		String nextSource()
+		{
+			return editedSources[edits++ % editedSources.length];
+		}
+	}
+
+	@Benchmark
+	public void changed(OpenedFileState state, Blackhole blackhole)
+	{
+		state.file.changed(state.nextSource());
+		blackhole.consume(state.file.module(ParseStrategy.WITHOUT_CALLERS));
+	}
+}
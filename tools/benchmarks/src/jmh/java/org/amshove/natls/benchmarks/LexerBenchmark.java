@@ -0,0 +1,34 @@
+package org.amshove.natls.benchmarks;
+
+import org.amshove.natparse.infrastructure.ActualFilesystem;
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.lexing.TokenList;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+public class LexerBenchmark
+{
+	private static final ActualFilesystem FILESYSTEM = new ActualFilesystem();
+
+	@Benchmark
+	public TokenList lex(CorpusState state)
+	{
+		return new Lexer().lex(state.source, state.file.getPath());
+	}
+
+	@Benchmark
+	public TokenList readAndLex(CorpusState state) throws IOException
+	{
+		var path = state.file.getPath();
+		return new Lexer().lex(Files.readString(path), path);
+	}
+
+	@Benchmark
+	public TokenList readSourceAndLex(CorpusState state)
+	{
+		var path = state.file.getPath();
+		return new Lexer().lex(FILESYSTEM.readSource(path), path);
+	}
+}
@@ -0,0 +1,31 @@
+package org.amshove.natls.benchmarks;
+
+import org.amshove.natlint.api.LinterDiagnostic;
+import org.amshove.natlint.linter.NaturalLinter;
+import org.amshove.natparse.ReadOnlyList;
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.natural.INaturalModule;
+import org.amshove.natparse.parsing.NaturalParser;
+import org.openjdk.jmh.annotations.*;
+
+public class LinterBenchmark
+{
+	@State(Scope.Thread)
+	public static class ParsedState
+	{
+		public INaturalModule module;
+
+		@Setup(Level.Trial)
+		public void setup(CorpusState corpus)
+		{
+			var tokens = new Lexer().lex(corpus.source, corpus.file.getPath());
+			module = new NaturalParser().parse(corpus.file, tokens);
+		}
+	}
+
+	@Benchmark
+	public ReadOnlyList<LinterDiagnostic> lint(ParsedState parsed)
+	{
+		return new NaturalLinter().lint(parsed.module);
+	}
+}
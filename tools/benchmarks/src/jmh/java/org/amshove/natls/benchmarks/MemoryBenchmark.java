@@ -0,0 +1,148 @@
+package org.amshove.natls.benchmarks;
+
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.lexing.TokenList;
+import org.amshove.natparse.natural.INaturalModule;
+import org.amshove.natparse.natural.project.NaturalFile;
+import org.amshove.natparse.natural.project.NaturalFileType;
+import org.amshove.natparse.parsing.NaturalParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how much heap the parsed modules of a project retain, which is what the language server keeps in memory
+ * for every module of a workspace.<br/>
+ * The retained bytes per module are reported as the secondary result {@code retainedBytesPerModule}. Lexing happens
+ * before the measurement, so only the memory of the parse results is counted. The memory of the tokens is measured
+ * separately and reported as {@code retainedBytesPerTokenList}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class MemoryBenchmark
+{
+	@State(Scope.Benchmark)
+	public static class ProjectState
+	{
+		@Param("200")
+		public int modules;
+
+		public SyntheticProject project;
+		public List<NaturalFile> files;
+		public List<TokenList> tokens;
+
+		@Setup(Level.Trial)
+		public void setup()
+		{
+			project = SyntheticProject.create(modules);
+			files = project.library().files().stream()
+				.filter(f -> f.getFiletype() != NaturalFileType.DDM)
+				.toList();
+		}
+
+		@Setup(Level.Invocation)
+		public void lex()
+		{
+			tokens = new ArrayList<>();
+			for (var file : files)
+			{
+				try
+				{
+					tokens.add(new Lexer().lex(Files.readString(file.getPath()), file.getPath()));
+				}
+				catch (IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown()
+		{
+			project.close();
+		}
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RetainedMemory
+	{
+		public long retainedBytesPerModule;
+	}
+
+	/**
+	 * The language server lexes open files with {@link Lexer#keepRelexState()} and all other files without.
+	 */
+	@State(Scope.Benchmark)
+	public static class LexerConfiguration
+	{
+		@Param(
+			{
+				"false", "true"
+			}
+		)
+		public boolean keepRelexState;
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RetainedTokenMemory
+	{
+		public long retainedBytesPerTokenList;
+	}
+
+	@Benchmark
+	public List<INaturalModule> parseAndRetain(ProjectState state, RetainedMemory memory)
+	{
+		var usedBefore = usedHeap();
+		var parsedModules = new ArrayList<INaturalModule>(state.files.size());
+		for (var i = 0; i < state.files.size(); i++)
+		{
+			parsedModules.add(new NaturalParser().parse(state.files.get(i), state.tokens.get(i)));
+		}
+
+		memory.retainedBytesPerModule = (usedHeap() - usedBefore) / parsedModules.size();
+		return parsedModules;
+	}
+
+	/**
+	 * Lexes every module like the language server does and materializes all tokens like the parser does. The sources
+	 * are read within the measurement, so that they're counted if the tokens keep them alive.
+	 */
+	@Benchmark
+	public List<TokenList> lexAndRetain(ProjectState state, LexerConfiguration configuration, RetainedTokenMemory memory) throws IOException
+	{
+		var usedBefore = usedHeap();
+		var tokenLists = new ArrayList<TokenList>(state.files.size());
+		for (var file : state.files)
+		{
+			var lexer = Lexer.pooled().internSymbolsIn(file.getSymbolPool());
+			if (configuration.keepRelexState)
+			{
+				lexer.keepRelexState();
+			}
+			var tokens = lexer.lex(Files.readString(file.getPath()), file.getPath());
+			tokens.allTokens();
+			tokenLists.add(tokens);
+		}
+
+		memory.retainedBytesPerTokenList = (usedHeap() - usedBefore) / tokenLists.size();
+		return tokenLists;
+	}
+
+	private static long usedHeap()
+	{
+		var runtime = Runtime.getRuntime();
+		for (var i = 0; i < 3; i++)
+		{
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,37 @@
+package org.amshove.natls.benchmarks;
+
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.lexing.TokenList;
+import org.amshove.natparse.natural.INaturalModule;
+import org.amshove.natparse.parsing.NaturalParser;
+import org.openjdk.jmh.annotations.*;
+
+public class ParserBenchmark
+{
+	@State(Scope.Thread)
+	public static class LexedState
+	{
+		public TokenList tokens;
+
+		@Setup(Level.Trial)
+		public void setup(CorpusState corpus)
+		{
+			tokens = new Lexer().lex(corpus.source, corpus.file.getPath());
+		}
+	}
+
+	@Benchmark
+	public INaturalModule parse(CorpusState corpus, LexedState lexed)
+	{
+		// The parser advances the TokenList, so it has to start at the beginning for every invocation
+		lexed.tokens.rollback();
+		return new NaturalParser().parse(corpus.file, lexed.tokens);
+	}
+
+	@Benchmark
+	public INaturalModule parseOutline(CorpusState corpus, LexedState lexed)
+	{
+		lexed.tokens.rollback();
+		return new NaturalParser().parseOutline(corpus.file, lexed.tokens);
+	}
+}
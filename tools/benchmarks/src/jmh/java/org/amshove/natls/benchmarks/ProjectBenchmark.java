@@ -0,0 +1,100 @@
+package org.amshove.natls.benchmarks;
+
+import org.amshove.natlint.linter.NaturalLinter;
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.natural.project.NaturalFileType;
+import org.amshove.natparse.natural.project.NaturalLibrary;
+import org.amshove.natparse.natural.project.NaturalProject;
+import org.amshove.natparse.natural.project.NaturalProjectFileIndexer;
+import org.amshove.natparse.parsing.NaturalParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Measures a whole project run like the CLI does it: indexing and then lexing, parsing and linting every module.
+ */
+public class ProjectBenchmark
+{
+	@State(Scope.Benchmark)
+	public static class ProjectState
+	{
+		@Param("200")
+		public int modules;
+
+		@Param("4")
+		public int libraries;
+
+		public SyntheticProject project;
+
+		@Setup(Level.Trial)
+		public void setup()
+		{
+			project = SyntheticProject.create(modules, libraries);
+		}
+
+		/**
+		 * Creates an unindexed project with the same libraries.
+		 */
+		NaturalProject freshProject()
+		{
+			return NaturalProject.fromLibraries(
+				project.rootPath(),
+				project.project().getLibraries().stream()
+					.map(library -> new NaturalLibrary(library.getSourcePath()))
+					.toList()
+			);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown()
+		{
+			project.close();
+		}
+	}
+
+	@Benchmark
+	public NaturalProject index(ProjectState state)
+	{
+		var freshProject = state.freshProject();
+		new NaturalProjectFileIndexer().indexProject(freshProject);
+		return freshProject;
+	}
+
+	@Benchmark
+	public NaturalProject indexInParallel(ProjectState state)
+	{
+		var freshProject = state.freshProject();
+		new NaturalProjectFileIndexer().indexProjectInParallel(freshProject);
+		return freshProject;
+	}
+
+	@Benchmark
+	public void analyze(ProjectState state, Blackhole blackhole)
+	{
+		for (var library : state.project.project().getLibraries())
+		{
+			for (var file : library.files())
+			{
+				if (file.getFiletype() == NaturalFileType.DDM)
+				{
+					continue;
+				}
+
+				try
+				{
+					var tokens = new Lexer().lex(Files.readString(file.getPath()), file.getPath());
+					var module = new NaturalParser().parse(file, tokens);
+					blackhole.consume(new NaturalLinter().lint(module));
+				}
+				catch (IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+}
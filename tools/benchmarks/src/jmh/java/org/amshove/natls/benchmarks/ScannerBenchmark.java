@@ -0,0 +1,41 @@
+package org.amshove.natls.benchmarks;
+
+import org.amshove.natparse.lexing.Lexer;
+import org.amshove.natparse.lexing.TokenList;
+import org.amshove.natparse.lexing.text.SourceTextScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.CharBuffer;
+
+/**
+ * Compares lexing with the vectorized search for line ends, quotes and blanks against the scalar search.<br/>
+ * Only a {@link CharBuffer} backed by a char array is scanned vectorized, Strings are always scanned scalar.
+ */
+@State(Scope.Benchmark)
+public class ScannerBenchmark
+{
+	@Param(
+		{
+			"true", "false"
+		}
+	)
+	public boolean vectorized;
+
+	private CharSequence source;
+
+	@Setup(Level.Trial)
+	public void setup(CorpusState state)
+	{
+		if (!SourceTextScanner.isVectorizedScanning())
+		{
+			throw new IllegalStateException("Vectorized scanning is not available, jdk.incubator.vector has to be added");
+		}
+		source = vectorized ? CharBuffer.wrap(state.source.toCharArray()) : state.source;
+	}
+
+	@Benchmark
+	public TokenList lex(CorpusState state)
+	{
+		return Lexer.pooled().lex(source, state.file.getPath());
+	}
+}
@@ -0,0 +1,344 @@
+package org.amshove.natls.benchmarks;
+
+import org.amshove.natparse.natural.project.NaturalFile;
+import org.amshove.natparse.natural.project.NaturalLibrary;
+import org.amshove.natparse.natural.project.NaturalProject;
+import org.amshove.natparse.natural.project.NaturalProjectFileIndexer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Generates a Natural project on disk which is used as the corpus for all benchmarks.<br/>
+ * Generating the sources instead of checking them in keeps the corpus size adjustable and makes sure that every
+ * benchmark run works on the exact same input.
+ */
+public class SyntheticProject implements AutoCloseable
+{
+	public static final String LIBRARY_NAME = "BENCH";
+	private static final String HEADER = """
+		* >Natural Source Header 000000
+		* :Mode S
+		* :LineIncrement 10
+		* <Natural Source Header
+		""";
+
+	private final Path rootPath;
+	private final Path libraryPath;
+	private final NaturalProject project;
+
+	private SyntheticProject(Path rootPath, int libraries)
+	{
+		this.rootPath = rootPath;
+		var librariesPath = rootPath.resolve("Natural-Libraries");
+		libraryPath = librariesPath.resolve(LIBRARY_NAME);
+		var benchLibrary = new NaturalLibrary(libraryPath);
+		var allLibraries = new ArrayList<NaturalLibrary>();
+		allLibraries.add(benchLibrary);
+		for (var i = 1; i < libraries; i++)
+		{
+			var library = new NaturalLibrary(librariesPath.resolve("%s%02d".formatted(LIBRARY_NAME, i)));
+			library.addStepLib(benchLibrary);
+			allLibraries.add(library);
+		}
+		project = NaturalProject.fromLibraries(rootPath, allLibraries);
+	}
+
+	/**
+	 * Creates the project in a temporary directory. The amount of additional modules can be controlled by
+	 * {@code projectModules} to simulate projects of different sizes.
+	 */
+	public static SyntheticProject create(int projectModules)
+	{
+		return create(projectModules, 1);
+	}
+
+	/**
+	 * Like {@link #create(int)}, but spreads the additional modules over the given amount of libraries. All libraries
+	 * besides the first one have the first one as step library.
+	 */
+	public static SyntheticProject create(int projectModules, int libraries)
+	{
+		try
+		{
+			var synthetic = new SyntheticProject(Files.createTempDirectory("natls-bench"), libraries);
+			synthetic.generate(projectModules);
+			new NaturalProjectFileIndexer().indexProject(synthetic.project);
+			return synthetic;
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public NaturalProject project()
+	{
+		return project;
+	}
+
+	/**
+	 * Returns the library which contains the corpus and the modules used by it.
+	 */
+	public NaturalLibrary library()
+	{
+		return project.getLibraries().getFirst();
+	}
+
+	public NaturalFile file(Corpus corpus)
+	{
+		return project.findModule(corpus.path(libraryPath));
+	}
+
+	public String source(Corpus corpus)
+	{
+		return read(corpus.path(libraryPath));
+	}
+
+	public Path rootPath()
+	{
+		return rootPath;
+	}
+
+	private void generate(int projectModules) throws IOException
+	{
+		var libraries = project.getLibraries();
+		for (var library : libraries)
+		{
+			Files.createDirectories(library.getSourcePath());
+		}
+		write("BENCHLDA.NSL", localDataArea(200));
+		write("BENCHPDA.NSA", parameterDataArea());
+		write("BENCHCC.NSC", copyCode());
+		write("BENCHSUB.NSN", calledSubprogram());
+		write("BENCHEXT.NSS", externalSubroutine());
+
+		write(Corpus.SMALL.fileName(), module(1, 3));
+		write(Corpus.HUGE.fileName(), module(20, 30));
+		write(Corpus.INCLUDE_HEAVY.fileName(), includeHeavyModule(300));
+		write(Corpus.DEFINE_DATA_HEAVY.fileName(), defineDataHeavyModule(150));
+
+		for (var i = 0; i < projectModules; i++)
+		{
+			var library = libraries.get(i % libraries.size());
+			Files.writeString(library.getSourcePath().resolve("PROJ%04d.NSN".formatted(i)), module(1 + i % 5, 10 + i % 20));
+		}
+	}
+
+	private static String localDataArea(int fields)
+	{
+		var source = new StringBuilder("DEFINE DATA LOCAL\n");
+		for (var i = 0; i < fields; i++)
+		{
+			source.append("1 #LDA-FIELD-%d (A20)\n".formatted(i));
+		}
+		source.append("1 #LDA-GROUP\n");
+		for (var i = 0; i < fields / 4; i++)
+		{
+			source.append("2 #LDA-GROUP-FIELD-%d (N12,2)\n".formatted(i));
+		}
+		return source.append("END-DEFINE\n").toString();
+	}
+
+	private static String parameterDataArea()
+	{
+		return """
+			DEFINE DATA PARAMETER
+			1 #P-INPUT (A20)
+			1 #P-COUNT (N7)
+			1 #P-RESULT (A) DYNAMIC
+			END-DEFINE
+			""";
+	}
+
+	private static String copyCode()
+	{
+		return """
+			ASSIGN &1& := &1& + 1
+			IF &1& > 100
+			  RESET &1&
+			END-IF
+			COMPRESS 'Value' &1& INTO #TEXT
+			""";
+	}
+
+	private static String calledSubprogram()
+	{
+		return HEADER + """
+			DEFINE DATA
+			PARAMETER USING BENCHPDA
+			END-DEFINE
+			#P-RESULT := #P-INPUT
+			ADD 1 TO #P-COUNT
+			END
+			""";
+	}
+
+	private static String externalSubroutine()
+	{
+		return HEADER + """
+			DEFINE DATA
+			LOCAL
+			1 #EXTERNAL-COUNT (N7)
+			END-DEFINE
+			DEFINE SUBROUTINE BENCH-EXTERNAL
+			ADD 1 TO #EXTERNAL-COUNT
+			END-SUBROUTINE
+			END
+			""";
+	}
+
+	/**
+	 * Creates a module with {@code subroutines} inline subroutines, each consisting of {@code statementsPerSubroutine}
+	 * statement blocks.
+	 */
+	private static String module(int subroutines, int statementsPerSubroutine)
+	{
+		var source = new StringBuilder(HEADER);
+		source.append("""
+			DEFINE DATA
+			LOCAL USING BENCHLDA
+			LOCAL USING BENCHPDA
+			LOCAL
+			1 #I (I4)
+			1 #J (I4)
+			1 #COUNTER (N7)
+			1 #TEXT (A) DYNAMIC
+			1 #ARRAY (A10/1:50)
+			END-DEFINE
+			""");
+
+		for (var i = 0; i < subroutines; i++)
+		{
+			source.append("PERFORM SUB-%d\n".formatted(i));
+		}
+		source.append("PERFORM BENCH-EXTERNAL\n");
+
+		for (var i = 0; i < subroutines; i++)
+		{
+			source.append("/* Subroutine number %d\n".formatted(i));
+			source.append("DEFINE SUBROUTINE SUB-%d\n".formatted(i));
+			for (var j = 0; j < statementsPerSubroutine; j++)
+			{
+				source.append(statementBlock(j));
+			}
+			source.append("END-SUBROUTINE\n");
+		}
+
+		return source.append("END\n").toString();
+	}
+
+	private static String statementBlock(int index)
+	{
+		var field = index % 200;
+		return """
+			* Statement block %1$d
+			FOR #I := 1 TO 50
+			  #ARRAY(#I) := #LDA-FIELD-%2$d
+			  IF #ARRAY(#I) = 'BENCH' OR #COUNTER > %1$d
+			    ADD 1 TO #COUNTER
+			  ELSE
+			    COMPRESS #TEXT #LDA-FIELD-%2$d INTO #TEXT LEAVING NO
+			  END-IF
+			END-FOR
+			DECIDE ON FIRST VALUE OF #COUNTER
+			  VALUE 1
+			    #P-INPUT := 'ONE'
+			  VALUE 2
+			    #P-INPUT := 'TWO' /* inline comment
+			  NONE
+			    IGNORE
+			END-DECIDE
+			CALLNAT 'BENCHSUB' #P-INPUT #P-COUNT #P-RESULT
+			""".formatted(index, field);
+	}
+
+	private static String includeHeavyModule(int includes)
+	{
+		var source = new StringBuilder(HEADER);
+		source.append("""
+			DEFINE DATA
+			LOCAL
+			1 #TEXT (A) DYNAMIC
+			""");
+		for (var i = 0; i < includes; i++)
+		{
+			source.append("1 #INCLUDED-%d (N7)\n".formatted(i));
+		}
+		source.append("END-DEFINE\n");
+		for (var i = 0; i < includes; i++)
+		{
+			source.append("INCLUDE BENCHCC '#INCLUDED-%d'\n".formatted(i));
+		}
+		return source.append("END\n").toString();
+	}
+
+	private static String defineDataHeavyModule(int groups)
+	{
+		var source = new StringBuilder(HEADER);
+		source.append("DEFINE DATA\nLOCAL USING BENCHLDA\nLOCAL\n");
+		for (var i = 0; i < groups; i++)
+		{
+			source.append("""
+				1 #GROUP-%1$d
+				  2 #NAME-%1$d (A32)
+				  2 #AMOUNT-%1$d (P7,2)
+				  2 #DATES-%1$d (D/1:10)
+				  2 #NESTED-%1$d
+				    3 #NESTED-FIELD-%1$d (A10)
+				    3 #NESTED-NUMBER-%1$d (N5)
+				1 #REDEFINED-%1$d (A20)
+				1 REDEFINE #REDEFINED-%1$d
+				  2 #REDEF-PART-A-%1$d (A10)
+				  2 #REDEF-PART-B-%1$d (A10)
+				1 #CONST-%1$d (I4) CONST<%1$d>
+				1 #DYNAMIC-%1$d (A) DYNAMIC
+				""".formatted(i));
+		}
+		source.append("END-DEFINE\n");
+		for (var i = 0; i < groups; i++)
+		{
+			source.append("#NAME-%1$d := #REDEF-PART-A-%1$d\n".formatted(i));
+			source.append("ADD #CONST-%1$d TO #AMOUNT-%1$d\n".formatted(i));
+		}
+		return source.append("END\n").toString();
+	}
+
+	private void write(String fileName, String source) throws IOException
+	{
+		Files.writeString(libraryPath.resolve(fileName), source);
+	}
+
+	private static String read(Path path)
+	{
+		try
+		{
+			return Files.readString(path);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void close()
+	{
+		try (var walk = Files.walk(rootPath))
+		{
+			for (var path : walk.sorted(Comparator.reverseOrder()).toList())
+			{
+				Files.delete(path);
+			}
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+}